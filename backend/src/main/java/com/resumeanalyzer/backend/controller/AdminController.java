@@ -4,20 +4,37 @@ import com.resumeanalyzer.backend.dto.UserSummaryDTO;
 import com.resumeanalyzer.backend.dto.PlatformAnalyticsDTO;
 import com.resumeanalyzer.backend.dto.UserActivityDTO;
 import com.resumeanalyzer.backend.service.AdminService;
+import com.resumeanalyzer.backend.service.AnalysisCacheService;
+import com.resumeanalyzer.backend.service.CandidateSearchService;
+import com.resumeanalyzer.backend.service.DocumentExtractionService;
+import com.resumeanalyzer.backend.service.LLMAnalysisService;
+import com.resumeanalyzer.backend.service.LlmResponseCacheService;
+import com.resumeanalyzer.backend.service.ModelCallLimitService;
+import com.resumeanalyzer.backend.service.SkillTaxonomyService;
+import com.resumeanalyzer.backend.util.SkillTaxonomy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
 @RequiredArgsConstructor
 public class AdminController {
     private final AdminService adminService;
+    private final SkillTaxonomyService skillTaxonomyService;
+    private final AnalysisCacheService analysisCacheService;
+    private final LLMAnalysisService llmAnalysisService;
+    private final LlmResponseCacheService llmResponseCacheService;
+    private final ModelCallLimitService modelCallLimitService;
+    private final DocumentExtractionService documentExtractionService;
+    private final CandidateSearchService candidateSearchService;
 
     @GetMapping("/users")
     public ResponseEntity<List<UserSummaryDTO>> getAllUsers() {
@@ -43,4 +60,64 @@ public class AdminController {
     public ResponseEntity<UserActivityDTO> getUserActivity(@PathVariable Long userId) {
         return ResponseEntity.ok(adminService.getUserActivity(userId));
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/skill-taxonomy")
+    public ResponseEntity<Map<String, Object>> getSkillTaxonomy() {
+        return ResponseEntity.ok(describe(skillTaxonomyService.current()));
+    }
+
+    @PostMapping("/skill-taxonomy/reload")
+    public ResponseEntity<Map<String, Object>> reloadSkillTaxonomy() {
+        return ResponseEntity.ok(describe(skillTaxonomyService.reload()));
+    }
+
+    @GetMapping("/analysis-cache")
+    public ResponseEntity<Map<String, Object>> getAnalysisCacheStats() {
+        return ResponseEntity.ok(analysisCacheService.getStats());
+    }
+
+    @PostMapping("/analysis-cache/clear")
+    public ResponseEntity<Map<String, Object>> clearAnalysisCache() {
+        analysisCacheService.invalidateAll();
+        return ResponseEntity.ok(analysisCacheService.getStats());
+    }
+
+    @GetMapping("/llm-status")
+    public ResponseEntity<Map<String, Object>> getLlmStatus() {
+        return ResponseEntity.ok(llmAnalysisService.getStatus());
+    }
+
+    @GetMapping("/llm-cache")
+    public ResponseEntity<Map<String, Object>> getLlmCacheStats() {
+        return ResponseEntity.ok(llmResponseCacheService.getStats());
+    }
+
+    @PostMapping("/llm-cache/clear")
+    public ResponseEntity<Map<String, Object>> clearLlmCache() {
+        llmResponseCacheService.invalidateAll();
+        return ResponseEntity.ok(llmResponseCacheService.getStats());
+    }
+
+    @GetMapping("/model-call-limits")
+    public ResponseEntity<Map<String, Object>> getModelCallLimits() {
+        return ResponseEntity.ok(modelCallLimitService.getStats());
+    }
+
+    @GetMapping("/document-extraction")
+    public ResponseEntity<Map<String, Object>> getDocumentExtractionStats() {
+        return ResponseEntity.ok(documentExtractionService.getStats());
+    }
+
+    @GetMapping("/candidate-search")
+    public ResponseEntity<Map<String, Object>> getCandidateSearchStats() {
+        return ResponseEntity.ok(candidateSearchService.getStats());
+    }
+
+    private Map<String, Object> describe(SkillTaxonomy taxonomy) {
+        return Map.of(
+            "version", taxonomy.version(),
+            "skillCount", taxonomy.size(),
+            "categories", taxonomy.categories()
+        );
+    }
+}
@@ -4,8 +4,16 @@ import com.resumeanalyzer.backend.entity.Leaderboard;
 import com.resumeanalyzer.backend.entity.User;
 import com.resumeanalyzer.backend.entity.LeaderboardEntry;
 import com.resumeanalyzer.backend.dto.CandidateAnalysisDTO;
+import com.resumeanalyzer.backend.dto.CandidateMatchDTO;
 import com.resumeanalyzer.backend.dto.CandidateReportDTO;
+import com.resumeanalyzer.backend.dto.LeaderboardEntryPageDTO;
+import com.resumeanalyzer.backend.dto.LeaderboardSummaryDTO;
+import com.resumeanalyzer.backend.dto.ResumeFileDTO;
+import com.resumeanalyzer.backend.dto.UploadProgressDTO;
+import com.resumeanalyzer.backend.service.CandidateSearchService;
 import com.resumeanalyzer.backend.service.RecruiterService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -13,16 +21,26 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Map;
 import java.util.HashMap;
 import java.util.List;
 
 import java.util.List;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -30,7 +48,14 @@ import java.nio.file.Paths;
 @RequestMapping("/api/recruiter")
 @RequiredArgsConstructor
 public class RecruiterController {
+    // Request attributes through which Tomcat serves a file with sendfile after the response is committed
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final RecruiterService recruiterService;
+    private final CandidateSearchService candidateSearchService;
     private final com.resumeanalyzer.backend.repository.LeaderboardRepository leaderboardRepository;
 
     @GetMapping("/test-connection")
@@ -122,6 +147,55 @@ public class RecruiterController {
         }
     }
 
+    /**
+     * Starts a bulk upload in the background and returns its job straight away. Progress is
+     * available from {@code /bulk-upload/jobs/{jobId}} or as server-sent events from
+     * {@code /bulk-upload/jobs/{jobId}/events}; the leaderboard fills in as resumes are scored.
+     */
+    @PreAuthorize("hasRole('RECRUITER')")
+    @PostMapping("/bulk-upload/async")
+    public ResponseEntity<UploadProgressDTO> startBulkUpload(
+            @RequestParam("resumes") List<MultipartFile> resumes,
+            @RequestParam(value = "jd", required = false) MultipartFile jdFile,
+            @RequestParam(value = "jdText", required = false) String jdText,
+            @RequestParam(value = "jdTitle", required = false) String jdTitle,
+            @AuthenticationPrincipal User recruiter) {
+        
+        // Same requirement as the synchronous upload: at least one JD source
+        boolean hasJdFile = jdFile != null && !jdFile.isEmpty();
+        boolean hasJdText = jdText != null && !jdText.trim().isEmpty();
+        if (!hasJdFile && !hasJdText) {
+            return ResponseEntity.badRequest().body(UploadProgressDTO.error("A job description file or text is required"));
+        }
+        
+        UploadProgressDTO progress = recruiterService.startBulkUpload(resumes, jdFile, jdText, jdTitle, recruiter);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(progress);
+    }
+
+    @PreAuthorize("hasRole('RECRUITER')")
+    @GetMapping("/bulk-upload/jobs/{jobId}")
+    public ResponseEntity<UploadProgressDTO> getBulkUploadProgress(@PathVariable String jobId, @AuthenticationPrincipal User recruiter) {
+        return ResponseEntity.ok(recruiterService.getBulkUploadProgress(jobId, recruiter));
+    }
+
+    @PreAuthorize("hasRole('RECRUITER')")
+    @GetMapping(value = "/bulk-upload/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBulkUploadProgress(@PathVariable String jobId, @AuthenticationPrincipal User recruiter) {
+        return recruiterService.streamBulkUploadProgress(jobId, recruiter);
+    }
+
+    // Rescored leaderboards carry rule-based scores only, whatever scored them first
+    @PreAuthorize("hasRole('RECRUITER')")
+    @PostMapping("/leaderboard/{leaderboardId}/rescore")
+    public ResponseEntity<LeaderboardSummaryDTO> rescoreLeaderboard(
+            @PathVariable Long leaderboardId,
+            @RequestParam(value = "jd", required = false) MultipartFile jdFile,
+            @RequestParam(value = "jdText", required = false) String jdText,
+            @RequestParam(value = "jdTitle", required = false) String jdTitle,
+            @AuthenticationPrincipal User recruiter) {
+        return ResponseEntity.ok(recruiterService.rescoreLeaderboard(leaderboardId, jdFile, jdText, jdTitle, recruiter));
+    }
+
     @PreAuthorize("hasRole('RECRUITER')")
     @GetMapping("/leaderboard/{id}")
     public ResponseEntity<Leaderboard> getLeaderboard(@PathVariable Long id, @AuthenticationPrincipal User recruiter) {
@@ -145,16 +219,55 @@ public class RecruiterController {
                 .body(pdf);
     }
 
+    /**
+     * Report PDFs for the selected entries, or for the top entries when none are selected, in one ZIP
+     */
+    @PreAuthorize("hasRole('RECRUITER')")
+    @GetMapping("/leaderboard/{leaderboardId}/reports/zip")
+    public ResponseEntity<StreamingResponseBody> exportCandidateReports(@PathVariable Long leaderboardId,
+                                                                        @RequestParam(required = false) List<Long> entryIds,
+                                                                        @RequestParam(defaultValue = "0") int topN,
+                                                                        @AuthenticationPrincipal User recruiter) {
+        StreamingResponseBody body = recruiterService.exportCandidateReports(leaderboardId, entryIds, topN, recruiter);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=candidate_reports_" + leaderboardId + ".zip")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(body);
+    }
+
     @PreAuthorize("hasRole('RECRUITER')")
     @GetMapping("/leaderboard/{leaderboardId}/export-csv")
-    public ResponseEntity<byte[]> exportLeaderboardCsv(@PathVariable Long leaderboardId,
-                                                      @RequestParam(defaultValue = "10") int topN,
-                                                      @AuthenticationPrincipal User recruiter) {
-        byte[] csv = recruiterService.exportLeaderboardCsv(leaderboardId, topN, recruiter);
+    public ResponseEntity<StreamingResponseBody> exportLeaderboardCsv(@PathVariable Long leaderboardId,
+                                                                     @RequestParam(defaultValue = "10") int topN,
+                                                                     @AuthenticationPrincipal User recruiter) {
+        StreamingResponseBody body = recruiterService.exportLeaderboardCsv(leaderboardId, topN, recruiter);
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=leaderboard_" + leaderboardId + ".csv")
                 .contentType(MediaType.parseMediaType("text/csv"))
-                .body(csv);
+                .body(body);
+    }
+
+    /**
+     * Streams the whole leaderboard (topN = 0) or its top entries as CSV or NDJSON. With gzip=true
+     * the download is a .gz file.
+     */
+    @PreAuthorize("hasRole('RECRUITER')")
+    @GetMapping("/leaderboard/{leaderboardId}/export")
+    public ResponseEntity<StreamingResponseBody> exportLeaderboard(@PathVariable Long leaderboardId,
+                                                                   @RequestParam(defaultValue = "csv") String format,
+                                                                   @RequestParam(defaultValue = "0") int topN,
+                                                                   @RequestParam(defaultValue = "false") boolean gzip,
+                                                                   @AuthenticationPrincipal User recruiter) {
+        StreamingResponseBody body = recruiterService.exportLeaderboard(leaderboardId, topN, format, gzip, recruiter);
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        String fileName = "leaderboard_" + leaderboardId + (ndjson ? ".ndjson" : ".csv") + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : ndjson ? MediaType.APPLICATION_NDJSON
+                : MediaType.parseMediaType("text/csv");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + fileName)
+                .contentType(contentType)
+                .body(body);
     }
 
     @PreAuthorize("hasRole('RECRUITER')")
@@ -198,6 +311,33 @@ public class RecruiterController {
         return ResponseEntity.ok(leaderboards);
     }
 
+    @PreAuthorize("hasRole('RECRUITER')")
+    @GetMapping("/leaderboards/summary")
+    public ResponseEntity<List<LeaderboardSummaryDTO>> getLeaderboardSummaries(@RequestParam(required = false) Long beforeId,
+                                                                               @RequestParam(defaultValue = "20") int limit,
+                                                                               @AuthenticationPrincipal User recruiter) {
+        return ResponseEntity.ok(recruiterService.getLeaderboardSummaries(recruiter, beforeId, limit));
+    }
+
+    @PreAuthorize("hasRole('RECRUITER')")
+    @GetMapping("/leaderboard/{leaderboardId}/entries")
+    public ResponseEntity<LeaderboardEntryPageDTO> getLeaderboardEntries(@PathVariable Long leaderboardId,
+                                                                         @RequestParam(defaultValue = "rank") String sort,
+                                                                         @RequestParam(defaultValue = "asc") String direction,
+                                                                         @RequestParam(required = false) String after,
+                                                                         @RequestParam(defaultValue = "50") int limit,
+                                                                         @AuthenticationPrincipal User recruiter) {
+        return ResponseEntity.ok(recruiterService.getLeaderboardEntries(leaderboardId, sort, direction, after, limit, recruiter));
+    }
+
+    @PreAuthorize("hasRole('RECRUITER')")
+    @GetMapping("/job-descriptions/{jobDescriptionId}/candidates")
+    public ResponseEntity<List<CandidateMatchDTO>> findCandidates(@PathVariable Long jobDescriptionId,
+                                                                  @RequestParam(defaultValue = "20") int limit,
+                                                                  @AuthenticationPrincipal User recruiter) {
+        return ResponseEntity.ok(candidateSearchService.findCandidates(jobDescriptionId, limit, recruiter));
+    }
+
     @PreAuthorize("hasRole('RECRUITER')")
     @GetMapping("/leaderboard/entry/{entryId}/analytics")
     public ResponseEntity<CandidateAnalysisDTO> getCandidateAnalytics(@PathVariable Long entryId, @AuthenticationPrincipal User recruiter) {
@@ -240,26 +380,43 @@ public class RecruiterController {
 
     @PreAuthorize("hasRole('RECRUITER')")
     @GetMapping("/leaderboard/entry/{entryId}/download-resume")
-    public ResponseEntity<Resource> downloadCandidateResume(@PathVariable Long entryId, @AuthenticationPrincipal User recruiter) {
-        try {
-            // Get the resume file path from the service
-            String filePath = recruiterService.getCandidateResumeFilePath(entryId, recruiter);
-            Path path = Paths.get(filePath);
-            Resource resource = new FileSystemResource(path);
-            
-            if (!resource.exists()) {
-                return ResponseEntity.notFound().build();
-            }
-            
-            // Extract filename from path
-            String filename = path.getFileName().toString();
-            
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .body(resource);
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
+    public ResponseEntity<Resource> downloadCandidateResume(@PathVariable Long entryId, @AuthenticationPrincipal User recruiter,
+                                                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ResumeFileDTO file = recruiterService.getCandidateResumeFile(entryId, recruiter);
+        Path path = Paths.get(file.getFilePath());
+        if (!Files.isRegularFile(path)) {
+            return ResponseEntity.notFound().build();
+        }
+        long size = Files.size(path);
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        // Content-addressed files never change, so their hash is a strong validator; older files get a weak one
+        String eTag = file.getContentHash() != null
+                ? "\"" + file.getContentHash() + "\""
+                : "W/\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+        
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).lastModified(lastModified).build();
+        }
+        
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(lastModified)
+                // Browsers may keep the file but must revalidate, which is a 304 while it is unchanged
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(file.getFileName(), StandardCharsets.UTF_8).build().toString())
+                .contentType(MediaTypeFactory.getMediaType(file.getFileName()).orElse(MediaType.APPLICATION_OCTET_STREAM));
+        
+        // Whole-file downloads are handed to Tomcat's sendfile when the connector supports it, so the
+        // kernel copies the file to the socket; range requests are answered by Spring with a 206
+        if (request.getHeader(HttpHeaders.RANGE) == null && size > 0
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return builder.contentLength(size).build();
         }
+        return builder.body(new FileSystemResource(path));
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.resumeanalyzer.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,6 +16,7 @@ import java.util.HashMap;
 @NoArgsConstructor
 @AllArgsConstructor
 public class CandidateAnalysisDTO {
+    private String candidateName; // Read by the LLM in the same call as the scores; null for rule-based analyses
     private double overallScore;
     private double skillsScore;
     private double experienceScore;
@@ -82,4 +84,8 @@ public class CandidateAnalysisDTO {
     private String extractedCertifications;
     
     private boolean hasJD;
+    
+    // Set when this is a stand-in for an LLM analysis that failed or came too late; not cached
+    @JsonIgnore
+    private boolean fallback;
 }
@@ -0,0 +1,24 @@
+package com.resumeanalyzer.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A stored resume found for a job description, with the skills of the job description it mentions
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CandidateMatchDTO {
+    private Long resumeId;
+    private String fileName;
+    private LocalDateTime uploadDate;
+    private double score;
+    private List<String> matchedSkills;
+}
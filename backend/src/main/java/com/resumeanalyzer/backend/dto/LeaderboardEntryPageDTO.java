@@ -0,0 +1,21 @@
+package com.resumeanalyzer.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of leaderboard entries. {@code nextCursor} is passed back as {@code after} to fetch the
+ * following page and is null on the last one.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardEntryPageDTO {
+    private List<LeaderboardEntryRowDTO> entries;
+    private String nextCursor;
+}
@@ -0,0 +1,28 @@
+package com.resumeanalyzer.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A leaderboard entry as listed in the leaderboard table; the report, notes and analysis
+ * are loaded per entry when opened.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardEntryRowDTO {
+    private Long id;
+    private Long resumeId;
+    private String resumeFileName;
+    private String candidateName;
+    private Double matchScore;
+    private Integer rankPosition;
+    private String skills;
+    private Boolean isFavorite;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,23 @@
+package com.resumeanalyzer.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of a recruiter's leaderboard list, without the entries themselves
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardSummaryDTO {
+    private Long id;
+    private String jobTitle; // null when the leaderboard has no job description
+    private LocalDateTime createdAt;
+    private long entryCount;
+    private Double topScore; // null when no entry has a match score
+}
@@ -0,0 +1,19 @@
+package com.resumeanalyzer.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Where a resume file is stored and what to call it when it is downloaded
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResumeFileDTO {
+    private String filePath;
+    private String fileName;
+    private String contentHash; // null for resumes stored before uploads were content-addressed
+}
@@ -1,31 +1,79 @@
 package com.resumeanalyzer.backend.dto;
 
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Data
+@Builder
 @AllArgsConstructor
 @NoArgsConstructor
 public class UploadProgressDTO {
-    private String status; // "PROCESSING", "COMPLETED", "ERROR"
+    private String jobId;
+    private String status; // "QUEUED", "PROCESSING", "COMPLETED", "ERROR"
     private int processedCount;
+    private int failedCount;
     private int totalCount;
     private String currentFile;
     private String message;
     private Long leaderboardId;
-    
+    @Builder.Default
+    private List<FileProgress> files = new ArrayList<>(); // Per-file status, in upload order
+    @Builder.Default
+    private List<TopCandidate> topCandidates = new ArrayList<>(); // Best candidates ranked so far, best first
+
     public static UploadProgressDTO processing(int processed, int total, String currentFile) {
-        return new UploadProgressDTO("PROCESSING", processed, total, currentFile, 
-            "Processing " + currentFile + " (" + processed + "/" + total + ")", null);
+        return UploadProgressDTO.builder()
+            .status("PROCESSING")
+            .processedCount(processed)
+            .totalCount(total)
+            .currentFile(currentFile)
+            .message("Processing " + currentFile + " (" + processed + "/" + total + ")")
+            .build();
     }
-    
+
     public static UploadProgressDTO completed(Long leaderboardId, int total) {
-        return new UploadProgressDTO("COMPLETED", total, total, null, 
-            "Upload completed successfully", leaderboardId);
+        return UploadProgressDTO.builder()
+            .status("COMPLETED")
+            .processedCount(total)
+            .totalCount(total)
+            .message("Upload completed successfully")
+            .leaderboardId(leaderboardId)
+            .build();
     }
-    
+
     public static UploadProgressDTO error(String message) {
-        return new UploadProgressDTO("ERROR", 0, 0, null, message, null);
+        return UploadProgressDTO.builder()
+            .status("ERROR")
+            .message(message)
+            .build();
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FileProgress {
+        private String fileName;
+        private String status; // "QUEUED", "PROCESSING", "COMPLETED", "ERROR"
+        private String candidateName;
+        private Double matchScore;
+        private String error;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TopCandidate {
+        private int rank;
+        private Long entryId;
+        private String fileName;
+        private String candidateName;
+        private Double matchScore;
     }
 }
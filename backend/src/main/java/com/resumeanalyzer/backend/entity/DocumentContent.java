@@ -0,0 +1,48 @@
+package com.resumeanalyzer.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Extracted text of a resume or job description, kept apart from the owning row so listings do
+ * not load it. Identical texts share one row, found by the SHA-256 of the text. The text is
+ * stored as UTF-8, gzip-compressed when {@code compressed} is set.
+ */
+@Entity
+@Table(name = "document_contents")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentContent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String textHash;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] data;
+
+    @Column(nullable = false)
+    private boolean compressed;
+
+    // Characters in the text, so its size is known without decompressing it
+    @Column(nullable = false)
+    private int textLength;
+
+    private LocalDateTime createdAt;
+
+    // Last time store() handed this row out; a row handed out moments ago may be about to be
+    // referenced by a resume or job description that is not committed yet
+    private LocalDateTime lastStoredAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        lastStoredAt = createdAt;
+    }
+}
@@ -21,9 +21,8 @@ public class JobDescription {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Lob
-    @Column(nullable = false, columnDefinition = "LONGTEXT")
-    private String text;
+    // Text of the job description, in document_contents; loaded through DocumentContentService only when needed
+    private Long contentId;
 
     private String fileName;
     private String filePath;
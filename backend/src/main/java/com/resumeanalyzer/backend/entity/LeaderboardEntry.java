@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "leaderboard_entries")
+@Table(name = "leaderboard_entries", indexes = {
+    @Index(name = "idx_leaderboard_entries_rank", columnList = "leaderboard_id, rankPosition"),
+    @Index(name = "idx_leaderboard_entries_name", columnList = "leaderboard_id, candidateName")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,39 @@
+package com.resumeanalyzer.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * A stored LLM completion, looked up by the SHA-256 of the model name and the exact prompt.
+ */
+@Entity
+@Table(name = "llm_response_cache", indexes = {
+    @Index(name = "idx_llm_response_cache_created_at", columnList = "createdAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LlmResponseCacheEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String cacheKey;
+
+    @Column(nullable = false, length = 100)
+    private String model;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGTEXT")
+    private String response;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -6,7 +6,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "resumes")
+@Table(name = "resumes", indexes = {
+    @Index(name = "idx_resumes_content_hash", columnList = "contentHash")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,9 +29,12 @@ public class Resume {
     @Column(nullable = false)
     private String filePath;
 
-    @Lob
-    @Column(nullable = false, columnDefinition = "LONGTEXT")
-    private String parsedText;
+    // SHA-256 of the uploaded bytes; null for resumes stored before uploads were deduplicated
+    @Column(length = 64)
+    private String contentHash;
+
+    // Extracted text, in document_contents; loaded through DocumentContentService only when needed
+    private Long contentId;
 
     private LocalDateTime uploadDate;
 
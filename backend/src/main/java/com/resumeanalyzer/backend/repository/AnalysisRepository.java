@@ -10,6 +10,8 @@ import java.util.List;
  
 public interface AnalysisRepository extends JpaRepository<Analysis, Long> {
     
+    long countByJobDescriptionId(Long jobDescriptionId);
+    
     @Query("SELECT a FROM Analysis a " +
            "JOIN FETCH a.resume " +
            "JOIN FETCH a.jobDescription " +
@@ -0,0 +1,27 @@
+package com.resumeanalyzer.backend.repository;
+
+import com.resumeanalyzer.backend.entity.DocumentContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface DocumentContentRepository extends JpaRepository<DocumentContent, Long> {
+    @Query("SELECT c.id FROM DocumentContent c WHERE c.textHash = :textHash")
+    Optional<Long> findIdByTextHash(@Param("textHash") String textHash);
+
+    @Modifying
+    @Query("UPDATE DocumentContent c SET c.lastStoredAt = :now WHERE c.id = :id")
+    int touch(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Checked and deleted in one statement, so a row referenced meanwhile is never deleted
+    @Modifying
+    @Query("DELETE FROM DocumentContent c WHERE c.id = :id " +
+           "AND (c.lastStoredAt IS NULL OR c.lastStoredAt < :storedBefore) " +
+           "AND NOT EXISTS (SELECT r.id FROM Resume r WHERE r.contentId = :id) " +
+           "AND NOT EXISTS (SELECT j.id FROM JobDescription j WHERE j.contentId = :id)")
+    int deleteIfUnreferenced(@Param("id") Long id, @Param("storedBefore") LocalDateTime storedBefore);
+}
@@ -1,13 +1,21 @@
 package com.resumeanalyzer.backend.repository;
 
+import com.resumeanalyzer.backend.dto.LeaderboardEntryRowDTO;
 import com.resumeanalyzer.backend.entity.LeaderboardEntry;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
+import java.util.Collection;
 import java.util.Optional;
 
 public interface LeaderboardEntryRepository extends JpaRepository<LeaderboardEntry, Long> {
+    String ROW_SELECT = "SELECT new com.resumeanalyzer.backend.dto.LeaderboardEntryRowDTO(" +
+           "le.id, r.id, r.fileName, le.candidateName, le.matchScore, le.rankPosition, le.skills, le.isFavorite, le.createdAt) " +
+           "FROM LeaderboardEntry le JOIN le.resume r " +
+           "WHERE le.leaderboard.id = :leaderboardId ";
     
     @Query("SELECT le FROM LeaderboardEntry le " +
            "LEFT JOIN FETCH le.leaderboard l " +
@@ -16,4 +24,83 @@ public interface LeaderboardEntryRepository extends JpaRepository<LeaderboardEnt
            "LEFT JOIN FETCH le.resume " +
            "WHERE le.id = :entryId")
     Optional<LeaderboardEntry> findByIdWithRelationships(@Param("entryId") Long entryId);
-} 
\ No newline at end of file
+
+    @Query("SELECT le FROM LeaderboardEntry le JOIN FETCH le.resume WHERE le.leaderboard.id = :leaderboardId")
+    List<LeaderboardEntry> findByLeaderboardIdWithResume(@Param("leaderboardId") Long leaderboardId);
+
+    @Query("SELECT le FROM LeaderboardEntry le WHERE le.leaderboard.id = :leaderboardId ORDER BY le.rankPosition, le.id")
+    List<LeaderboardEntry> findByLeaderboardIdInRankOrder(@Param("leaderboardId") Long leaderboardId, Pageable pageable);
+
+    @Query("SELECT le FROM LeaderboardEntry le WHERE le.leaderboard.id = :leaderboardId AND le.id IN :ids " +
+           "ORDER BY le.rankPosition, le.id")
+    List<LeaderboardEntry> findByLeaderboardIdAndIdInRankOrder(@Param("leaderboardId") Long leaderboardId,
+                                                                @Param("ids") Collection<Long> ids);
+
+    // Keyset pages of a leaderboard's entries: the first page passes afterId = null, later pages the
+    // sort value and id of the last row received, so each page is an index range scan. Entries
+    // without a sort value (not ranked yet, no name) come after the others, paged by id alone
+
+    @Query(ROW_SELECT +
+           "AND le.rankPosition IS NOT NULL " +
+           "AND (:afterId IS NULL OR le.rankPosition > :afterRank OR (le.rankPosition = :afterRank AND le.id > :afterId)) " +
+           "ORDER BY le.rankPosition ASC, le.id ASC")
+    List<LeaderboardEntryRowDTO> findRowsByRankAsc(@Param("leaderboardId") Long leaderboardId,
+                                                   @Param("afterRank") Integer afterRank,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
+    @Query(ROW_SELECT +
+           "AND le.rankPosition IS NOT NULL " +
+           "AND (:afterId IS NULL OR le.rankPosition < :afterRank OR (le.rankPosition = :afterRank AND le.id < :afterId)) " +
+           "ORDER BY le.rankPosition DESC, le.id DESC")
+    List<LeaderboardEntryRowDTO> findRowsByRankDesc(@Param("leaderboardId") Long leaderboardId,
+                                                    @Param("afterRank") Integer afterRank,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+
+    @Query(ROW_SELECT +
+           "AND le.rankPosition IS NULL AND (:afterId IS NULL OR le.id > :afterId) " +
+           "ORDER BY le.id ASC")
+    List<LeaderboardEntryRowDTO> findUnrankedRowsAsc(@Param("leaderboardId") Long leaderboardId,
+                                                     @Param("afterId") Long afterId,
+                                                     Pageable pageable);
+
+    @Query(ROW_SELECT +
+           "AND le.rankPosition IS NULL AND (:afterId IS NULL OR le.id < :afterId) " +
+           "ORDER BY le.id DESC")
+    List<LeaderboardEntryRowDTO> findUnrankedRowsDesc(@Param("leaderboardId") Long leaderboardId,
+                                                      @Param("afterId") Long afterId,
+                                                      Pageable pageable);
+
+    @Query(ROW_SELECT +
+           "AND le.candidateName IS NOT NULL " +
+           "AND (:afterId IS NULL OR le.candidateName > :afterName OR (le.candidateName = :afterName AND le.id > :afterId)) " +
+           "ORDER BY le.candidateName ASC, le.id ASC")
+    List<LeaderboardEntryRowDTO> findRowsByNameAsc(@Param("leaderboardId") Long leaderboardId,
+                                                   @Param("afterName") String afterName,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
+    @Query(ROW_SELECT +
+           "AND le.candidateName IS NOT NULL " +
+           "AND (:afterId IS NULL OR le.candidateName < :afterName OR (le.candidateName = :afterName AND le.id < :afterId)) " +
+           "ORDER BY le.candidateName DESC, le.id DESC")
+    List<LeaderboardEntryRowDTO> findRowsByNameDesc(@Param("leaderboardId") Long leaderboardId,
+                                                    @Param("afterName") String afterName,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+
+    @Query(ROW_SELECT +
+           "AND le.candidateName IS NULL AND (:afterId IS NULL OR le.id > :afterId) " +
+           "ORDER BY le.id ASC")
+    List<LeaderboardEntryRowDTO> findUnnamedRowsAsc(@Param("leaderboardId") Long leaderboardId,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+
+    @Query(ROW_SELECT +
+           "AND le.candidateName IS NULL AND (:afterId IS NULL OR le.id < :afterId) " +
+           "ORDER BY le.id DESC")
+    List<LeaderboardEntryRowDTO> findUnnamedRowsDesc(@Param("leaderboardId") Long leaderboardId,
+                                                     @Param("afterId") Long afterId,
+                                                     Pageable pageable);
+}
@@ -1,7 +1,9 @@
 package com.resumeanalyzer.backend.repository;
 
+import com.resumeanalyzer.backend.dto.LeaderboardSummaryDTO;
 import com.resumeanalyzer.backend.entity.Leaderboard;
 import com.resumeanalyzer.backend.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,6 +11,8 @@ import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface LeaderboardRepository extends JpaRepository<Leaderboard, Long> {
+    long countByJobDescriptionId(Long jobDescriptionId);
+
     List<Leaderboard> findByRecruiterOrderByCreatedAtDesc(User recruiter);
     
     @Query("SELECT DISTINCT l FROM Leaderboard l " +
@@ -19,4 +23,21 @@ public interface LeaderboardRepository extends JpaRepository<Leaderboard, Long>
            "WHERE l.recruiter = :recruiter " +
            "ORDER BY l.createdAt DESC")
     List<Leaderboard> findByRecruiterWithDetailsOrderByCreatedAtDesc(@Param("recruiter") User recruiter);
-} 
\ No newline at end of file
+
+    /**
+     * Newest leaderboards first, with entry count and best score aggregated in the database.
+     * Pass the id of the last summary received as beforeId for the next page, or null for the first.
+     */
+    @Query("SELECT new com.resumeanalyzer.backend.dto.LeaderboardSummaryDTO(" +
+           "l.id, jd.title, l.createdAt, COUNT(e.id), MAX(e.matchScore)) " +
+           "FROM Leaderboard l " +
+           "LEFT JOIN l.jobDescription jd " +
+           "LEFT JOIN l.entries e " +
+           "WHERE l.recruiter.id = :recruiterId " +
+           "AND (:beforeId IS NULL OR l.id < :beforeId) " +
+           "GROUP BY l.id, jd.title, l.createdAt " +
+           "ORDER BY l.id DESC")
+    List<LeaderboardSummaryDTO> findSummariesByRecruiterId(@Param("recruiterId") Long recruiterId,
+                                                           @Param("beforeId") Long beforeId,
+                                                           Pageable pageable);
+}
@@ -0,0 +1,26 @@
+package com.resumeanalyzer.backend.repository;
+
+import com.resumeanalyzer.backend.entity.LlmResponseCacheEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface LlmResponseCacheRepository extends JpaRepository<LlmResponseCacheEntry, Long> {
+
+    Optional<LlmResponseCacheEntry> findByCacheKey(String cacheKey);
+
+    @Query("SELECT e.id FROM LlmResponseCacheEntry e ORDER BY e.createdAt ASC")
+    List<Long> findIdsOldestFirst(Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM LlmResponseCacheEntry e WHERE e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
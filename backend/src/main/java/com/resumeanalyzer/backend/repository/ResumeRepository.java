@@ -2,16 +2,24 @@ package com.resumeanalyzer.backend.repository;
 
 import com.resumeanalyzer.backend.entity.Resume;
 import com.resumeanalyzer.backend.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import java.util.List;
+import java.util.Optional;
 
 public interface ResumeRepository extends JpaRepository<Resume, Long> {
     List<Resume> findAllByUserOrderByUploadDateDesc(User user);
     int countByUser(User user);
     Resume findByIdAndUser(Long id, User user);
+    Optional<Resume> findFirstByUserIdAndContentHashOrderByUploadDateDesc(Long userId, String contentHash);
+    Optional<Resume> findFirstByContentHash(String contentHash);
+    long countByFilePath(String filePath);
     
     @Query("SELECT r FROM Resume r WHERE r.id = :resumeId AND r.user.id = :userId")
     Resume findByIdAndUserId(@Param("resumeId") Long resumeId, @Param("userId") Long userId);
+
+    @Query("SELECT r FROM Resume r WHERE r.user.role = :role AND r.id > :afterId ORDER BY r.id")
+    List<Resume> findByUserRoleAfterId(@Param("role") User.Role role, @Param("afterId") Long afterId, Pageable pageable);
 } 
\ No newline at end of file
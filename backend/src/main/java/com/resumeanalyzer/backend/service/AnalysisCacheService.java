@@ -0,0 +1,37 @@
+package com.resumeanalyzer.backend.service;
+
+import com.resumeanalyzer.backend.dto.AnalysisResponse;
+import com.resumeanalyzer.backend.dto.CandidateAnalysisDTO;
+import com.resumeanalyzer.backend.util.ParsedDocument;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+public interface AnalysisCacheService {
+    /**
+     * Returns the candidate analysis for this resume / job description pair, running the analyzer
+     * only on a miss. Entries are keyed by content hash, so the same text uploaded twice shares one
+     * entry. {@code jd} is null for analyses without a job description.
+     */
+    CandidateAnalysisDTO candidateAnalysis(ParsedDocument resume, ParsedDocument jd, Supplier<CandidateAnalysisDTO> analyzer);
+    
+    /**
+     * Replaces the cached candidate analysis, e.g. with an LLM result that arrived after a
+     * rule-based answer was already served and cached.
+     */
+    void storeCandidateAnalysis(ParsedDocument resume, ParsedDocument jd, CandidateAnalysisDTO analysis);
+    
+    /**
+     * Returns the job description independent analysis of a resume, computing it only on a miss
+     */
+    CandidateAnalysisDTO resumeProfile(ParsedDocument resume, Supplier<CandidateAnalysisDTO> analyzer);
+    
+    /**
+     * Same as {@link #candidateAnalysis} for the job seeker's detailed match analysis
+     */
+    AnalysisResponse detailedAnalysis(ParsedDocument resume, ParsedDocument jd, Supplier<AnalysisResponse> analyzer);
+    
+    Map<String, Object> getStats();
+    
+    void invalidateAll();
+}
@@ -1,10 +1,30 @@
 package com.resumeanalyzer.backend.service;
 
 import com.resumeanalyzer.backend.dto.CandidateAnalysisDTO;
+import com.resumeanalyzer.backend.util.ParsedDocument;
 
 public interface CandidateAnalysisService {
+    /**
+     * Interactive analyses: the LLM and rule-based analyses run side by side, and if the LLM misses
+     * {@code analysis.latency-budget-ms} the rule-based result is returned. A late LLM result still
+     * replaces it in the analysis cache.
+     */
     CandidateAnalysisDTO analyzeWithJobDescription(String resumeText, String jdText);
     CandidateAnalysisDTO analyzeWithoutJobDescription(String resumeText);
+    
+    /**
+     * Same analyses on pre-tokenized documents; lets a bulk upload parse the job description once.
+     * These wait for the LLM however long it takes, since nobody is waiting on a single result.
+     */
+    CandidateAnalysisDTO analyzeWithJobDescription(ParsedDocument resume, ParsedDocument jd);
+    CandidateAnalysisDTO analyzeWithoutJobDescription(ParsedDocument resume);
+
+    /**
+     * Rule-based scoring against a job description without calling the LLM. The resume-only part
+     * of the analysis is cached, so scoring the same resumes against another revision of a job
+     * description only redoes the skill matching and the score.
+     */
+    CandidateAnalysisDTO rescoreWithJobDescription(ParsedDocument resume, ParsedDocument jd);
     double calculateExperienceScore(String resumeText);
     double calculateSkillsScore(String resumeText);
     double calculateEducationScore(String resumeText);
@@ -0,0 +1,24 @@
+package com.resumeanalyzer.backend.service;
+
+import com.resumeanalyzer.backend.dto.CandidateMatchDTO;
+import com.resumeanalyzer.backend.entity.Resume;
+import com.resumeanalyzer.backend.entity.User;
+
+import java.util.List;
+import java.util.Map;
+
+public interface CandidateSearchService {
+    /**
+     * The recruiter's stored resumes that best match the job description, best first
+     */
+    List<CandidateMatchDTO> findCandidates(Long jobDescriptionId, int limit, User recruiter);
+
+    /**
+     * Adds a newly saved resume to the search index; resumes of job seekers are not searchable
+     */
+    void index(Resume resume);
+
+    void remove(Long resumeId);
+
+    Map<String, Object> getStats();
+}
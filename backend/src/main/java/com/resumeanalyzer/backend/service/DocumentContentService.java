@@ -0,0 +1,33 @@
+package com.resumeanalyzer.backend.service;
+
+import com.resumeanalyzer.backend.entity.JobDescription;
+import com.resumeanalyzer.backend.entity.Resume;
+
+public interface DocumentContentService {
+    /**
+     * Stores a document text and returns the id of its content row; a text stored before gets
+     * the existing row
+     */
+    Long store(String text);
+
+    /**
+     * Deletes a content row once no resume or job description refers to it any more. Call it in
+     * the transaction that deleted the last reference, or in a new one after that has committed.
+     */
+    void release(Long contentId);
+
+    /**
+     * Loads the text of a content row, or null for a null id
+     */
+    String getText(Long contentId);
+
+    /**
+     * The extracted text of a resume, loaded on demand
+     */
+    String resumeText(Resume resume);
+
+    /**
+     * The text of a job description, loaded on demand
+     */
+    String jobDescriptionText(JobDescription jobDescription);
+}
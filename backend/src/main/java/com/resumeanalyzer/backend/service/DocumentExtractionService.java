@@ -0,0 +1,15 @@
+package com.resumeanalyzer.backend.service;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+public interface DocumentExtractionService {
+    /**
+     * Extracts the plain text of an uploaded document. Text beyond the configured character limit
+     * is dropped; files that are too large, take too long to parse or cannot be parsed fail with a
+     * RuntimeException describing why.
+     */
+    String extractText(Path file);
+
+    Map<String, Object> getStats();
+}
@@ -2,6 +2,9 @@ package com.resumeanalyzer.backend.service;
 
 import com.resumeanalyzer.backend.dto.CandidateAnalysisDTO;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 public interface LLMAnalysisService {
     /**
      * Enhances resume analysis using LLM
@@ -18,8 +21,28 @@ public interface LLMAnalysisService {
      */
     String extractCandidateNameWithLLM(String resumeText);
     
+    /**
+     * Async variant of {@link #enhanceAnalysisWithLLM}; no thread is held while the LLM responds
+     */
+    CompletableFuture<CandidateAnalysisDTO> enhanceAnalysisWithLLMAsync(String resumeText, String jobDescription);
+    
+    /**
+     * Async variant of {@link #analyzeResumeWithLLM}
+     */
+    CompletableFuture<CandidateAnalysisDTO> analyzeResumeWithLLMAsync(String resumeText);
+    
+    /**
+     * Async variant of {@link #extractCandidateNameWithLLM}
+     */
+    CompletableFuture<String> extractCandidateNameWithLLMAsync(String resumeText);
+    
     /**
      * Checks if LLM service is available
      */
     boolean isLLMAvailable();
+    
+    /**
+     * Reports backend health and circuit breaker state for monitoring
+     */
+    Map<String, Object> getStatus();
 }
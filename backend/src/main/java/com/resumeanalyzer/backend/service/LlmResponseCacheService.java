@@ -0,0 +1,24 @@
+package com.resumeanalyzer.backend.service;
+
+import java.util.Map;
+
+public interface LlmResponseCacheService {
+    /**
+     * Returns the stored completion of this prompt by this model, or null
+     */
+    String get(String model, String prompt);
+
+    /**
+     * Stores a completion for later identical prompts
+     */
+    void put(String model, String prompt, String response);
+
+    /**
+     * Removes the stored completion of this prompt by this model, e.g. one found to be unusable
+     */
+    void evict(String model, String prompt);
+
+    Map<String, Object> getStats();
+
+    void invalidateAll();
+}
@@ -0,0 +1,10 @@
+package com.resumeanalyzer.backend.service;
+
+import java.util.Map;
+
+public interface ModelCallLimitService {
+    /**
+     * Configured limits and call counters of every model provider called so far
+     */
+    Map<String, Object> getStats();
+}
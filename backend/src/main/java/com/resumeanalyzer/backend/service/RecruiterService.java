@@ -6,22 +6,69 @@ import com.resumeanalyzer.backend.entity.Leaderboard;
 import com.resumeanalyzer.backend.entity.LeaderboardEntry;
 import com.resumeanalyzer.backend.dto.CandidateAnalysisDTO;
 import com.resumeanalyzer.backend.dto.CandidateReportDTO;
+import com.resumeanalyzer.backend.dto.LeaderboardEntryPageDTO;
 import com.resumeanalyzer.backend.dto.LeaderboardSummaryDTO;
+import com.resumeanalyzer.backend.dto.ResumeFileDTO;
+import com.resumeanalyzer.backend.dto.UploadProgressDTO;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 public interface RecruiterService {
     Leaderboard bulkUpload(List<MultipartFile> resumes, MultipartFile jdFile, String jdText, String jdTitle, User recruiter);
+    UploadProgressDTO startBulkUpload(List<MultipartFile> resumes, MultipartFile jdFile, String jdText, String jdTitle, User recruiter);
+
+    /**
+     * Scores the leaderboard's candidates again against a revised job description (file or text),
+     * or against its current one when none is given, and re-ranks them. Stored resume texts are
+     * reused; nothing is uploaded, parsed or sent to the LLM again.
+     *
+     * All scores after a rescore are rule-based. A leaderboard first scored by the LLM therefore
+     * gets scores on the rule-based scale, even against the same job description; they are
+     * comparable with each other but not with the scores it had before.
+     */
+    LeaderboardSummaryDTO rescoreLeaderboard(Long leaderboardId, MultipartFile jdFile, String jdText, String jdTitle, User recruiter);
+    UploadProgressDTO getBulkUploadProgress(String jobId, User recruiter);
+    SseEmitter streamBulkUploadProgress(String jobId, User recruiter);
     Leaderboard getLeaderboard(Long leaderboardId, User recruiter);
     LeaderboardEntry getLeaderboardEntry(Long entryId, User recruiter);
     CandidateReportDTO getCandidateReport(Long entryId, User recruiter);
     byte[] generateCandidatePdf(Long entryId, User recruiter);
-    byte[] exportLeaderboardCsv(Long leaderboardId, int topN, User recruiter);
+
+    /**
+     * Streams a ZIP of report PDFs for the given entries of the leaderboard, or for its top entries
+     * in rank order when none are given (topN = 0 for as many as allowed).
+     */
+    StreamingResponseBody exportCandidateReports(Long leaderboardId, List<Long> entryIds, int topN, User recruiter);
+
+    /**
+     * Streams the leaderboard's entries in rank order as "csv" or "ndjson", gzipped if asked, at most
+     * topN of them when topN is positive. Access is checked before the body is returned.
+     */
+    StreamingResponseBody exportLeaderboard(Long leaderboardId, int topN, String format, boolean gzip, User recruiter);
+
+    /**
+     * The original CSV export: the top topN entries, and only the header row when topN is not positive.
+     */
+    StreamingResponseBody exportLeaderboardCsv(Long leaderboardId, int topN, User recruiter);
     LeaderboardEntry updateCandidateNotes(Long entryId, String notes, User recruiter);
     LeaderboardEntry toggleCandidateFavorite(Long entryId, User recruiter);
     List<Leaderboard> getRecruiterLeaderboards(User recruiter);
+
+    /**
+     * Newest leaderboards first with entry count and top score, limit at a time. Pass the id of the
+     * last summary received as beforeId to continue, or null for the first page.
+     */
+    List<LeaderboardSummaryDTO> getLeaderboardSummaries(User recruiter, Long beforeId, int limit);
+
+    /**
+     * One page of a leaderboard's entries sorted by "rank" or "name", "asc" or "desc". after is the
+     * nextCursor of the previous page, or null for the first page.
+     */
+    LeaderboardEntryPageDTO getLeaderboardEntries(Long leaderboardId, String sort, String direction, String after, int limit, User recruiter);
     void deleteLeaderboard(Long leaderboardId, User recruiter);
     CandidateAnalysisDTO getCandidateAnalytics(Long entryId, User recruiter);
-    String getCandidateResumeFilePath(Long entryId, User recruiter);
+    ResumeFileDTO getCandidateResumeFile(Long entryId, User recruiter);
 }
\ No newline at end of file
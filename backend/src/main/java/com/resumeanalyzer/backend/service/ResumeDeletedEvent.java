@@ -0,0 +1,10 @@
+package com.resumeanalyzer.backend.service;
+
+import com.resumeanalyzer.backend.entity.Resume;
+
+/**
+ * Published when a resume row is deleted; like {@link ResumeSavedEvent}, best handled after commit.
+ * The stored file and extracted text the resume referred to are released by a listener then.
+ */
+public record ResumeDeletedEvent(Resume resume) {
+}
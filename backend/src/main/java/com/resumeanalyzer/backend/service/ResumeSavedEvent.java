@@ -0,0 +1,10 @@
+package com.resumeanalyzer.backend.service;
+
+import com.resumeanalyzer.backend.entity.Resume;
+
+/**
+ * Published when a new resume row is saved. Listeners that keep derived state, such as the
+ * candidate search index, should act on it after commit so a rolled-back upload leaves no trace.
+ */
+public record ResumeSavedEvent(Resume resume) {
+}
@@ -0,0 +1,41 @@
+package com.resumeanalyzer.backend.service;
+
+import com.resumeanalyzer.backend.entity.Resume;
+import com.resumeanalyzer.backend.entity.User;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface ResumeStorageService {
+    /**
+     * An uploaded file as held by the store. {@code reused} is true when identical bytes were
+     * already on disk and the upload was discarded in favour of that copy.
+     */
+    record StoredFile(String contentHash, Path path, String originalFilename, long size, boolean reused) {
+    }
+
+    /**
+     * Stores the upload under the SHA-256 of its bytes; identical files share one copy on disk
+     */
+    StoredFile store(MultipartFile file) throws IOException;
+
+    /**
+     * Returns the user's resume for this file. An existing resume of the user with the same bytes
+     * is returned as is; otherwise a new one is saved, reusing the text extracted from any earlier
+     * upload of the same bytes and parsing the file only when there is none.
+     */
+    Resume saveResume(StoredFile file, User user);
+
+    /**
+     * Deletes the resume's file from disk unless another resume still refers to it. Call after the
+     * resume itself has been deleted.
+     */
+    void release(Resume resume);
+
+    /**
+     * Deletes a file stored for an upload whose resume was never saved, e.g. because parsing it
+     * failed. A copy that was already on disk, or that another upload has been handed since, is kept.
+     */
+    void discard(StoredFile file);
+}
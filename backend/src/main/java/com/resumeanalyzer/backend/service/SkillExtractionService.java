@@ -1,9 +1,36 @@
 package com.resumeanalyzer.backend.service;
 
+import com.resumeanalyzer.backend.util.ParsedDocument;
+import com.resumeanalyzer.backend.util.SkillTaxonomy;
+import com.resumeanalyzer.backend.util.SkillVector;
+
 import java.util.List;
 
 public interface SkillExtractionService {
     List<String> extractSkills(String text);
     double computeSimilarity(String text1, String text2);
     void testAPI();
-} 
\ No newline at end of file
+    
+    /**
+     * Extracts skills as a bitset over the ids of the given taxonomy snapshot
+     */
+    default SkillVector extractSkillVector(String text, SkillTaxonomy taxonomy) {
+        return taxonomy.vectorOf(extractSkills(text));
+    }
+    
+    /**
+     * Variants for documents that were already tokenized, so callers analysing the same
+     * resume or job description several times do not rescan the raw text
+     */
+    default List<String> extractSkills(ParsedDocument document) {
+        return extractSkills(document.text());
+    }
+    
+    default SkillVector extractSkillVector(ParsedDocument document, SkillTaxonomy taxonomy) {
+        return extractSkillVector(document.text(), taxonomy);
+    }
+    
+    default double computeSimilarity(ParsedDocument document1, ParsedDocument document2) {
+        return computeSimilarity(document1.text(), document2.text());
+    }
+}
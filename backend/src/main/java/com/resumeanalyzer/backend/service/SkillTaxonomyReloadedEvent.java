@@ -0,0 +1,10 @@
+package com.resumeanalyzer.backend.service;
+
+import com.resumeanalyzer.backend.util.SkillTaxonomy;
+
+/**
+ * Published after a new skill taxonomy has been swapped in, so caches and indexes built
+ * against the previous version can be dropped or rebuilt.
+ */
+public record SkillTaxonomyReloadedEvent(SkillTaxonomy taxonomy) {
+}
@@ -0,0 +1,16 @@
+package com.resumeanalyzer.backend.service;
+
+import com.resumeanalyzer.backend.util.SkillTaxonomy;
+
+public interface SkillTaxonomyService {
+    /**
+     * Returns the currently active compiled taxonomy. Callers should grab it once per
+     * operation so a concurrent reload cannot mix two versions in one result.
+     */
+    SkillTaxonomy current();
+    
+    /**
+     * Re-reads the taxonomy file and atomically swaps in the new index
+     */
+    SkillTaxonomy reload();
+}
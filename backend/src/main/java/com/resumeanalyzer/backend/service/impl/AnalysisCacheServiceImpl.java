@@ -0,0 +1,204 @@
+package com.resumeanalyzer.backend.service.impl;
+
+import com.resumeanalyzer.backend.dto.AnalysisResponse;
+import com.resumeanalyzer.backend.dto.CandidateAnalysisDTO;
+import com.resumeanalyzer.backend.service.AnalysisCacheService;
+import com.resumeanalyzer.backend.service.SkillTaxonomyReloadedEvent;
+import com.resumeanalyzer.backend.service.SkillTaxonomyService;
+import com.resumeanalyzer.backend.util.ParsedDocument;
+import com.resumeanalyzer.backend.util.TtlLruCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Caches analysis results by content: SHA-256 of the resume text, SHA-256 of the job description,
+ * the scoring version and the skill taxonomy version. Changing either version changes every key,
+ * so results scored under old rules are never served; a taxonomy reload also clears the cache
+ * to release the memory straight away.
+ *
+ * Values are deep-copied on the way in and out because the DTOs and their lists are mutable and
+ * callers adjust them. Rule-based stand-ins for a failed or late LLM analysis are never cached, so
+ * an outage of the model does not pin degraded results for the whole TTL.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalysisCacheServiceImpl implements AnalysisCacheService {
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisCacheServiceImpl.class);
+
+    private final SkillTaxonomyService skillTaxonomyService;
+
+    @Value("${analysis.cache.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${analysis.cache.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    // Bump when scoring rules change so results computed by the old rules are not reused
+    @Value("${analysis.scoring-version:1}")
+    private String scoringVersion;
+
+    private TtlLruCache<String, CandidateAnalysisDTO> candidateAnalyses;
+    private TtlLruCache<String, AnalysisResponse> detailedAnalyses;
+
+    @PostConstruct
+    public void init() {
+        candidateAnalyses = new TtlLruCache<>(maxEntries, ttlMinutes, TimeUnit.MINUTES);
+        detailedAnalyses = new TtlLruCache<>(maxEntries, ttlMinutes, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public CandidateAnalysisDTO candidateAnalysis(ParsedDocument resume, ParsedDocument jd, Supplier<CandidateAnalysisDTO> analyzer) {
+        return getOrCompute(candidateAnalyses, key("candidate", resume, jd), analyzer,
+            AnalysisCacheServiceImpl::copyOf, dto -> !dto.isFallback());
+    }
+
+    @Override
+    public void storeCandidateAnalysis(ParsedDocument resume, ParsedDocument jd, CandidateAnalysisDTO analysis) {
+        if (!analysis.isFallback()) {
+            candidateAnalyses.put(key("candidate", resume, jd), copyOf(analysis));
+        }
+    }
+
+    @Override
+    public CandidateAnalysisDTO resumeProfile(ParsedDocument resume, Supplier<CandidateAnalysisDTO> analyzer) {
+        return getOrCompute(candidateAnalyses, key("profile", resume, null), analyzer,
+            AnalysisCacheServiceImpl::copyOf, dto -> !dto.isFallback());
+    }
+
+    @Override
+    public AnalysisResponse detailedAnalysis(ParsedDocument resume, ParsedDocument jd, Supplier<AnalysisResponse> analyzer) {
+        return getOrCompute(detailedAnalyses, key("detailed", resume, jd), analyzer,
+            AnalysisCacheServiceImpl::copyOf, response -> true);
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("scoringVersion", scoringVersion);
+        stats.put("taxonomyVersion", skillTaxonomyService.current().version());
+        stats.put("ttlMinutes", ttlMinutes);
+        stats.put("candidateAnalyses", describe(candidateAnalyses.stats()));
+        stats.put("detailedAnalyses", describe(detailedAnalyses.stats()));
+        return stats;
+    }
+
+    @Override
+    public void invalidateAll() {
+        candidateAnalyses.invalidateAll();
+        detailedAnalyses.invalidateAll();
+    }
+
+    @EventListener
+    public void onTaxonomyReloaded(SkillTaxonomyReloadedEvent event) {
+        logger.info("Skill taxonomy changed to {}, clearing analysis cache", event.taxonomy().version());
+        invalidateAll();
+    }
+
+    @Scheduled(fixedDelayString = "${analysis.cache.purge-interval-ms:300000}")
+    public void purgeExpired() {
+        int removed = candidateAnalyses.purgeExpired() + detailedAnalyses.purgeExpired();
+        if (removed > 0) {
+            logger.debug("Purged {} expired analysis cache entries", removed);
+        }
+    }
+
+    private <T> T getOrCompute(TtlLruCache<String, T> cache, String key, Supplier<T> analyzer,
+                               UnaryOperator<T> copy, Predicate<T> cacheable) {
+        T cached = cache.get(key);
+        if (cached != null) {
+            logger.debug("Analysis cache hit for {}", key);
+            return copy.apply(cached);
+        }
+        // Computed outside the cache lock; two concurrent misses for one key both run the analyzer
+        T result = analyzer.get();
+        if (result != null && cacheable.test(result)) {
+            cache.put(key, copy.apply(result));
+        }
+        return result;
+    }
+
+    private static CandidateAnalysisDTO copyOf(CandidateAnalysisDTO dto) {
+        return dto.toBuilder()
+            .skills(copyOf(dto.getSkills()))
+            .projects(copyOf(dto.getProjects()))
+            .hackathons(copyOf(dto.getHackathons()))
+            .education(copyOf(dto.getEducation()))
+            .suggestions(copyOf(dto.getSuggestions()))
+            .matchedSkills(copyOf(dto.getMatchedSkills()))
+            .missingSkills(copyOf(dto.getMissingSkills()))
+            .suggestedSkills(copyOf(dto.getSuggestedSkills()))
+            .experienceHighlights(copyOf(dto.getExperienceHighlights()))
+            .projectHighlights(copyOf(dto.getProjectHighlights()))
+            .educationHighlights(copyOf(dto.getEducationHighlights()))
+            .certificationHighlights(copyOf(dto.getCertificationHighlights()))
+            .keywordMatches(copyOf(dto.getKeywordMatches()))
+            .improvementSuggestions(copyOf(dto.getImprovementSuggestions()))
+            .resumeTips(copyOf(dto.getResumeTips()))
+            .learningRecommendations(copyOf(dto.getLearningRecommendations()))
+            .skillCategoryScores(copyOf(dto.getSkillCategoryScores()))
+            .skillCategoryCounts(copyOf(dto.getSkillCategoryCounts()))
+            .build();
+    }
+
+    private static AnalysisResponse copyOf(AnalysisResponse response) {
+        List<AnalysisResponse.SkillCategory> categories = null;
+        if (response.getSkillCategories() != null) {
+            categories = new ArrayList<>(response.getSkillCategories().size());
+            for (AnalysisResponse.SkillCategory category : response.getSkillCategories()) {
+                categories.add(category == null ? null : new AnalysisResponse.SkillCategory(
+                    category.getCategoryName(), copyOf(category.getSkills()), category.getMatchScore(),
+                    category.getRequiredCount(), category.getMatchedCount(), copyOf(category.getMissingSkills())));
+            }
+        }
+        return response.toBuilder()
+            .matchedSkills(copyOf(response.getMatchedSkills()))
+            .missingSkills(copyOf(response.getMissingSkills()))
+            .categoryScores(copyOf(response.getCategoryScores()))
+            .skillCategories(categories)
+            .improvementSuggestions(copyOf(response.getImprovementSuggestions()))
+            .resumeTips(copyOf(response.getResumeTips()))
+            .learningRecommendations(copyOf(response.getLearningRecommendations()))
+            .build();
+    }
+
+    private static <E> List<E> copyOf(List<E> list) {
+        return list != null ? new ArrayList<>(list) : null;
+    }
+
+    private static <K, V> Map<K, V> copyOf(Map<K, V> map) {
+        return map != null ? new HashMap<>(map) : null;
+    }
+
+    private String key(String kind, ParsedDocument resume, ParsedDocument jd) {
+        return kind + ":" + resume.contentHash() + ":" + (jd != null ? jd.contentHash() : "-")
+            + ":" + scoringVersion + ":" + skillTaxonomyService.current().version();
+    }
+
+    private Map<String, Object> describe(TtlLruCache.Stats stats) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("size", stats.size());
+        description.put("maxEntries", stats.maxEntries());
+        description.put("hits", stats.hits());
+        description.put("misses", stats.misses());
+        description.put("hitRate", stats.hitRate());
+        description.put("evictions", stats.evictions());
+        description.put("expirations", stats.expirations());
+        return description;
+    }
+}
@@ -9,8 +9,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import com.resumeanalyzer.backend.dto.AnalysisTrendDTO;
 import com.resumeanalyzer.backend.dto.TrendPointDTO;
+import com.resumeanalyzer.backend.util.ParsedDocument;
+import com.resumeanalyzer.backend.util.SkillTaxonomy;
+import com.resumeanalyzer.backend.util.SkillVector;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.Map;
@@ -23,19 +26,23 @@ public class AnalysisServiceImpl implements AnalysisService {
     private final JobDescriptionRepository jobDescriptionRepository;
     private final AnalysisRepository analysisRepository;
     private final SkillExtractionService skillExtractionService;
+    private final SkillTaxonomyService skillTaxonomyService;
+    private final DocumentContentService documentContentService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Override
     public Analysis analyze(Long resumeId, Long jdId, User user) {
         Resume resume = resumeRepository.findById(resumeId).orElseThrow();
         JobDescription jd = jobDescriptionRepository.findById(jdId).orElseThrow();
-        List<String> resumeSkills = skillExtractionService.extractSkills(resume.getParsedText());
-        List<String> jdSkills = skillExtractionService.extractSkills(jd.getText());
-        Set<String> matched = new HashSet<>(resumeSkills);
-        matched.retainAll(jdSkills);
-        Set<String> missing = new HashSet<>(jdSkills);
-        missing.removeAll(resumeSkills);
-        double matchScore = skillExtractionService.computeSimilarity(resume.getParsedText(), jd.getText());
+        // Tokenize both texts once; skill matching and similarity share the result
+        ParsedDocument resumeDoc = ParsedDocument.of(documentContentService.resumeText(resume));
+        ParsedDocument jdDoc = ParsedDocument.of(documentContentService.jobDescriptionText(jd));
+        SkillTaxonomy taxonomy = skillTaxonomyService.current();
+        SkillVector resumeSkills = skillExtractionService.extractSkillVector(resumeDoc, taxonomy);
+        SkillVector jdSkills = skillExtractionService.extractSkillVector(jdDoc, taxonomy);
+        Set<String> matched = new LinkedHashSet<>(taxonomy.names(resumeSkills.and(jdSkills)));
+        Set<String> missing = new LinkedHashSet<>(taxonomy.names(jdSkills.andNot(resumeSkills)));
+        double matchScore = skillExtractionService.computeSimilarity(resumeDoc, jdDoc);
         String suggestions = missing.isEmpty() ? "Great match!" : "Consider adding: " + String.join(", ", missing);
         try {
             Analysis analysis = Analysis.builder()
@@ -6,6 +6,8 @@ import com.resumeanalyzer.backend.entity.User;
 import com.resumeanalyzer.backend.repository.AnalysisRepository;
 import com.resumeanalyzer.backend.repository.ResumeRepository;
 import com.resumeanalyzer.backend.service.AnalyticsService;
+import com.resumeanalyzer.backend.service.DocumentContentService;
+import com.resumeanalyzer.backend.service.SkillTaxonomyService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +28,8 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     
     private final AnalysisRepository analysisRepository;
     private final ResumeRepository resumeRepository;
+    private final SkillTaxonomyService skillTaxonomyService;
+    private final DocumentContentService documentContentService;
     private final ObjectMapper objectMapper = new ObjectMapper();
     
     @Override
@@ -226,21 +230,8 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     }
     
     private String categorizeSkill(String skill) {
-        String lowerSkill = skill.toLowerCase();
-        
-        if (lowerSkill.matches(".*(java|python|javascript|typescript|c\\+\\+|c#|php|ruby|go|rust|swift|kotlin|scala).*")) {
-            return "Programming Languages";
-        } else if (lowerSkill.matches(".*(spring|django|react|angular|vue|node|express|flask|asp|laravel).*")) {
-            return "Frameworks & Libraries";
-        } else if (lowerSkill.matches(".*(mysql|postgresql|mongodb|redis|oracle|sql|dynamodb).*")) {
-            return "Databases";
-        } else if (lowerSkill.matches(".*(aws|azure|google cloud|docker|kubernetes|jenkins|gitlab|github).*")) {
-            return "Cloud & DevOps";
-        } else if (lowerSkill.matches(".*(git|maven|gradle|npm|yarn|webpack|babel|jest|junit|selenium).*")) {
-            return "Tools & Technologies";
-        } else {
-            return "Other Skills";
-        }
+        String category = skillTaxonomyService.current().categoryOf(skill);
+        return category != null ? category : "Other Skills";
     }
     
     private String determineMatchLevel(double matchScore) {
@@ -258,7 +249,8 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     
     private String extractIndustryFromAnalysis(Analysis analysis) {
         // Simple industry classification based on job description
-        String jdText = analysis.getJobDescription().getText().toLowerCase();
+        String jdText = documentContentService.jobDescriptionText(analysis.getJobDescription());
+        jdText = jdText != null ? jdText.toLowerCase() : "";
         
         if (jdText.contains("software") || jdText.contains("developer") || jdText.contains("engineer")) {
             return "Technology";
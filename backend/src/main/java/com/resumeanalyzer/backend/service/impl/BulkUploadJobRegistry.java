@@ -0,0 +1,265 @@
+package com.resumeanalyzer.backend.service.impl;
+
+import com.resumeanalyzer.backend.dto.UploadProgressDTO;
+import com.resumeanalyzer.backend.util.TopKRanker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-memory state of the asynchronous bulk uploads: per-file status, counters and the SSE
+ * subscribers of each job. Every change is pushed to the subscribers as a "progress" event
+ * carrying the full {@link UploadProgressDTO}, so a client that reconnects or polls instead
+ * never needs to replay earlier events. Each job also keeps its best candidates so far in a
+ * bounded heap, so the live top of the leaderboard is known without sorting every result.
+ * Finished jobs are kept for a while so their final status can still be read, then dropped.
+ */
+@Component
+public class BulkUploadJobRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(BulkUploadJobRegistry.class);
+
+    @Value("${bulk-upload.jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    @Value("${bulk-upload.jobs.sse-timeout-ms:1800000}")
+    private long sseTimeoutMs;
+
+    @Value("${bulk-upload.jobs.live-top-k:10}")
+    private int liveTopK;
+
+    // Highest score first, candidates without a score last, ties in the order they were saved,
+    // the same order the final ranks use
+    static final Comparator<UploadProgressDTO.TopCandidate> RANK_ORDER = Comparator
+        .comparing(UploadProgressDTO.TopCandidate::getMatchScore, Comparator.nullsLast(Comparator.<Double>reverseOrder()))
+        .thenComparing(UploadProgressDTO.TopCandidate::getEntryId);
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public Job create(Long recruiterId, Long leaderboardId, List<String> fileNames) {
+        Job job = new Job(UUID.randomUUID().toString(), recruiterId, leaderboardId, fileNames, liveTopK);
+        jobs.put(job.id, job);
+        return job;
+    }
+
+    /**
+     * Looks up a job for its owner. Unknown and foreign jobs are reported the same way the
+     * rest of the recruiter API reports missing or foreign leaderboards.
+     */
+    public Job get(String jobId, Long recruiterId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Bulk upload job not found");
+        }
+        if (!job.recruiterId.equals(recruiterId)) {
+            throw new RuntimeException("Access denied to bulk upload job");
+        }
+        return job;
+    }
+
+    public UploadProgressDTO progress(Job job) {
+        return job.snapshot();
+    }
+
+    public SseEmitter subscribe(Job job) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        emitter.onCompletion(() -> job.emitters.remove(emitter));
+        emitter.onTimeout(() -> job.emitters.remove(emitter));
+        emitter.onError(e -> job.emitters.remove(emitter));
+        job.emitters.add(emitter);
+        // Start every stream with the current state; a finished job ends right away
+        send(job, emitter, job.snapshot());
+        if (job.isFinished()) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    public void fileStarted(Job job, int index) {
+        synchronized (job) {
+            job.files.get(index).setStatus("PROCESSING");
+            job.status = "PROCESSING";
+            job.currentFile = job.files.get(index).getFileName();
+        }
+        publish(job);
+    }
+
+    public void fileCompleted(Job job, int index, Long entryId, String candidateName, Double matchScore) {
+        synchronized (job) {
+            UploadProgressDTO.FileProgress file = job.files.get(index);
+            file.setStatus("COMPLETED");
+            file.setCandidateName(candidateName);
+            file.setMatchScore(matchScore);
+            job.processed++;
+            job.topCandidates.offer(UploadProgressDTO.TopCandidate.builder()
+                .entryId(entryId)
+                .fileName(file.getFileName())
+                .candidateName(candidateName)
+                .matchScore(matchScore)
+                .build());
+        }
+        publish(job);
+    }
+
+    public void fileFailed(Job job, int index, String error) {
+        synchronized (job) {
+            UploadProgressDTO.FileProgress file = job.files.get(index);
+            file.setStatus("ERROR");
+            file.setError(error);
+            job.processed++;
+            job.failed++;
+        }
+        publish(job);
+    }
+
+    public void completed(Job job) {
+        String message;
+        synchronized (job) {
+            message = "Upload completed: " + (job.processed - job.failed) + " of " + job.files.size() + " resumes ranked";
+        }
+        finish(job, "COMPLETED", message);
+    }
+
+    public void failed(Job job, String message) {
+        finish(job, "ERROR", message);
+    }
+
+    /**
+     * Forgets a job that never started, e.g. one the executor rejected; its id was never handed out.
+     */
+    public void remove(Job job) {
+        jobs.remove(job.id);
+    }
+
+    /**
+     * Drops finished jobs once their retention has passed.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(retentionMinutes));
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private void finish(Job job, String status, String message) {
+        synchronized (job) {
+            job.status = status;
+            job.message = message;
+            job.currentFile = null;
+            job.finishedAt = Instant.now();
+        }
+        publish(job);
+        for (SseEmitter emitter : job.emitters) {
+            emitter.complete();
+        }
+    }
+
+    private void publish(Job job) {
+        if (job.emitters.isEmpty()) {
+            return;
+        }
+        UploadProgressDTO progress = job.snapshot();
+        for (SseEmitter emitter : job.emitters) {
+            send(job, emitter, progress);
+        }
+    }
+
+    private void send(Job job, SseEmitter emitter, UploadProgressDTO progress) {
+        try {
+            // SseEmitter is not safe for concurrent sends; files finish on many threads
+            synchronized (emitter) {
+                emitter.send(SseEmitter.event().name("progress").data(progress));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the job keeps running and can still be polled
+            logger.debug("Dropping progress subscriber of job {}: {}", job.id, e.getMessage());
+            job.emitters.remove(emitter);
+        }
+    }
+
+    public static final class Job {
+        private final String id;
+        private final Long recruiterId;
+        private final Long leaderboardId;
+        private final List<UploadProgressDTO.FileProgress> files;
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private final TopKRanker<UploadProgressDTO.TopCandidate> topCandidates;
+        private String status = "QUEUED";
+        private String message = "Upload accepted";
+        private String currentFile;
+        private int processed;
+        private int failed;
+        private Instant finishedAt;
+
+        private Job(String id, Long recruiterId, Long leaderboardId, List<String> fileNames, int topK) {
+            this.id = id;
+            this.topCandidates = new TopKRanker<>(topK, RANK_ORDER);
+            this.recruiterId = recruiterId;
+            this.leaderboardId = leaderboardId;
+            this.files = new ArrayList<>(fileNames.size());
+            for (String fileName : fileNames) {
+                files.add(UploadProgressDTO.FileProgress.builder().fileName(fileName).status("QUEUED").build());
+            }
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Long getLeaderboardId() {
+            return leaderboardId;
+        }
+
+        synchronized boolean isFinished() {
+            return finishedAt != null;
+        }
+
+        synchronized UploadProgressDTO snapshot() {
+            List<UploadProgressDTO.FileProgress> fileCopies = new ArrayList<>(files.size());
+            for (UploadProgressDTO.FileProgress file : files) {
+                fileCopies.add(UploadProgressDTO.FileProgress.builder()
+                    .fileName(file.getFileName())
+                    .status(file.getStatus())
+                    .candidateName(file.getCandidateName())
+                    .matchScore(file.getMatchScore())
+                    .error(file.getError())
+                    .build());
+            }
+            List<UploadProgressDTO.TopCandidate> top = topCandidates.top();
+            List<UploadProgressDTO.TopCandidate> topCopies = new ArrayList<>(top.size());
+            for (UploadProgressDTO.TopCandidate candidate : top) {
+                topCopies.add(UploadProgressDTO.TopCandidate.builder()
+                    .rank(topCopies.size() + 1)
+                    .entryId(candidate.getEntryId())
+                    .fileName(candidate.getFileName())
+                    .candidateName(candidate.getCandidateName())
+                    .matchScore(candidate.getMatchScore())
+                    .build());
+            }
+            return UploadProgressDTO.builder()
+                .jobId(id)
+                .status(status)
+                .processedCount(processed)
+                .failedCount(failed)
+                .totalCount(files.size())
+                .currentFile(currentFile)
+                .message(message)
+                .leaderboardId(leaderboardId)
+                .files(fileCopies)
+                .topCandidates(topCopies)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.resumeanalyzer.backend.service.impl;
+
+import com.resumeanalyzer.backend.dto.CandidateAnalysisDTO;
+import com.resumeanalyzer.backend.entity.Resume;
+import com.resumeanalyzer.backend.service.ResumeStorageService.StoredFile;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Runs the per-resume work of a bulk upload (store, parse, analyze, name) concurrently.
+ *
+ * Every file gets its own virtual thread and moves through the stages in order, but each stage only
+ * admits a bounded number of files at a time. While one resume waits on the LLM for its analysis the
+ * next ones are already being stored and parsed, so a batch takes roughly as long as its slowest
+ * stage instead of the sum of all stages. The limits are shared by all uploads running at once,
+ * which keeps concurrent recruiters from multiplying the load on Tika or the LLM.
+ *
+ * A failure only affects its own file; the outcome records the stage that failed. Persisting the
+ * leaderboard entries and ranking them is left to the caller once every file has finished.
+ */
+@Component
+public class BulkUploadPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(BulkUploadPipeline.class);
+
+    // Naming runs last so it can reuse the name an LLM analysis already extracted
+    public enum Stage { STORE, PARSE, ANALYZE, NAME }
+
+    /**
+     * The work done in each stage, supplied by the caller. {@code F} is the uploaded file as the
+     * caller holds it: a multipart upload, or a file already copied to disk by an async job.
+     */
+    public interface Steps<F> {
+        StoredFile store(F file) throws Exception;
+        Resume parse(StoredFile storedFile) throws Exception;
+        CandidateAnalysisDTO analyze(Resume resume) throws Exception;
+        String extractName(Resume resume, CandidateAnalysisDTO analysis) throws Exception;
+    }
+
+    /**
+     * Notified from the worker threads as files start and finish; implementations must be thread-safe.
+     */
+    public interface Listener {
+        Listener NONE = new Listener() { };
+
+        default void onStarted(int index, String fileName) {
+        }
+
+        default void onFinished(Outcome outcome) {
+        }
+    }
+
+    /**
+     * Result for one file. {@code failedStage} and {@code error} are set only when processing failed.
+     */
+    public record Outcome(int index, String fileName, Resume resume, String candidateName,
+                          CandidateAnalysisDTO analysis, Stage failedStage, String error) {
+        public boolean succeeded() {
+            return failedStage == null;
+        }
+    }
+
+    @Value("${bulk-upload.concurrency.store:8}")
+    private int storeConcurrency;
+
+    @Value("${bulk-upload.concurrency.parse:4}")
+    private int parseConcurrency;
+
+    @Value("${bulk-upload.concurrency.name:4}")
+    private int nameConcurrency;
+
+    @Value("${bulk-upload.concurrency.analyze:4}")
+    private int analyzeConcurrency;
+
+    private final Map<Stage, Semaphore> stageLimits = new EnumMap<>(Stage.class);
+
+    @PostConstruct
+    public void init() {
+        stageLimits.put(Stage.STORE, new Semaphore(storeConcurrency, true));
+        stageLimits.put(Stage.PARSE, new Semaphore(parseConcurrency, true));
+        stageLimits.put(Stage.ANALYZE, new Semaphore(analyzeConcurrency, true));
+        stageLimits.put(Stage.NAME, new Semaphore(nameConcurrency, true));
+        logger.info("Bulk upload pipeline limits: store={}, parse={}, analyze={}, name={}",
+            storeConcurrency, parseConcurrency, analyzeConcurrency, nameConcurrency);
+    }
+
+    /**
+     * Processes every file and returns the outcomes in upload order. Blocks until all files are done.
+     */
+    public <F> List<Outcome> run(List<F> files, Function<F, String> fileName, Steps<F> steps, Listener listener) {
+        List<Outcome> outcomes = new ArrayList<>(files.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Outcome>> futures = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                int index = i;
+                F file = files.get(i);
+                futures.add(executor.submit(() -> process(index, file, fileName.apply(file), steps, listener)));
+            }
+            for (Future<Outcome> future : futures) {
+                outcomes.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Bulk upload interrupted", e);
+        } catch (ExecutionException e) {
+            // process() catches everything itself, so this is a bug rather than a bad file
+            throw new RuntimeException("Bulk upload failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return outcomes;
+    }
+
+    private <F> Outcome process(int index, F file, String fileName, Steps<F> steps, Listener listener) {
+        listener.onStarted(index, fileName);
+        Stage stage = Stage.STORE;
+        Outcome outcome;
+        try {
+            StoredFile storedFile = inStage(stage, () -> steps.store(file));
+
+            stage = Stage.PARSE;
+            Resume resume = inStage(stage, () -> steps.parse(storedFile));
+
+            stage = Stage.ANALYZE;
+            CandidateAnalysisDTO analysis = inStage(stage, () -> steps.analyze(resume));
+
+            stage = Stage.NAME;
+            String candidateName = inStage(stage, () -> steps.extractName(resume, analysis));
+
+            outcome = new Outcome(index, fileName, resume, candidateName, analysis, null, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = new Outcome(index, fileName, null, null, null, stage, "Interrupted");
+        } catch (Exception e) {
+            logger.warn("Bulk upload of {} failed at {}: {}", fileName, stage, e.getMessage());
+            outcome = new Outcome(index, fileName, null, null, null, stage, e.getMessage());
+        }
+        try {
+            listener.onFinished(outcome);
+        } catch (RuntimeException e) {
+            // A failing listener must not take the other files down with it
+            logger.error("Bulk upload listener failed for {}: {}", fileName, e.getMessage());
+        }
+        return outcome;
+    }
+
+    private <T> T inStage(Stage stage, Callable<T> work) throws Exception {
+        Semaphore limit = stageLimits.get(stage);
+        limit.acquire();
+        try {
+            return work.call();
+        } finally {
+            limit.release();
+        }
+    }
+}
@@ -1,13 +1,27 @@
 package com.resumeanalyzer.backend.service.impl;
 
 import com.resumeanalyzer.backend.dto.CandidateAnalysisDTO;
+import com.resumeanalyzer.backend.service.AnalysisCacheService;
 import com.resumeanalyzer.backend.service.CandidateAnalysisService;
 import com.resumeanalyzer.backend.service.SkillExtractionService;
 import com.resumeanalyzer.backend.service.LLMAnalysisService;
+import com.resumeanalyzer.backend.service.SkillTaxonomyService;
+import com.resumeanalyzer.backend.util.ParsedDocument;
+import com.resumeanalyzer.backend.util.SkillTaxonomy;
+import com.resumeanalyzer.backend.util.SkillVector;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -15,21 +29,17 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class CandidateAnalysisServiceImpl implements CandidateAnalysisService {
+    private static final Logger logger = LoggerFactory.getLogger(CandidateAnalysisServiceImpl.class);
+
     
     private final SkillExtractionService skillExtractionService;
     private final LLMAnalysisService llmAnalysisService;
+    private final SkillTaxonomyService skillTaxonomyService;
+    private final AnalysisCacheService analysisCacheService;
     
-    // Common skill categories and their keywords
-    private static final Map<String, List<String>> SKILL_CATEGORIES = Map.of(
-        "Programming", Arrays.asList("java", "python", "javascript", "c++", "c#", "go", "rust", "php", "ruby", "kotlin", "swift", "typescript"),
-        "Frontend", Arrays.asList("react", "angular", "vue", "html", "css", "sass", "bootstrap", "tailwind", "material-ui", "nextjs"),
-        "Backend", Arrays.asList("spring", "express", "django", "flask", "nodejs", "dotnet", ".net", "laravel", "rails"),
-        "Database", Arrays.asList("mysql", "postgresql", "mongodb", "redis", "elasticsearch", "cassandra", "oracle", "sql server"),
-        "Cloud", Arrays.asList("aws", "azure", "gcp", "docker", "kubernetes", "jenkins", "terraform", "ansible"),
-        "Data Science", Arrays.asList("pandas", "numpy", "scikit-learn", "tensorflow", "pytorch", "spark", "hadoop", "tableau"),
-        "Mobile", Arrays.asList("android", "ios", "react native", "flutter", "xamarin", "ionic", "swift", "kotlin"),
-        "Testing", Arrays.asList("junit", "selenium", "cypress", "jest", "mocha", "pytest", "testng")
-    );
+    // How long an interactive analysis waits for the model before answering with the rule-based result; 0 waits indefinitely
+    @Value("${analysis.latency-budget-ms:4000}")
+    private long latencyBudgetMs;
     
     private static final List<String> EXPERIENCE_KEYWORDS = Arrays.asList(
         "years", "year", "experience", "worked", "developed", "led", "managed", "created", "built", "designed", "implemented"
@@ -53,62 +63,95 @@ public class CandidateAnalysisServiceImpl implements CandidateAnalysisService {
     private static final List<String> EDUCATION_KEYWORDS = Arrays.asList(
         "bachelor", "master", "phd", "degree", "university", "college", "computer science", "engineering", "mba"
     );
+    
+    private static final List<String> STUDENT_INDICATORS = Arrays.asList(
+        "fresher", "recent graduate", "seeking first job", "no experience", "entry level", "pursuing",
+        "student", "final year", "expected graduation", "graduation expected", "currently studying"
+    );
+    
+    private static final List<String> LEADERSHIP_KEYWORDS = Arrays.asList(
+        "led", "managed", "coordinated", "supervised", "mentored", "guided", "directed", "team lead", "project manager"
+    );
+    
+    // Compiled once; these run against every resume
+    private static final Pattern CURRENT_STUDENT_PATTERN = Pattern.compile("(20\\d{2})\\s*[-–]\\s*(202[5-9])", Pattern.CASE_INSENSITIVE);
+    private static final Pattern EDUCATION_DATES_PATTERN = Pattern.compile("(bachelor|master|mca|bca|degree).*?(20\\d{2})\\s*[-–]\\s*(20\\d{2})", Pattern.CASE_INSENSITIVE);
+    private static final Pattern EXPERIENCE_YEARS_PATTERN = Pattern.compile("(\\d+)\\s*\\+?\\s*years?.*?(experience|work)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WORK_DATES_PATTERN = Pattern.compile("(software engineer|software developer|web developer|java developer|python developer|full stack developer|backend developer|frontend developer|analyst|consultant|engineer).*?(20\\d{2})\\s*[-–]\\s*(20\\d{2}|present|current)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern HACKATHON_PATTERN = Pattern.compile("hackathon", Pattern.CASE_INSENSITIVE);
 
     @Override
     public CandidateAnalysisDTO analyzeWithJobDescription(String resumeText, String jdText) {
+        ParsedDocument resume = ParsedDocument.of(resumeText);
+        ParsedDocument jd = ParsedDocument.of(jdText);
+        return analysisCacheService.candidateAnalysis(resume, jd, () -> runAnalysisWithJobDescription(resume, jd, true));
+    }
+
+    @Override
+    public CandidateAnalysisDTO analyzeWithJobDescription(ParsedDocument resume, ParsedDocument jd) {
+        return analysisCacheService.candidateAnalysis(resume, jd, () -> runAnalysisWithJobDescription(resume, jd, false));
+    }
+
+    private CandidateAnalysisDTO runAnalysisWithJobDescription(ParsedDocument resume, ParsedDocument jd, boolean budgeted) {
         System.out.println("CandidateAnalysisService: Starting optimized analysis with JD...");
         long startTime = System.currentTimeMillis();
         
-        // Try LLM Enhanced Analysis with JD if available
-        if (llmAnalysisService.isLLMAvailable()) {
-            try {
-                System.out.println("CandidateAnalysisService: Starting LLM enhanced JD analysis...");
-                CandidateAnalysisDTO llmAnalysis = llmAnalysisService.enhanceAnalysisWithLLM(resumeText, jdText);
-                
-                long endTime = System.currentTimeMillis();
-                System.out.println("CandidateAnalysisService: LLM JD analysis completed in " + (endTime - startTime) + "ms");
-                
-                return llmAnalysis;
-            } catch (Exception e) {
-                System.err.println("LLM JD analysis failed, falling back to rule-based analysis: " + e.getMessage());
-                // Fall through to rule-based analysis
-            }
+        CompletableFuture<CandidateAnalysisDTO> llmAnalysis = startLLMAnalysis(
+            () -> llmAnalysisService.enhanceAnalysisWithLLMAsync(resume.text(), jd.text()));
+        if (llmAnalysis == null) {
+            return ruleBasedAnalysisWithJobDescription(resume, jd, startTime);
         }
         
-        // Fallback to original rule-based analysis
-        // Perform base analysis
-        CandidateAnalysisDTO analysis = analyzeWithoutJobDescription(resumeText);
-        
-        // Extract skills efficiently (reuse from base analysis)
-        List<String> resumeSkills = analysis.getSkills();
-        List<String> jdSkills = skillExtractionService.extractSkills(jdText);
-        
-        // Fast skill matching using sets for O(1) lookup
-        Set<String> jdSkillsSet = jdSkills.stream()
-            .map(String::toLowerCase)
-            .collect(Collectors.toSet());
-        
-        Set<String> resumeSkillsSet = resumeSkills.stream()
-            .map(String::toLowerCase)
-            .collect(Collectors.toSet());
+        // Within a budget the rule-based answer must be ready when the deadline passes, so it is
+        // computed while the model works; otherwise it is only needed if the model fails
+        if (budgeted) {
+            CandidateAnalysisDTO ruleBased = ruleBasedAnalysisWithJobDescription(resume, jd, startTime);
+            return awaitLLMAnalysis(llmAnalysis, startTime, true, () -> ruleBased,
+                late -> analysisCacheService.storeCandidateAnalysis(resume, jd, late));
+        }
+        return awaitLLMAnalysis(llmAnalysis, startTime, false,
+            () -> ruleBasedAnalysisWithJobDescription(resume, jd, startTime), late -> { });
+    }
+
+    @Override
+    public CandidateAnalysisDTO rescoreWithJobDescription(ParsedDocument resume, ParsedDocument jd) {
+        return scoreAgainstJobDescription(resumeProfile(resume), jd);
+    }
+
+    private CandidateAnalysisDTO ruleBasedAnalysisWithJobDescription(ParsedDocument resume, ParsedDocument jd, long startTime) {
+        CandidateAnalysisDTO analysis = scoreAgainstJobDescription(resumeProfile(resume), jd);
         
-        // Calculate matches efficiently
-        List<String> matchedSkills = resumeSkills.stream()
-            .filter(skill -> jdSkillsSet.contains(skill.toLowerCase()) ||
-                           jdSkillsSet.stream().anyMatch(jdSkill -> 
-                               jdSkill.contains(skill.toLowerCase()) || 
-                               skill.toLowerCase().contains(jdSkill)))
-            .collect(Collectors.toList());
-            
-        List<String> missingSkills = jdSkills.stream()
-            .filter(skill -> !resumeSkillsSet.contains(skill.toLowerCase()) &&
-                           !resumeSkillsSet.stream().anyMatch(resumeSkill -> 
-                               resumeSkill.toLowerCase().contains(skill.toLowerCase())))
+        long endTime = System.currentTimeMillis();
+        System.out.println("CandidateAnalysisService: JD analysis completed in " + (endTime - startTime) + "ms");
+        return analysis;
+    }
+
+    /**
+     * The rule-based analysis of the resume alone. It does not depend on any job description, so
+     * it is cached and reused when the same resume is scored against other job descriptions.
+     */
+    private CandidateAnalysisDTO resumeProfile(ParsedDocument resume) {
+        return analysisCacheService.resumeProfile(resume, () -> ruleBasedAnalysis(resume));
+    }
+
+    /**
+     * Adds the job description dependent parts to a resume-only analysis: matched and missing
+     * skills, JD match percentage, the overall score weighted by it, and JD suggestions
+     */
+    private CandidateAnalysisDTO scoreAgainstJobDescription(CandidateAnalysisDTO analysis, ParsedDocument jd) {
+        // Intern both skill sets to ids so matching is a couple of bitwise operations
+        SkillTaxonomy taxonomy = skillTaxonomyService.current();
+        SkillVector resumeSkills = taxonomy.vectorOf(analysis.getSkills());
+        SkillVector jdSkills = skillExtractionService.extractSkillVector(jd, taxonomy);
+        SkillVector matched = resumeSkills.and(jdSkills);
+        
+        List<String> matchedSkills = taxonomy.names(matched);
+        List<String> missingSkills = taxonomy.names(jdSkills.andNot(resumeSkills)).stream()
             .limit(10) // Limit to prevent excessive processing
             .collect(Collectors.toList());
         
         double jdMatchPercentage = jdSkills.isEmpty() ? 0 : 
-            (double) matchedSkills.size() / jdSkills.size() * 100;
+            (double) matched.cardinality() / jdSkills.cardinality() * 100;
         
         // Enhanced overall score with JD consideration
         double jdBonus = jdMatchPercentage / 100 * 0.4; // 40% weight for JD match
@@ -117,9 +160,6 @@ public class CandidateAnalysisServiceImpl implements CandidateAnalysisService {
         // Generate simple JD-specific suggestions
         List<String> jdSuggestions = generateQuickJDSuggestions(matchedSkills, missingSkills);
         
-        long endTime = System.currentTimeMillis();
-        System.out.println("CandidateAnalysisService: JD analysis completed in " + (endTime - startTime) + "ms");
-        
         return analysis.toBuilder()
             .overallScore(Math.min(1.0, enhancedScore))
             .suggestions(jdSuggestions)
@@ -134,27 +174,152 @@ public class CandidateAnalysisServiceImpl implements CandidateAnalysisService {
 
     @Override
     public CandidateAnalysisDTO analyzeWithoutJobDescription(String resumeText) {
+        ParsedDocument resume = ParsedDocument.of(resumeText);
+        return analysisCacheService.candidateAnalysis(resume, null, () -> runAnalysisWithoutJobDescription(resume, true));
+    }
+
+    @Override
+    public CandidateAnalysisDTO analyzeWithoutJobDescription(ParsedDocument resume) {
+        return analysisCacheService.candidateAnalysis(resume, null, () -> runAnalysisWithoutJobDescription(resume, false));
+    }
+
+    private CandidateAnalysisDTO runAnalysisWithoutJobDescription(ParsedDocument resume, boolean budgeted) {
         System.out.println("CandidateAnalysisService: Starting optimized analysis without JD...");
         long startTime = System.currentTimeMillis();
         
-        String cleanText = resumeText.toLowerCase();
+        // The model starts first so the rule-based pass below overlaps with it
+        CompletableFuture<CandidateAnalysisDTO> llmAnalysis = startLLMAnalysis(
+            () -> llmAnalysisService.analyzeResumeWithLLMAsync(resume.text()));
+        CandidateAnalysisDTO ruleBased = resumeProfile(resume);
         
-        // Extract all data in one pass to avoid repeated processing
+        logger.debug("Base analysis completed in {}ms", System.currentTimeMillis() - startTime);
+        
+        if (llmAnalysis == null) {
+            return ruleBased;
+        }
+        return awaitLLMAnalysis(llmAnalysis.thenApply(llm -> mergeWithRuleBased(llm, ruleBased)), startTime, budgeted,
+            () -> ruleBased, late -> analysisCacheService.storeCandidateAnalysis(resume, null, late));
+    }
+
+    /**
+     * Starts an LLM analysis, or returns null when no model is reachable
+     */
+    private CompletableFuture<CandidateAnalysisDTO> startLLMAnalysis(Supplier<CompletableFuture<CandidateAnalysisDTO>> call) {
+        if (!llmAnalysisService.isLLMAvailable()) {
+            return null;
+        }
+        logger.debug("Starting LLM enhanced analysis");
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Waits for the model's analysis and falls back to the rule-based one if it fails. A budgeted
+     * wait also gives up once {@code analysis.latency-budget-ms} has passed since {@code startTime};
+     * the model keeps running, and if it answers later its result goes to {@code storeLate} so the
+     * next request for the same resume gets it.
+     */
+    private CandidateAnalysisDTO awaitLLMAnalysis(CompletableFuture<CandidateAnalysisDTO> llmAnalysis, long startTime, boolean budgeted,
+                                                  Supplier<CandidateAnalysisDTO> fallback, Consumer<CandidateAnalysisDTO> storeLate) {
+        try {
+            CandidateAnalysisDTO result;
+            if (budgeted && latencyBudgetMs > 0) {
+                long remaining = latencyBudgetMs - (System.currentTimeMillis() - startTime);
+                result = llmAnalysis.get(Math.max(0, remaining), TimeUnit.MILLISECONDS);
+            } else {
+                result = llmAnalysis.get();
+            }
+            logger.debug("LLM analysis completed in {}ms", System.currentTimeMillis() - startTime);
+            return result;
+        } catch (TimeoutException e) {
+            logger.info("LLM missed the {}ms budget, returning rule-based analysis", latencyBudgetMs);
+            llmAnalysis.thenAccept(storeLate).exceptionally(error -> {
+                logger.warn("Late LLM analysis failed: {}", error.getMessage());
+                return null;
+            });
+            return asFallback(fallback.get());
+        } catch (ExecutionException e) {
+            logger.warn("LLM analysis failed, falling back to rule-based analysis: {}", e.getCause().getMessage());
+            return asFallback(fallback.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return asFallback(fallback.get());
+        }
+    }
+
+    /**
+     * Marks a rule-based answer served in place of the model's so it is not cached as the result
+     * for this resume; the next request tries the model again
+     */
+    private CandidateAnalysisDTO asFallback(CandidateAnalysisDTO analysis) {
+        return analysis.toBuilder().fallback(true).build();
+    }
+
+    /**
+     * Takes the model's scores and insights, filling any list it left empty from the rule-based pass
+     */
+    private CandidateAnalysisDTO mergeWithRuleBased(CandidateAnalysisDTO llmAnalysis, CandidateAnalysisDTO ruleBased) {
+        return CandidateAnalysisDTO.builder()
+            .candidateName(llmAnalysis.getCandidateName())
+            .overallScore(llmAnalysis.getOverallScore())
+            .skillsScore(llmAnalysis.getSkillsScore())
+            .experienceScore(llmAnalysis.getExperienceScore())
+            .educationScore(llmAnalysis.getEducationScore())
+            .projectsScore(llmAnalysis.getProjectsScore())
+            .skills(llmAnalysis.getSkills() != null && !llmAnalysis.getSkills().isEmpty() ? llmAnalysis.getSkills() : ruleBased.getSkills())
+            .projects(llmAnalysis.getProjects() != null && !llmAnalysis.getProjects().isEmpty() ? llmAnalysis.getProjects() : ruleBased.getProjects())
+            .hackathons(ruleBased.getHackathons())
+            .education(llmAnalysis.getEducation() != null && !llmAnalysis.getEducation().isEmpty() ? llmAnalysis.getEducation() : ruleBased.getEducation())
+            .suggestions(llmAnalysis.getImprovementSuggestions() != null && !llmAnalysis.getImprovementSuggestions().isEmpty() ? llmAnalysis.getImprovementSuggestions() : ruleBased.getSuggestions())
+            .matchedSkills(List.of()) // Initialize empty list since no JD provided
+            .missingSkills(List.of()) // Initialize empty list since no JD provided
+            .suggestedSkills(List.of()) // Initialize empty list since no JD provided
+            .experienceHighlights(List.of("Experience: " + llmAnalysis.getTotalYearsExperience() + " years"))
+            .projectHighlights(llmAnalysis.getProjects() != null && llmAnalysis.getProjects().size() > 3 ? llmAnalysis.getProjects().subList(0, 3) : (llmAnalysis.getProjects() != null ? llmAnalysis.getProjects() : List.of()))
+            .educationHighlights(llmAnalysis.getEducation() != null ? llmAnalysis.getEducation() : List.of())
+            .certificationHighlights(List.of())
+            .totalYearsExperience(llmAnalysis.getTotalYearsExperience())
+            .experienceLevel(llmAnalysis.getExperienceLevel())
+            .keywordMatches(List.of()) // Initialize empty list since no JD provided
+            .jdMatchPercentage(0.0) // No JD provided
+            .skillCategoryScores(Map.of())
+            .skillCategoryCounts(Map.of())
+            .candidateStrength(llmAnalysis.getCandidateStrength() != null && !llmAnalysis.getCandidateStrength().isEmpty() ? llmAnalysis.getCandidateStrength() : ruleBased.getCandidateStrength())
+            .candidateWeakness(llmAnalysis.getCandidateWeakness() != null && !llmAnalysis.getCandidateWeakness().isEmpty() ? llmAnalysis.getCandidateWeakness() : ruleBased.getCandidateWeakness())
+            .improvementSuggestions(llmAnalysis.getImprovementSuggestions() != null && !llmAnalysis.getImprovementSuggestions().isEmpty() ? llmAnalysis.getImprovementSuggestions() : ruleBased.getSuggestions())
+            .resumeTips(List.of())
+            .learningRecommendations(llmAnalysis.getImprovementSuggestions() != null ? llmAnalysis.getImprovementSuggestions() : List.of())
+            .extractedSkills(llmAnalysis.getExtractedSkills())
+            .extractedExperience(llmAnalysis.getExtractedExperience())
+            .extractedProjects(llmAnalysis.getExtractedProjects())
+            .extractedEducation(llmAnalysis.getExtractedEducation())
+            .extractedCertifications("")
+            .hasJD(false)
+            .fitAssessment(llmAnalysis.getFitAssessment())
+            .fallback(llmAnalysis.isFallback())
+            .build();
+    }
+
+    private CandidateAnalysisDTO ruleBasedAnalysis(ParsedDocument resume) {
+        // Every analyzer below reads the same tokenized document instead of re-lowercasing the text
         System.out.println("CandidateAnalysisService: Extracting data...");
-        List<String> skillsList = skillExtractionService.extractSkills(resumeText);
-        int totalYears = extractTotalYearsExperience(resumeText);
-        String experienceLevel = determineExperienceLevel(totalYears, resumeText);
+        List<String> skillsList = skillExtractionService.extractSkills(resume);
+        int totalYears = extractTotalYearsExperience(resume);
+        String experienceLevel = determineExperienceLevel(totalYears, resume);
         
-        // Quick section extraction using simple patterns
-        String skillsSection = extractSimpleSection(resumeText, "skills");
-        String experienceSection = extractSimpleSection(resumeText, "experience");
-        String projectsSection = extractSimpleSection(resumeText, "projects");
-        String educationSection = extractSimpleSection(resumeText, "education");
+        // Section boundaries were found while parsing
+        String skillsSection = resume.section("skills");
+        String experienceSection = resume.section("experience");
+        String projectsSection = resume.section("projects");
+        String educationSection = resume.section("education");
         
         // Calculate scores efficiently
         double skillsScore = calculateQuickSkillsScore(skillsList);
-        double experienceScore = calculateQuickExperienceScore(totalYears, resumeText);
-        double educationScore = calculateQuickEducationScore(cleanText);
+        double experienceScore = calculateQuickExperienceScore(totalYears, resume);
+        double educationScore = calculateQuickEducationScore(resume.lower());
         double projectsScore = calculateQuickProjectsScore(projectsSection);
         
         // Calculate overall score (weighted average)
@@ -163,7 +328,7 @@ public class CandidateAnalysisServiceImpl implements CandidateAnalysisService {
         
         // Extract structured data efficiently
         List<String> projectsList = extractQuickProjects(projectsSection);
-        List<String> hackathonsList = extractQuickHackathons(resumeText);
+        List<String> hackathonsList = extractQuickHackathons(resume);
         List<String> educationList = extractQuickEducation(educationSection);
         
         // Generate basic insights
@@ -171,62 +336,6 @@ public class CandidateAnalysisServiceImpl implements CandidateAnalysisService {
         String weakness = determineQuickWeakness(skillsScore, experienceScore, projectsScore, educationScore);
         List<String> improvements = generateQuickImprovements(skillsScore, experienceScore, projectsScore);
         
-        // Try LLM Enhanced Analysis if available
-        if (llmAnalysisService.isLLMAvailable()) {
-            try {
-                System.out.println("CandidateAnalysisService: Starting LLM enhanced analysis...");
-                CandidateAnalysisDTO llmAnalysis = llmAnalysisService.analyzeResumeWithLLM(resumeText);
-                
-                // Merge LLM insights with rule-based analysis
-                long endTime = System.currentTimeMillis();
-                System.out.println("CandidateAnalysisService: LLM analysis completed in " + (endTime - startTime) + "ms");
-                
-                return CandidateAnalysisDTO.builder()
-                    .overallScore(llmAnalysis.getOverallScore())
-                    .skillsScore(llmAnalysis.getSkillsScore())
-                    .experienceScore(llmAnalysis.getExperienceScore())
-                    .educationScore(llmAnalysis.getEducationScore())
-                    .projectsScore(llmAnalysis.getProjectsScore())
-                    .skills(llmAnalysis.getSkills() != null && !llmAnalysis.getSkills().isEmpty() ? llmAnalysis.getSkills() : skillsList)
-                    .projects(llmAnalysis.getProjects() != null && !llmAnalysis.getProjects().isEmpty() ? llmAnalysis.getProjects() : projectsList)
-                    .hackathons(hackathonsList != null ? hackathonsList : List.of())
-                    .education(llmAnalysis.getEducation() != null && !llmAnalysis.getEducation().isEmpty() ? llmAnalysis.getEducation() : educationList)
-                    .suggestions(llmAnalysis.getImprovementSuggestions() != null && !llmAnalysis.getImprovementSuggestions().isEmpty() ? llmAnalysis.getImprovementSuggestions() : improvements)
-                    .matchedSkills(List.of()) // Initialize empty list since no JD provided
-                    .missingSkills(List.of()) // Initialize empty list since no JD provided
-                    .suggestedSkills(List.of()) // Initialize empty list since no JD provided
-                    .experienceHighlights(List.of("Experience: " + llmAnalysis.getTotalYearsExperience() + " years"))
-                    .projectHighlights(llmAnalysis.getProjects() != null && llmAnalysis.getProjects().size() > 3 ? llmAnalysis.getProjects().subList(0, 3) : (llmAnalysis.getProjects() != null ? llmAnalysis.getProjects() : List.of()))
-                    .educationHighlights(llmAnalysis.getEducation() != null ? llmAnalysis.getEducation() : List.of())
-                    .certificationHighlights(List.of())
-                    .totalYearsExperience(llmAnalysis.getTotalYearsExperience())
-                    .experienceLevel(llmAnalysis.getExperienceLevel())
-                    .keywordMatches(List.of()) // Initialize empty list since no JD provided
-                    .jdMatchPercentage(0.0) // No JD provided
-                    .skillCategoryScores(Map.of())
-                    .skillCategoryCounts(Map.of())
-                    .candidateStrength(llmAnalysis.getCandidateStrength() != null && !llmAnalysis.getCandidateStrength().isEmpty() ? llmAnalysis.getCandidateStrength() : strength)
-                    .candidateWeakness(llmAnalysis.getCandidateWeakness() != null && !llmAnalysis.getCandidateWeakness().isEmpty() ? llmAnalysis.getCandidateWeakness() : weakness)
-                    .improvementSuggestions(llmAnalysis.getImprovementSuggestions() != null && !llmAnalysis.getImprovementSuggestions().isEmpty() ? llmAnalysis.getImprovementSuggestions() : improvements)
-                    .resumeTips(List.of())
-                    .learningRecommendations(llmAnalysis.getImprovementSuggestions() != null ? llmAnalysis.getImprovementSuggestions() : List.of())
-                    .extractedSkills(llmAnalysis.getExtractedSkills())
-                    .extractedExperience(llmAnalysis.getExtractedExperience())
-                    .extractedProjects(llmAnalysis.getExtractedProjects())
-                    .extractedEducation(llmAnalysis.getExtractedEducation())
-                    .extractedCertifications("")
-                    .hasJD(false)
-                    .fitAssessment(llmAnalysis.getFitAssessment())
-                    .build();
-            } catch (Exception e) {
-                System.err.println("LLM analysis failed, falling back to rule-based analysis: " + e.getMessage());
-                // Fall through to rule-based analysis
-            }
-        }
-        
-        long endTime = System.currentTimeMillis();
-        System.out.println("CandidateAnalysisService: Base analysis completed in " + (endTime - startTime) + "ms");
-        
         return CandidateAnalysisDTO.builder()
             .overallScore(overallScore)
             .skillsScore(skillsScore)
@@ -274,7 +383,7 @@ public class CandidateAnalysisServiceImpl implements CandidateAnalysisService {
         double baseScore = Math.min(1.0, skills.size() / 20.0);
         
         // Bonus for diverse skill categories
-        Map<String, Integer> categoryCounts = calculateSkillCategoryCounts(resumeText);
+        Map<String, Integer> categoryCounts = calculateSkillCategoryCounts(skills);
         double diversityBonus = Math.min(0.3, categoryCounts.size() / 8.0 * 0.3);
         
         // Bonus for in-demand skills
@@ -285,16 +394,17 @@ public class CandidateAnalysisServiceImpl implements CandidateAnalysisService {
 
     @Override
     public double calculateExperienceScore(String resumeText) {
-        int totalYears = extractTotalYearsExperience(resumeText);
+        ParsedDocument resume = ParsedDocument.of(resumeText);
+        int totalYears = extractTotalYearsExperience(resume);
         
         // Base score from years (0-1 scale, max at 10+ years)
         double yearsScore = Math.min(1.0, totalYears / 10.0);
         
         // Bonus for leadership indicators
-        double leadershipBonus = containsLeadershipKeywords(resumeText) ? 0.2 : 0;
+        double leadershipBonus = containsLeadershipKeywords(resume) ? 0.2 : 0;
         
         // Bonus for career progression
-        double progressionBonus = hasCareerProgression(resumeText) ? 0.1 : 0;
+        double progressionBonus = hasCareerProgression(resume) ? 0.1 : 0;
         
         return Math.min(1.0, yearsScore + leadershipBonus + progressionBonus);
     }
@@ -348,19 +458,6 @@ public class CandidateAnalysisServiceImpl implements CandidateAnalysisService {
     
     // Optimized helper methods for faster processing
     
-    private String extractSimpleSection(String text, String sectionName) {
-        String lowerText = text.toLowerCase();
-        String lowerSection = sectionName.toLowerCase();
-        
-        int startIndex = lowerText.indexOf(lowerSection);
-        if (startIndex == -1) return "";
-        
-        int endIndex = lowerText.indexOf("\n\n", startIndex);
-        if (endIndex == -1) endIndex = Math.min(startIndex + 500, text.length()); // Limit section size
-        
-        return text.substring(startIndex, endIndex);
-    }
-    
     private double calculateQuickSkillsScore(List<String> skills) {
         if (skills.isEmpty()) return 0.1; // Minimum score for having a resume
         
@@ -402,7 +499,7 @@ public class CandidateAnalysisServiceImpl implements CandidateAnalysisService {
         return Math.min(1.0, baseScore + advancedBonus + stackBonus);
     }
     
-    private double calculateQuickExperienceScore(int totalYears, String resumeText) {
+    private double calculateQuickExperienceScore(int totalYears, ParsedDocument resume) {
         // More differentiated experience scoring
         double yearsScore;
         
@@ -414,7 +511,7 @@ public class CandidateAnalysisServiceImpl implements CandidateAnalysisService {
         else yearsScore = 0.95; // Very senior
         
         // Quick leadership and responsibility check for bonus
-        String lowerText = resumeText.toLowerCase();
+        String lowerText = resume.lower();
         double responsibilityBonus = 0.0;
         
         if (lowerText.contains("architect") || lowerText.contains("principal") || lowerText.contains("director")) {
@@ -515,15 +612,14 @@ public class CandidateAnalysisServiceImpl implements CandidateAnalysisService {
             .collect(Collectors.toList());
     }
     
-    private List<String> extractQuickHackathons(String resumeText) {
-        String lowerText = resumeText.toLowerCase();
+    private List<String> extractQuickHackathons(ParsedDocument resume) {
         List<String> hackathons = new ArrayList<>();
         
         // Quick pattern matching for hackathons
-        if (lowerText.contains("hackathon")) {
-            String[] lines = resumeText.split("\n");
-            for (String line : lines) {
-                if (line.toLowerCase().contains("hackathon") && line.length() > 10 && line.length() < 150) {
+        if (resume.contains("hackathon")) {
+            for (int i = 0; i < resume.lineCount(); i++) {
+                String line = resume.line(i);
+                if (line.length() > 10 && line.length() < 150 && HACKATHON_PATTERN.matcher(line).find()) {
                     hackathons.add(line.trim());
                     if (hackathons.size() >= 5) break; // Limit for performance
                 }
@@ -633,48 +729,33 @@ public class CandidateAnalysisServiceImpl implements CandidateAnalysisService {
         return "";
     }
     
-    private int extractTotalYearsExperience(String resumeText) {
-        String cleanText = resumeText.toLowerCase();
+    private int extractTotalYearsExperience(ParsedDocument resume) {
+        String cleanText = resume.lower();
         
         // STRICT student/fresher detection - return 0 immediately
-        if (cleanText.contains("fresher") || 
-            cleanText.contains("recent graduate") ||
-            cleanText.contains("seeking first job") ||
-            cleanText.contains("no experience") ||
-            cleanText.contains("entry level") ||
-            cleanText.contains("pursuing") ||
-            cleanText.contains("currently pursuing") ||
-            cleanText.contains("student") ||
-            cleanText.contains("final year") ||
-            cleanText.contains("expected graduation") ||
-            cleanText.contains("graduation expected") ||
-            cleanText.contains("currently studying") ||
-            cleanText.contains("pursuing degree") ||
+        // ("currently pursuing", "pursuing degree" are covered by "pursuing")
+        if (resume.containsAny(STUDENT_INDICATORS) ||
             (cleanText.contains("mca") && !cleanText.contains("work") && !cleanText.contains("employ")) ||
             (cleanText.contains("bachelor") && !cleanText.contains("work") && !cleanText.contains("employ"))) {
             return 0;
         }
         
         // Check if this is a current student (future graduation date)
-        Pattern currentStudentPattern = Pattern.compile("(20\\d{2})\\s*[-–]\\s*(202[5-9])", Pattern.CASE_INSENSITIVE);
-        Matcher currentStudentMatcher = currentStudentPattern.matcher(resumeText);
-        if (currentStudentMatcher.find()) {
+        if (CURRENT_STUDENT_PATTERN.matcher(resume.text()).find()) {
             return 0; // Current student with future graduation
         }
         
         // Check for education-only patterns (no work experience)
-        Pattern educationOnlyPattern = Pattern.compile("(bachelor|master|mca|bca|degree).*?(20\\d{2})\\s*[-–]\\s*(20\\d{2})", Pattern.CASE_INSENSITIVE);
-        Matcher educationMatcher = educationOnlyPattern.matcher(resumeText);
-        boolean hasEducationDates = educationMatcher.find();
+        boolean hasEducationDates = EDUCATION_DATES_PATTERN.matcher(resume.text()).find();
+        boolean hasWorkExperience = detectWorkExperience(cleanText);
         
         // If we only see education dates and no work indicators, return 0
-        if (hasEducationDates && !detectWorkExperience(cleanText)) {
+        if (hasEducationDates && !hasWorkExperience) {
             return 0;
         }
         
         // Look for explicit experience years mentioned
-        Pattern yearsPattern = Pattern.compile("(\\d+)\\s*\\+?\\s*years?.*?(experience|work)", Pattern.CASE_INSENSITIVE);
-        Matcher matcher = yearsPattern.matcher(resumeText);
+        Matcher matcher = EXPERIENCE_YEARS_PATTERN.matcher(resume.text());
         int maxYears = 0;
         
         while (matcher.find()) {
@@ -687,16 +768,16 @@ public class CandidateAnalysisServiceImpl implements CandidateAnalysisService {
         }
         
         // Only if we have clear work experience indicators, try to estimate from dates
-        if (maxYears == 0 && detectWorkExperience(cleanText)) {
-            maxYears = estimateYearsFromDates(resumeText);
+        if (maxYears == 0 && hasWorkExperience) {
+            maxYears = estimateYearsFromDates(resume);
         }
         
         return maxYears;
     }
     
-    private int estimateYearsFromDates(String resumeText) {
+    private int estimateYearsFromDates(ParsedDocument resume) {
         // Very strict: Only count date ranges that are DEFINITELY work-related
-        String lowerText = resumeText.toLowerCase();
+        String lowerText = resume.lower();
         
         // First, exclude if this looks like education-only resume
         if ((lowerText.contains("mca") || lowerText.contains("bachelor") || lowerText.contains("master")) &&
@@ -705,8 +786,7 @@ public class CandidateAnalysisServiceImpl implements CandidateAnalysisService {
         }
         
         // Look for work-specific date patterns with job titles
-        Pattern strictWorkPattern = Pattern.compile("(software engineer|software developer|web developer|java developer|python developer|full stack developer|backend developer|frontend developer|analyst|consultant|engineer).*?(20\\d{2})\\s*[-–]\\s*(20\\d{2}|present|current)", Pattern.CASE_INSENSITIVE);
-        Matcher matcher = strictWorkPattern.matcher(resumeText);
+        Matcher matcher = WORK_DATES_PATTERN.matcher(resume.text());
         int totalYears = 0;
         
         while (matcher.find()) {
@@ -732,8 +812,8 @@ public class CandidateAnalysisServiceImpl implements CandidateAnalysisService {
         return totalYears;
     }
     
-    private String determineExperienceLevel(int totalYears, String resumeText) {
-        String cleanText = resumeText.toLowerCase();
+    private String determineExperienceLevel(int totalYears, ParsedDocument resume) {
+        String cleanText = resume.lower();
         
         // Enhanced work experience detection
         boolean hasWorkExperience = detectWorkExperience(cleanText);
@@ -927,66 +1007,38 @@ public class CandidateAnalysisServiceImpl implements CandidateAnalysisService {
             .collect(Collectors.toList());
     }
     
-    private Map<String, Double> calculateSkillCategoryScores(String resumeText) {
-        Map<String, Double> scores = new HashMap<>();
-        List<String> allSkills = skillExtractionService.extractSkills(resumeText);
-        
-        for (Map.Entry<String, List<String>> category : SKILL_CATEGORIES.entrySet()) {
-            long matchCount = allSkills.stream()
-                .mapToLong(skill -> category.getValue().stream()
-                    .mapToLong(catSkill -> skill.toLowerCase().contains(catSkill.toLowerCase()) ? 1 : 0)
-                    .sum())
-                .sum();
-            
-            double score = Math.min(1.0, (double) matchCount / category.getValue().size());
-            scores.put(category.getKey(), score);
-        }
-        
-        return scores;
-    }
-    
-    private Map<String, Integer> calculateSkillCategoryCounts(String resumeText) {
+    private Map<String, Integer> calculateSkillCategoryCounts(List<String> skills) {
+        SkillTaxonomy taxonomy = skillTaxonomyService.current();
         Map<String, Integer> counts = new HashMap<>();
-        List<String> allSkills = skillExtractionService.extractSkills(resumeText);
-        
-        for (Map.Entry<String, List<String>> category : SKILL_CATEGORIES.entrySet()) {
-            int count = (int) allSkills.stream()
-                .mapToLong(skill -> category.getValue().stream()
-                    .mapToLong(catSkill -> skill.toLowerCase().contains(catSkill.toLowerCase()) ? 1 : 0)
-                    .sum())
-                .sum();
-            
-            counts.put(category.getKey(), count);
+        
+        for (String skill : skills) {
+            String category = taxonomy.categoryOf(skill);
+            if (category != null) {
+                counts.merge(category, 1, Integer::sum);
+            }
         }
         
         return counts;
     }
     
     private double calculateInDemandSkillsBonus(List<String> skills) {
-        List<String> inDemandSkills = Arrays.asList("react", "python", "aws", "kubernetes", "microservices", 
-            "machine learning", "ai", "blockchain", "typescript", "graphql");
+        // In-demand skills carry a weight above the default in the taxonomy
+        SkillTaxonomy taxonomy = skillTaxonomyService.current();
         
         long matchCount = skills.stream()
-            .mapToLong(skill -> inDemandSkills.stream()
-                .mapToLong(demand -> skill.toLowerCase().contains(demand.toLowerCase()) ? 1 : 0)
-                .sum())
-            .sum();
+            .mapToInt(taxonomy::idOf)
+            .filter(id -> id >= 0 && taxonomy.weight(id) > 1.0)
+            .count();
         
         return Math.min(0.2, matchCount / 10.0 * 0.2);
     }
     
-    private boolean containsLeadershipKeywords(String resumeText) {
-        List<String> leadershipKeywords = Arrays.asList("led", "managed", "coordinated", "supervised", 
-            "mentored", "guided", "directed", "team lead", "project manager");
-        
-        return leadershipKeywords.stream()
-            .anyMatch(keyword -> resumeText.toLowerCase().contains(keyword));
+    private boolean containsLeadershipKeywords(ParsedDocument resume) {
+        return resume.containsAny(LEADERSHIP_KEYWORDS);
     }
     
-    private boolean hasCareerProgression(String resumeText) {
-        return SENIOR_INDICATORS.stream()
-            .anyMatch(indicator -> resumeText.toLowerCase().contains(indicator)) &&
-            resumeText.toLowerCase().contains("promoted");
+    private boolean hasCareerProgression(ParsedDocument resume) {
+        return resume.contains("promoted") && resume.containsAny(SENIOR_INDICATORS);
     }
     
     private boolean hasComplexityIndicators(String projectsSection) {
@@ -0,0 +1,152 @@
+package com.resumeanalyzer.backend.service.impl;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.FontFactory;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.PdfWriter;
+import com.resumeanalyzer.backend.entity.LeaderboardEntry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Renders candidate report PDFs, one at a time or many into a ZIP.
+ *
+ * Reports are rendered from a {@link ReportData} snapshot, so rendering needs no persistence
+ * context and can run on any thread. A ZIP is rendered on a fixed pool with only a small window of
+ * reports in flight per download: each finished PDF is written to the response in rank order and
+ * dropped, so memory does not grow with the number of reports. When the pool's queue is full the
+ * downloading thread renders the report itself.
+ */
+@Component
+public class CandidateReportPdfRenderer {
+    private static final Logger logger = LoggerFactory.getLogger(CandidateReportPdfRenderer.class);
+
+    // Built once; fonts are looked up and their metrics loaded only on first use
+    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18);
+    private static final Font BODY_FONT = FontFactory.getFont(FontFactory.HELVETICA, 12);
+
+    /**
+     * Everything a report shows, copied out of the entry while it is attached
+     */
+    public record ReportData(Long entryId, Integer rankPosition, String candidateName, Double matchScore,
+                             String skills, String experience, String projects, String hackathons, String jobTitle) {
+
+        public static ReportData of(LeaderboardEntry entry, String jobTitle) {
+            return new ReportData(entry.getId(), entry.getRankPosition(), entry.getCandidateName(), entry.getMatchScore(),
+                entry.getSkills(), entry.getExperience(), entry.getProjects(), entry.getHackathons(), jobTitle);
+        }
+    }
+
+    @Value("${report-export.pool-size:4}")
+    private int poolSize;
+
+    @Value("${report-export.queue-capacity:32}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor pool;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        pool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "report-renderer-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public byte[] render(ReportData report) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(4096);
+        Document document = new Document();
+        try {
+            PdfWriter.getInstance(document, baos);
+            document.open();
+            document.add(new Paragraph("Candidate Report", TITLE_FONT));
+            document.add(new Paragraph("Candidate Name: " + report.candidateName(), BODY_FONT));
+            document.add(new Paragraph("Match Score: " + (report.matchScore() != null ? String.format("%.2f", report.matchScore() * 100) + "%" : "N/A"), BODY_FONT));
+            document.add(new Paragraph("Skills: " + report.skills(), BODY_FONT));
+            document.add(new Paragraph("Experience: " + report.experience(), BODY_FONT));
+            document.add(new Paragraph("Projects: " + report.projects(), BODY_FONT));
+            document.add(new Paragraph("Hackathons: " + report.hackathons(), BODY_FONT));
+            if (report.jobTitle() != null) {
+                document.add(new Paragraph("\nJob Description: " + report.jobTitle(), BODY_FONT));
+            }
+            document.close();
+        } catch (DocumentException e) {
+            throw new RuntimeException("Failed to generate PDF", e);
+        }
+        return baos.toByteArray();
+    }
+
+    /**
+     * Renders the reports in parallel and writes them to the stream as a ZIP, in list order. The
+     * stream is finished but not closed.
+     */
+    public void writeZip(List<ReportData> reports, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        // iText already compresses page content; deflating it again gains little
+        zip.setLevel(Deflater.BEST_SPEED);
+        int window = poolSize * 2;
+        Deque<Future<byte[]>> inFlight = new ArrayDeque<>(window);
+        int next = 0;
+        try {
+            for (int written = 0; written < reports.size(); written++) {
+                while (next < reports.size() && inFlight.size() < window) {
+                    ReportData report = reports.get(next++);
+                    inFlight.add(pool.submit(() -> render(report)));
+                }
+                byte[] pdf = inFlight.poll().get();
+                zip.putNextEntry(new ZipEntry(entryName(reports.get(written))));
+                zip.write(pdf);
+                zip.closeEntry();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Report export interrupted");
+        } catch (ExecutionException e) {
+            logger.warn("Report rendering failed: {}", e.getCause().getMessage());
+            throw new RuntimeException("Failed to generate PDF", e.getCause());
+        } finally {
+            // Reports not needed any more, e.g. after the client went away
+            inFlight.forEach(future -> future.cancel(true));
+        }
+        zip.finish();
+    }
+
+    private static String entryName(ReportData report) {
+        String name = report.candidateName() != null ? report.candidateName().replaceAll("[^A-Za-z0-9._-]+", "_") : "candidate";
+        String rank = report.rankPosition() != null ? String.format("%03d_", report.rankPosition()) : "";
+        return rank + name + "_" + report.entryId() + ".pdf";
+    }
+}
@@ -0,0 +1,348 @@
+package com.resumeanalyzer.backend.service.impl;
+
+import com.resumeanalyzer.backend.dto.CandidateMatchDTO;
+import com.resumeanalyzer.backend.entity.JobDescription;
+import com.resumeanalyzer.backend.entity.Resume;
+import com.resumeanalyzer.backend.entity.User;
+import com.resumeanalyzer.backend.repository.JobDescriptionRepository;
+import com.resumeanalyzer.backend.repository.ResumeRepository;
+import com.resumeanalyzer.backend.service.CandidateSearchService;
+import com.resumeanalyzer.backend.service.DocumentContentService;
+import com.resumeanalyzer.backend.service.ResumeDeletedEvent;
+import com.resumeanalyzer.backend.service.ResumeSavedEvent;
+import com.resumeanalyzer.backend.service.SkillTaxonomyReloadedEvent;
+import com.resumeanalyzer.backend.service.SkillTaxonomyService;
+import com.resumeanalyzer.backend.util.InvertedIndex;
+import com.resumeanalyzer.backend.util.ParsedDocument;
+import com.resumeanalyzer.backend.util.SkillTaxonomy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the stored resumes of a recruiter that best match a job description, across all of the
+ * recruiter's uploads.
+ *
+ * Each recruiter's resumes are held in their own in-memory {@link InvertedIndex}: one posting
+ * list per taxonomy skill, weighted by how often the resume mentions it, and one per word of the
+ * resume's skills section that the taxonomy does not know. A job description queries its skills by
+ * taxonomy weight and its rarest indexed words by IDF, and the recruiter's index returns the top
+ * matches with WAND; other recruiters' resumes are never visited, so pruning works over the
+ * caller's documents only. Only resumes uploaded by recruiters are indexed; job seekers' resumes
+ * are private to them.
+ *
+ * The indexes are built in the background once the application is up and again whenever the skill
+ * taxonomy changes, since skill ids change with it; queries keep using the previous ones until the
+ * new ones are complete. Saved and deleted resumes are applied after their transaction commits, so
+ * a rolled-back upload is never indexed. A resume deleted while a rebuild is reading it may still
+ * be added back; search results are read back from the database, and such leftovers are dropped
+ * from the index when a query runs into them.
+ */
+@Service
+@RequiredArgsConstructor
+public class CandidateSearchServiceImpl implements CandidateSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(CandidateSearchServiceImpl.class);
+
+    private static final String SKILL = "s:";
+    private static final String TERM = "t:";
+    // Below this many resumes every word is rare enough to query
+    private static final int COMMON_WORD_MIN_DOCUMENTS = 10;
+
+    private final ResumeRepository resumeRepository;
+    private final JobDescriptionRepository jobDescriptionRepository;
+    private final DocumentContentService documentContentService;
+    private final SkillTaxonomyService skillTaxonomyService;
+
+    @Value("${candidate-search.max-results:100}")
+    private int maxResults;
+
+    @Value("${candidate-search.build-page-size:500}")
+    private int buildPageSize;
+
+    // Words weigh less than skills; their weight is this times their IDF
+    @Value("${candidate-search.term-weight:0.3}")
+    private float termWeight;
+
+    @Value("${candidate-search.max-query-terms:20}")
+    private int maxQueryTerms;
+
+    /**
+     * The index of every recruiter together with the taxonomy their skill ids belong to; null
+     * taxonomy until first built
+     */
+    private record Snapshot(Map<Long, InvertedIndex> indexes, SkillTaxonomy taxonomy) {
+
+        Snapshot(SkillTaxonomy taxonomy) {
+            this(new ConcurrentHashMap<>(), taxonomy);
+        }
+
+        InvertedIndex indexOf(Long ownerId) {
+            return indexes.computeIfAbsent(ownerId, id -> new InvertedIndex());
+        }
+    }
+
+    private volatile Snapshot current = new Snapshot(null);
+    private volatile Snapshot building;
+    private volatile long lastBuildMs = -1;
+    private final Object rebuildLock = new Object();
+    // Owner of every indexed resume, to find its index on delete
+    private final Map<Integer, Long> owners = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildInBackground();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onResumeSaved(ResumeSavedEvent event) {
+        index(event.resume());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onResumeDeleted(ResumeDeletedEvent event) {
+        remove(event.resume().getId());
+    }
+
+    @EventListener
+    public void onTaxonomyReloaded(SkillTaxonomyReloadedEvent event) {
+        logger.info("Skill taxonomy changed to {}, rebuilding candidate search index", event.taxonomy().version());
+        rebuildInBackground();
+    }
+
+    @Override
+    public List<CandidateMatchDTO> findCandidates(Long jobDescriptionId, int limit, User recruiter) {
+        JobDescription jd = jobDescriptionRepository.findById(jobDescriptionId)
+                .orElseThrow(() -> new RuntimeException("Job description not found"));
+        if (jd.getUser() == null || !jd.getUser().getId().equals(recruiter.getId())) {
+            throw new RuntimeException("Access denied: Job description does not belong to this recruiter");
+        }
+        Snapshot snapshot = current;
+        if (snapshot.taxonomy() == null) {
+            throw new RuntimeException("Candidate search is still being prepared, please try again shortly");
+        }
+
+        InvertedIndex index = snapshot.indexes().get(recruiter.getId());
+        if (index == null) {
+            return List.of();
+        }
+        ParsedDocument jdDocument = ParsedDocument.of(documentContentService.jobDescriptionText(jd));
+        Map<String, Float> query = query(jdDocument, snapshot.taxonomy(), index);
+        int k = Math.max(1, Math.min(limit, maxResults));
+        List<InvertedIndex.Hit> hits = index.topK(query, k);
+        Map<Long, Resume> resumes = loadResumes(hits);
+        if (resumes.size() < hits.size()) {
+            // Resumes deleted while a rebuild was reading them; drop them so they stop taking slots
+            for (InvertedIndex.Hit hit : hits) {
+                if (!resumes.containsKey((long) hit.docId())) {
+                    index.remove(hit.docId());
+                }
+            }
+            hits = index.topK(query, k);
+            resumes = loadResumes(hits);
+        }
+
+        List<CandidateMatchDTO> matches = new ArrayList<>(hits.size());
+        for (InvertedIndex.Hit hit : hits) {
+            Resume resume = resumes.get((long) hit.docId());
+            if (resume == null) {
+                continue;
+            }
+            List<String> matchedSkills = new ArrayList<>();
+            for (String term : index.terms(hit.docId())) {
+                if (term.startsWith(SKILL) && query.containsKey(term)) {
+                    matchedSkills.add(snapshot.taxonomy().name(Integer.parseInt(term.substring(SKILL.length()))));
+                }
+            }
+            matchedSkills.sort(String.CASE_INSENSITIVE_ORDER);
+            matches.add(CandidateMatchDTO.builder()
+                    .resumeId(resume.getId())
+                    .fileName(resume.getFileName())
+                    .uploadDate(resume.getUploadDate())
+                    .score(hit.score())
+                    .matchedSkills(matchedSkills)
+                    .build());
+        }
+        return matches;
+    }
+
+    @Override
+    public void index(Resume resume) {
+        if (resume.getUser() == null || resume.getUser().getRole() != User.Role.RECRUITER) {
+            return;
+        }
+        try {
+            // A rebuild in progress may already have passed this resume. Read before current: if
+            // the rebuild swaps in between, current is then that same snapshot
+            Snapshot next = building;
+            Snapshot snapshot = current;
+            if (snapshot.taxonomy() != null) {
+                add(snapshot, resume);
+            }
+            if (next != null && next != snapshot) {
+                add(next, resume);
+            }
+        } catch (RuntimeException e) {
+            // Search is secondary to the upload itself
+            logger.warn("Could not index resume {}: {}", resume.getId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void remove(Long resumeId) {
+        int docId = Math.toIntExact(resumeId);
+        Long ownerId = owners.remove(docId);
+        if (ownerId == null) {
+            return;
+        }
+        Snapshot next = building;
+        Snapshot snapshot = current;
+        for (Snapshot each : new Snapshot[] { snapshot, next }) {
+            InvertedIndex index = each != null ? each.indexes().get(ownerId) : null;
+            if (index != null) {
+                index.remove(docId);
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Snapshot snapshot = current;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", snapshot.taxonomy() != null);
+        stats.put("rebuilding", building != null);
+        stats.put("taxonomyVersion", snapshot.taxonomy() != null ? snapshot.taxonomy().version() : null);
+        stats.put("recruiters", snapshot.indexes().size());
+        stats.put("documents", snapshot.indexes().values().stream().mapToInt(InvertedIndex::documentCount).sum());
+        stats.put("postingLists", snapshot.indexes().values().stream().mapToInt(InvertedIndex::termCount).sum());
+        stats.put("lastBuildMs", lastBuildMs);
+        return stats;
+    }
+
+    private void rebuildInBackground() {
+        Thread.ofPlatform().daemon().name("candidate-index-build").start(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                logger.error("Candidate search index build failed: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    private void rebuild() {
+        synchronized (rebuildLock) {
+            long startTime = System.currentTimeMillis();
+            Snapshot next = new Snapshot(skillTaxonomyService.current());
+            building = next;
+            try {
+                long afterId = 0;
+                while (true) {
+                    List<Resume> page = resumeRepository.findByUserRoleAfterId(User.Role.RECRUITER, afterId,
+                            PageRequest.of(0, buildPageSize));
+                    if (page.isEmpty()) {
+                        break;
+                    }
+                    for (Resume resume : page) {
+                        try {
+                            add(next, resume);
+                        } catch (RuntimeException e) {
+                            logger.warn("Could not index resume {}: {}", resume.getId(), e.getMessage());
+                        }
+                        afterId = resume.getId();
+                    }
+                }
+                current = next;
+            } finally {
+                building = null;
+            }
+            lastBuildMs = System.currentTimeMillis() - startTime;
+            logger.info("Candidate search index built: {} resumes of {} recruiters in {}ms",
+                    next.indexes().values().stream().mapToInt(InvertedIndex::documentCount).sum(),
+                    next.indexes().size(), lastBuildMs);
+        }
+    }
+
+    private void add(Snapshot snapshot, Resume resume) {
+        String text = documentContentService.resumeText(resume);
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        Map<String, Float> terms = resumeTerms(ParsedDocument.of(text), snapshot.taxonomy());
+        if (terms.isEmpty()) {
+            return;
+        }
+        int docId = Math.toIntExact(resume.getId());
+        Long ownerId = resume.getUser().getId();
+        owners.put(docId, ownerId);
+        snapshot.indexOf(ownerId).add(docId, terms);
+    }
+
+    private Map<Long, Resume> loadResumes(List<InvertedIndex.Hit> hits) {
+        return resumeRepository.findAllById(hits.stream().map(hit -> (long) hit.docId()).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Resume::getId, Function.identity()));
+    }
+
+    private static Map<String, Float> resumeTerms(ParsedDocument resume, SkillTaxonomy taxonomy) {
+        int[] mentions = new int[taxonomy.size()];
+        taxonomy.match(resume.normalized(), (skillId, start, end) -> mentions[skillId]++);
+        Map<String, Float> terms = new HashMap<>();
+        for (int skillId = 0; skillId < mentions.length; skillId++) {
+            if (mentions[skillId] > 0) {
+                terms.put(SKILL + skillId, (float) (1 + Math.log(mentions[skillId])));
+            }
+        }
+        // Tools and libraries listed by the candidate that the taxonomy does not cover
+        String skillsSection = resume.section("skills");
+        if (!skillsSection.isEmpty()) {
+            for (String word : ParsedDocument.of(skillsSection).terms()) {
+                if (!taxonomy.isSkill(word)) {
+                    terms.put(TERM + word, 1f);
+                }
+            }
+        }
+        return terms;
+    }
+
+    private Map<String, Float> query(ParsedDocument jd, SkillTaxonomy taxonomy, InvertedIndex index) {
+        Map<String, Float> query = new HashMap<>();
+        taxonomy.match(jd.normalized(), (skillId, start, end) -> query.put(SKILL + skillId, (float) taxonomy.weight(skillId)));
+
+        // The rarest of the job description's words that the recruiter's candidates listed; once
+        // there are enough resumes to tell, words most of them list say little and only slow the
+        // query down
+        int documents = Math.max(1, index.documentCount());
+        boolean skipCommon = documents >= COMMON_WORD_MIN_DOCUMENTS;
+        Map<String, Float> words = new HashMap<>();
+        for (String word : jd.terms()) {
+            if (taxonomy.isSkill(word)) {
+                continue;
+            }
+            int frequency = index.documentFrequency(TERM + word);
+            if (frequency > 0 && (!skipCommon || frequency <= documents / 2)) {
+                words.put(TERM + word, (float) (termWeight * Math.log(1 + (double) documents / frequency)));
+            }
+        }
+        words.entrySet().stream()
+                .sorted(Map.Entry.<String, Float>comparingByValue(Comparator.reverseOrder()))
+                .limit(maxQueryTerms)
+                .forEach(word -> query.put(word.getKey(), word.getValue()));
+        return query;
+    }
+}
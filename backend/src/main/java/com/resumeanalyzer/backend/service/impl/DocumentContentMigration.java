@@ -0,0 +1,76 @@
+package com.resumeanalyzer.backend.service.impl;
+
+import com.resumeanalyzer.backend.service.DocumentContentService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves texts stored inline by earlier versions (resumes.parsed_text, job_descriptions.text)
+ * into document_contents, a chunk of rows at a time, and clears the old column. Hibernate's schema
+ * update adds the new content_id columns but leaves the old ones as they were, NOT NULL included,
+ * so they are made nullable first. Runs once the application is up; rows not yet moved are read
+ * from the old column meanwhile. The emptied columns can be dropped by hand afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class DocumentContentMigration {
+    private static final Logger logger = LoggerFactory.getLogger(DocumentContentMigration.class);
+
+    private static final int CHUNK_SIZE = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DocumentContentService documentContentService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        migrate("resumes", "parsed_text");
+        migrate("job_descriptions", "text");
+    }
+
+    private void migrate(String table, String column) {
+        try {
+            List<String> nullable = jdbcTemplate.queryForList(
+                "SELECT is_nullable FROM information_schema.columns "
+                    + "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?",
+                String.class, table, column);
+            if (nullable.isEmpty()) {
+                return;
+            }
+            if ("NO".equalsIgnoreCase(nullable.get(0))) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " MODIFY " + column + " LONGTEXT NULL");
+            }
+
+            int moved = 0;
+            while (true) {
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, " + column + " AS content FROM " + table
+                        + " WHERE content_id IS NULL AND " + column + " IS NOT NULL LIMIT " + CHUNK_SIZE);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                List<Object[]> updates = new ArrayList<>(rows.size());
+                for (Map<String, Object> row : rows) {
+                    Long contentId = documentContentService.store((String) row.get("content"));
+                    updates.add(new Object[] { contentId, row.get("id") });
+                }
+                jdbcTemplate.batchUpdate("UPDATE " + table + " SET content_id = ?, " + column + " = NULL WHERE id = ?", updates);
+                moved += rows.size();
+            }
+            if (moved > 0) {
+                logger.info("Moved {} texts from {}.{} to document_contents", moved, table, column);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Could not move texts from {}.{}: {}", table, column, e.getMessage());
+        }
+    }
+}
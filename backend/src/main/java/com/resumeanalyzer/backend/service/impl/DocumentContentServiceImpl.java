@@ -0,0 +1,193 @@
+package com.resumeanalyzer.backend.service.impl;
+
+import com.resumeanalyzer.backend.entity.DocumentContent;
+import com.resumeanalyzer.backend.entity.JobDescription;
+import com.resumeanalyzer.backend.entity.Resume;
+import com.resumeanalyzer.backend.repository.DocumentContentRepository;
+import com.resumeanalyzer.backend.service.DocumentContentService;
+import com.resumeanalyzer.backend.util.ContentHash;
+import com.resumeanalyzer.backend.util.TtlLruCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores document texts in the document_contents table, one row per distinct text. Texts above a
+ * small size are gzip-compressed, which typically shrinks resume text to a third. Recently used
+ * texts are kept decompressed in memory, since an upload reads the same text in several stages.
+ *
+ * Rows written before the text moved out keep it in their own column until the startup migration
+ * has copied it over; until then it is read from there.
+ *
+ * A row is deleted when the last resume or job description using it is. Rows handed out by
+ * {@link #store} within the last few minutes are kept, since the upload that asked for one may
+ * not have committed its reference yet.
+ */
+@Service
+@RequiredArgsConstructor
+public class DocumentContentServiceImpl implements DocumentContentService {
+    private static final Logger logger = LoggerFactory.getLogger(DocumentContentServiceImpl.class);
+    private static final long RELEASE_GRACE_MINUTES = 10;
+
+    private final DocumentContentRepository documentContentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${document-content.compress:true}")
+    private boolean compress;
+
+    @Value("${document-content.compress-min-chars:1024}")
+    private int compressMinChars;
+
+    @Value("${document-content.cache-max-entries:256}")
+    private int cacheMaxEntries;
+
+    @Value("${document-content.cache-ttl-minutes:30}")
+    private long cacheTtlMinutes;
+
+    private TtlLruCache<Long, String> texts;
+    private TransactionTemplate ownTransaction;
+
+    @PostConstruct
+    public void init() {
+        texts = new TtlLruCache<>(cacheMaxEntries, cacheTtlMinutes, TimeUnit.MINUTES);
+        // Content rows are immutable and shared, so they are committed on their own; a duplicate-key
+        // failure then cannot mark the caller's transaction for rollback
+        ownTransaction = new TransactionTemplate(transactionManager);
+        ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public Long store(String text) {
+        String value = text != null ? text : "";
+        String hash = ContentHash.sha256(value);
+        Optional<Long> existing = documentContentRepository.findIdByTextHash(hash);
+        if (existing.isPresent()) {
+            // Keeps a concurrent release() from deleting the row before the caller refers to it
+            ownTransaction.execute(status -> documentContentRepository.touch(existing.get(), LocalDateTime.now()));
+            return existing.get();
+        }
+
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        byte[] data = utf8;
+        boolean compressed = false;
+        if (compress && value.length() >= compressMinChars) {
+            byte[] gzipped = gzip(utf8);
+            if (gzipped.length < utf8.length) {
+                data = gzipped;
+                compressed = true;
+            }
+        }
+
+        DocumentContent content = DocumentContent.builder()
+                .textHash(hash)
+                .data(data)
+                .compressed(compressed)
+                .textLength(value.length())
+                .build();
+        Long id;
+        try {
+            id = ownTransaction.execute(status -> documentContentRepository.saveAndFlush(content).getId());
+        } catch (DataIntegrityViolationException e) {
+            // The same text was stored concurrently; read it outside the caller's snapshot
+            return ownTransaction.execute(status -> documentContentRepository.findIdByTextHash(hash))
+                    .orElseThrow(() -> e);
+        }
+        texts.put(id, value);
+        return id;
+    }
+
+    @Override
+    @Transactional
+    public void release(Long contentId) {
+        if (contentId == null) {
+            return;
+        }
+        LocalDateTime storedBefore = LocalDateTime.now().minusMinutes(RELEASE_GRACE_MINUTES);
+        if (documentContentRepository.deleteIfUnreferenced(contentId, storedBefore) > 0) {
+            texts.invalidate(contentId);
+            logger.debug("Deleted document content {}, no longer referenced", contentId);
+        }
+    }
+
+    @Override
+    public String getText(Long contentId) {
+        if (contentId == null) {
+            return null;
+        }
+        String text = texts.get(contentId);
+        if (text != null) {
+            return text;
+        }
+        DocumentContent content = documentContentRepository.findById(contentId)
+                .orElseThrow(() -> new RuntimeException("Document content not found"));
+        text = content.isCompressed() ? gunzip(content.getData()) : new String(content.getData(), StandardCharsets.UTF_8);
+        texts.put(contentId, text);
+        return text;
+    }
+
+    @Override
+    public String resumeText(Resume resume) {
+        if (resume.getContentId() != null) {
+            return getText(resume.getContentId());
+        }
+        return legacyText("SELECT parsed_text FROM resumes WHERE id = ?", resume.getId());
+    }
+
+    @Override
+    public String jobDescriptionText(JobDescription jobDescription) {
+        if (jobDescription.getContentId() != null) {
+            return getText(jobDescription.getContentId());
+        }
+        return legacyText("SELECT text FROM job_descriptions WHERE id = ?", jobDescription.getId());
+    }
+
+    private String legacyText(String sql, Long id) {
+        try {
+            return jdbcTemplate.query(sql, rs -> rs.next() ? rs.getString(1) : null, id);
+        } catch (DataAccessException e) {
+            // The old column has been dropped
+            logger.warn("No text stored for row {}: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String gunzip(byte[] data) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
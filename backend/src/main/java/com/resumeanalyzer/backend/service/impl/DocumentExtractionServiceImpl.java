@@ -0,0 +1,174 @@
+package com.resumeanalyzer.backend.service.impl;
+
+import com.resumeanalyzer.backend.service.DocumentExtractionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.exception.WriteLimitReachedException;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.sax.BodyContentHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Text extraction for every uploaded resume and job description.
+ *
+ * Parsing runs on a fixed pool of parser threads with a bounded queue, so a burst of uploads
+ * cannot run more parses at once than the pool allows; when the queue is full new documents are
+ * refused instead of piling up. Files over the size limit are refused before parsing. The text is
+ * streamed into a content handler that stops the parse once the character limit is reached, so a
+ * huge document never has to be held in memory. A parse that runs past the timeout is abandoned
+ * and its thread interrupted; parsers that ignore the interrupt keep that thread busy until they
+ * finish, which holds back later documents but never adds threads.
+ */
+@Service
+@RequiredArgsConstructor
+public class DocumentExtractionServiceImpl implements DocumentExtractionService {
+    private static final Logger logger = LoggerFactory.getLogger(DocumentExtractionServiceImpl.class);
+
+    // Same default as Tika.parseToString, which the upload paths used before
+    @Value("${document-extraction.max-chars:100000}")
+    private int maxChars;
+
+    @Value("${document-extraction.max-file-bytes:20971520}")
+    private long maxFileBytes;
+
+    @Value("${document-extraction.timeout-ms:20000}")
+    private long timeoutMs;
+
+    @Value("${document-extraction.pool-size:4}")
+    private int poolSize;
+
+    @Value("${document-extraction.queue-capacity:100}")
+    private int queueCapacity;
+
+    // Stateless and thread-safe; detecting the available parsers is costly, so it is done once
+    private final Parser parser = new AutoDetectParser();
+
+    private ThreadPoolExecutor pool;
+
+    private final AtomicLong extracted = new AtomicLong();
+    private final AtomicLong truncated = new AtomicLong();
+    private final AtomicLong tooLarge = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        pool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "document-parser-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public String extractText(Path file) {
+        long size;
+        try {
+            size = Files.size(file);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read document " + file.getFileName(), e);
+        }
+        if (maxFileBytes > 0 && size > maxFileBytes) {
+            tooLarge.incrementAndGet();
+            throw new RuntimeException("Document is too large to parse: " + size + " bytes (limit " + maxFileBytes + ")");
+        }
+
+        Future<String> parse;
+        try {
+            parse = pool.submit(() -> parse(file));
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new RuntimeException("Too many documents are being parsed, please try again shortly");
+        }
+
+        try {
+            return parse.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            parse.cancel(true);
+            timedOut.incrementAndGet();
+            logger.warn("Parsing {} ({} bytes) timed out after {} ms", file.getFileName(), size, timeoutMs);
+            throw new RuntimeException("Parsing " + file.getFileName() + " timed out after " + timeoutMs + "ms");
+        } catch (ExecutionException e) {
+            failed.incrementAndGet();
+            throw new RuntimeException("Failed to parse document " + file.getFileName(), e.getCause());
+        } catch (InterruptedException e) {
+            parse.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while parsing document " + file.getFileName());
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxChars", maxChars);
+        stats.put("maxFileBytes", maxFileBytes);
+        stats.put("timeoutMs", timeoutMs);
+        stats.put("poolSize", poolSize);
+        stats.put("active", pool.getActiveCount());
+        stats.put("queued", pool.getQueue().size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("extracted", extracted.get());
+        stats.put("truncated", truncated.get());
+        stats.put("tooLarge", tooLarge.get());
+        stats.put("rejected", rejected.get());
+        stats.put("timedOut", timedOut.get());
+        stats.put("failed", failed.get());
+        return stats;
+    }
+
+    private String parse(Path file) throws IOException, TikaException, SAXException {
+        BodyContentHandler handler = new BodyContentHandler(maxChars > 0 ? maxChars : -1);
+        Metadata metadata = new Metadata();
+        ParseContext context = new ParseContext();
+        // Lets embedded documents (attachments, images with text) be parsed as well, like Tika.parseToString
+        context.set(Parser.class, parser);
+        try (InputStream stream = TikaInputStream.get(file, metadata)) {
+            parser.parse(stream, handler, metadata, context);
+        } catch (SAXException e) {
+            // The handler throws once the limit is reached; what it collected up to then is kept
+            if (!WriteLimitReachedException.isWriteLimitReached(e)) {
+                throw e;
+            }
+            truncated.incrementAndGet();
+        }
+        extracted.incrementAndGet();
+        return handler.toString();
+    }
+}
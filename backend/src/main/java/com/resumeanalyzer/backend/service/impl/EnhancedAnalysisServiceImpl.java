@@ -6,6 +6,9 @@ import com.resumeanalyzer.backend.dto.AnalysisResponse;
 import com.resumeanalyzer.backend.entity.*;
 import com.resumeanalyzer.backend.repository.*;
 import com.resumeanalyzer.backend.service.*;
+import com.resumeanalyzer.backend.util.ParsedDocument;
+import com.resumeanalyzer.backend.util.SkillTaxonomy;
+import com.resumeanalyzer.backend.util.SkillVector;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
@@ -37,7 +40,11 @@ public class EnhancedAnalysisServiceImpl implements EnhancedAnalysisService {
     private final JobDescriptionRepository jobDescriptionRepository;
     private final AnalysisRepository analysisRepository;
     private final SkillExtractionService skillExtractionService;
+    private final SkillTaxonomyService skillTaxonomyService;
+    private final AnalysisCacheService analysisCacheService;
+    private final DocumentContentService documentContentService;
     private final RestTemplate restTemplate;
+    private final ModelCallLimiter modelCallLimiter;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Override
@@ -49,6 +56,39 @@ public class EnhancedAnalysisServiceImpl implements EnhancedAnalysisService {
         Resume resume = resumeRepository.findById(resumeId).orElseThrow();
         JobDescription jd = jobDescriptionRepository.findById(jdId).orElseThrow();
         
+        // Scores depend only on the two texts, so re-running the same pair is served from the cache
+        ParsedDocument resumeDoc = ParsedDocument.of(documentContentService.resumeText(resume));
+        ParsedDocument jdDoc = ParsedDocument.of(documentContentService.jobDescriptionText(jd));
+        AnalysisResponse scored = analysisCacheService.detailedAnalysis(resumeDoc, jdDoc,
+            () -> scoreAgainstJobDescription(resumeId, jdId, jd, resumeDoc, jdDoc));
+        
+        // Calculate duration
+        LocalDateTime endTime = LocalDateTime.now();
+        long durationMs = ChronoUnit.MILLIS.between(startTime, endTime);
+        String analysisDuration = durationMs + "ms";
+        
+        logger.info("Completed detailed analysis for resume ID: {} and JD ID: {} in {}ms ({} seconds)", 
+                   resumeId, jdId, durationMs, String.format("%.2f", durationMs / 1000.0));
+        
+        // Save analysis; every run is recorded in the user's history, cached or not
+        Analysis analysis = saveAnalysis(user, resume, jd, scored.getOverallMatchScore(),
+                                       new LinkedHashSet<>(scored.getMatchedSkills()),
+                                       new LinkedHashSet<>(scored.getMissingSkills()),
+                                       String.join("; ", scored.getImprovementSuggestions()),
+                                       scored.getResumeTips(), scored.getLearningRecommendations());
+        
+        return scored.toBuilder()
+                .id(analysis.getId())
+                .resumeId(resumeId)
+                .jobDescriptionId(jdId)
+                .resumeFileName(resume.getFileName())
+                .analyzedAt(LocalDateTime.now())
+                .analysisDuration(analysisDuration)
+                .build();
+    }
+    
+    private AnalysisResponse scoreAgainstJobDescription(Long resumeId, Long jdId, JobDescription jd,
+                                                        ParsedDocument resumeDoc, ParsedDocument jdDoc) {
         // Simulate processing time for proper deep analysis (5-10 seconds for demonstration)
         // In production, this would be the actual time taken by Hugging Face API calls
         try {
@@ -59,20 +99,22 @@ public class EnhancedAnalysisServiceImpl implements EnhancedAnalysisService {
             Thread.currentThread().interrupt();
         }
         
-        // Extract skills
-        List<String> resumeSkills = skillExtractionService.extractSkills(resume.getParsedText());
-        List<String> jdSkills = skillExtractionService.extractSkills(jd.getText());
+        // Extract skills as id vectors against one taxonomy snapshot
+        SkillTaxonomy taxonomy = skillTaxonomyService.current();
+        SkillVector resumeSkillVector = skillExtractionService.extractSkillVector(resumeDoc, taxonomy);
+        SkillVector jdSkillVector = skillExtractionService.extractSkillVector(jdDoc, taxonomy);
+        SkillVector matchedSkillVector = resumeSkillVector.and(jdSkillVector);
+        List<String> resumeSkills = taxonomy.names(resumeSkillVector);
+        List<String> jdSkills = taxonomy.names(jdSkillVector);
         
         // Calculate matches
-        Set<String> matchedSkills = new HashSet<>(resumeSkills);
-        matchedSkills.retainAll(jdSkills);
-        
-        Set<String> missingSkills = new HashSet<>(jdSkills);
-        missingSkills.removeAll(resumeSkills);
+        Set<String> matchedSkills = new LinkedHashSet<>(taxonomy.names(matchedSkillVector));
+        Set<String> missingSkills = new LinkedHashSet<>(taxonomy.names(jdSkillVector.andNot(resumeSkillVector)));
         
         // Calculate scores
-        double overallMatchScore = skillExtractionService.computeSimilarity(resume.getParsedText(), jd.getText());
-        double skillMatchScore = calculateSkillMatchScore(resumeSkills, jdSkills);
+        double overallMatchScore = skillExtractionService.computeSimilarity(resumeDoc, jdDoc);
+        double skillMatchScore = jdSkillVector.isEmpty() ? 0.0 :
+            (double) matchedSkillVector.cardinality() / jdSkillVector.cardinality();
         
         // Enhanced scoring logic with better weighting
         double finalScore;
@@ -108,7 +150,7 @@ public class EnhancedAnalysisServiceImpl implements EnhancedAnalysisService {
         
         // Generate suggestions
         List<String> improvementSuggestions = generateImprovementSuggestions(new ArrayList<>(missingSkills), finalScore);
-        String jobTitle = jd.getTitle() != null ? jd.getTitle() : extractJobTitle(jd.getText());
+        String jobTitle = jd.getTitle() != null ? jd.getTitle() : extractJobTitle(jdDoc.text());
         List<String> resumeTips = generateResumeTips(finalScore, missingSkills.size(), new ArrayList<>(missingSkills), jobTitle);
         List<String> learningRecommendations = generateLearningRecommendations(new ArrayList<>(missingSkills));
         
@@ -119,25 +161,8 @@ public class EnhancedAnalysisServiceImpl implements EnhancedAnalysisService {
         // Determine match level
         String matchLevel = determineMatchLevel(matchPercentage);
         
-        // Calculate duration
-        LocalDateTime endTime = LocalDateTime.now();
-        long durationMs = ChronoUnit.MILLIS.between(startTime, endTime);
-        String analysisDuration = durationMs + "ms";
-        
-        logger.info("Completed detailed analysis for resume ID: {} and JD ID: {} in {}ms ({} seconds)", 
-                   resumeId, jdId, durationMs, String.format("%.2f", durationMs / 1000.0));
-        
-        // Save analysis
-        Analysis analysis = saveAnalysis(user, resume, jd, finalScore, matchedSkills, missingSkills, 
-                                       String.join("; ", improvementSuggestions),
-                                       resumeTips, learningRecommendations);
-        
         return AnalysisResponse.builder()
-                .id(analysis.getId())
-                .resumeId(resumeId)
-                .jobDescriptionId(jdId)
-                .resumeFileName(resume.getFileName())
-                .jobTitle(extractJobTitle(jd.getText()))
+                .jobTitle(extractJobTitle(jdDoc.text()))
                 .overallMatchScore(finalScore)
                 .matchPercentage(matchPercentage)
                 .matchLevel(matchLevel)
@@ -151,8 +176,6 @@ public class EnhancedAnalysisServiceImpl implements EnhancedAnalysisService {
                 .improvementSuggestions(improvementSuggestions)
                 .resumeTips(resumeTips)
                 .learningRecommendations(learningRecommendations)
-                .analyzedAt(LocalDateTime.now())
-                .analysisDuration(analysisDuration)
                 .build();
     }
 
@@ -174,7 +197,7 @@ public class EnhancedAnalysisServiceImpl implements EnhancedAnalysisService {
                     .resumeId(analysis.getResume().getId())
                     .jobDescriptionId(analysis.getJobDescription().getId())
                     .resumeFileName(analysis.getResume().getFileName())
-                    .jobTitle(extractJobTitle(analysis.getJobDescription().getText()))
+                    .jobTitle(extractJobTitle(documentContentService.jobDescriptionText(analysis.getJobDescription())))
                     .overallMatchScore(analysis.getMatchScore())
                     .matchPercentage((int) Math.round(analysis.getMatchScore() * 100))
                     .matchLevel(determineMatchLevel((int) Math.round(analysis.getMatchScore() * 100)))
@@ -292,29 +315,16 @@ public class EnhancedAnalysisServiceImpl implements EnhancedAnalysisService {
     }
 
     private List<AnalysisResponse.SkillCategory> categorizeSkills(List<String> resumeSkills, List<String> jdSkills) {
-        Map<String, List<String>> categories = Map.of(
-            "Programming Languages", Arrays.asList("Java", "Python", "JavaScript", "TypeScript", "C++", "C#", "PHP", "Ruby", "Go", "Rust", "Swift", "Kotlin", "Scala"),
-            "Frameworks & Libraries", Arrays.asList("Spring Boot", "Django", "React", "Angular", "Vue.js", "Node.js", "Express.js", "Flask", "ASP.NET", "Laravel"),
-            "Databases", Arrays.asList("MySQL", "PostgreSQL", "MongoDB", "Redis", "Oracle", "SQL Server", "SQLite", "Cassandra", "DynamoDB"),
-            "Cloud & DevOps", Arrays.asList("AWS", "Azure", "Google Cloud", "Docker", "Kubernetes", "Jenkins", "GitLab", "GitHub", "CI/CD", "Terraform"),
-            "Tools & Technologies", Arrays.asList("Git", "Maven", "Gradle", "npm", "yarn", "Webpack", "Babel", "Jest", "JUnit", "Selenium", "Postman", "Swagger")
-        );
+        SkillTaxonomy taxonomy = skillTaxonomyService.current();
+        Map<String, List<String>> jdSkillsByCategory = groupByCategory(jdSkills, taxonomy);
+        Map<String, List<String>> resumeSkillsByCategory = groupByCategory(resumeSkills, taxonomy);
         
         List<AnalysisResponse.SkillCategory> skillCategories = new ArrayList<>();
         
-        for (Map.Entry<String, List<String>> entry : categories.entrySet()) {
+        for (Map.Entry<String, List<String>> entry : jdSkillsByCategory.entrySet()) {
             String categoryName = entry.getKey();
-            List<String> categorySkills = entry.getValue();
-            
-            List<String> relevantJDSkills = jdSkills.stream()
-                    .filter(skill -> categorySkills.stream().anyMatch(catSkill -> 
-                        skill.toLowerCase().contains(catSkill.toLowerCase())))
-                    .collect(Collectors.toList());
-            
-            List<String> relevantResumeSkills = resumeSkills.stream()
-                    .filter(skill -> categorySkills.stream().anyMatch(catSkill -> 
-                        skill.toLowerCase().contains(catSkill.toLowerCase())))
-                    .collect(Collectors.toList());
+            List<String> relevantJDSkills = entry.getValue();
+            List<String> relevantResumeSkills = resumeSkillsByCategory.getOrDefault(categoryName, List.of());
             
             if (!relevantJDSkills.isEmpty()) {
                 Set<String> matched = new HashSet<>(relevantResumeSkills);
@@ -340,6 +350,17 @@ public class EnhancedAnalysisServiceImpl implements EnhancedAnalysisService {
         return skillCategories;
     }
 
+    private Map<String, List<String>> groupByCategory(List<String> skills, SkillTaxonomy taxonomy) {
+        Map<String, List<String>> skillsByCategory = new LinkedHashMap<>();
+        for (String skill : skills) {
+            String category = taxonomy.categoryOf(skill);
+            if (category != null) {
+                skillsByCategory.computeIfAbsent(category, k -> new ArrayList<>()).add(skill);
+            }
+        }
+        return skillsByCategory;
+    }
+
     private Map<String, Double> calculateCategoryScores(List<AnalysisResponse.SkillCategory> skillCategories) {
         return skillCategories.stream()
                 .collect(Collectors.toMap(
@@ -360,19 +381,8 @@ public class EnhancedAnalysisServiceImpl implements EnhancedAnalysisService {
     }
 
     private String determineSkillCategory(String skill) {
-        String lowerSkill = skill.toLowerCase();
-        
-        if (lowerSkill.matches(".*(java|python|javascript|typescript|c\\+\\+|c#|php|ruby|go|rust|swift|kotlin|scala).*")) {
-            return "Programming Languages";
-        } else if (lowerSkill.matches(".*(spring|django|react|angular|vue|node|express|flask|asp|laravel).*")) {
-            return "Frameworks";
-        } else if (lowerSkill.matches(".*(mysql|postgresql|mongodb|redis|oracle|sql|dynamodb).*")) {
-            return "Databases";
-        } else if (lowerSkill.matches(".*(aws|azure|google cloud|docker|kubernetes|jenkins|gitlab|github).*")) {
-            return "Cloud Platforms";
-        } else {
-            return "Tools";
-        }
+        String category = skillTaxonomyService.current().categoryOf(skill);
+        return category != null ? category : "Tools";
     }
 
     private String determineMatchLevel(int matchPercentage) {
@@ -630,7 +640,9 @@ public class EnhancedAnalysisServiceImpl implements EnhancedAnalysisService {
             HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
             
             logger.info("Sending request to Hugging Face API: {}", apiUrl);
-            ResponseEntity<Object[]> response = restTemplate.postForEntity(apiUrl, entity, Object[].class);
+            ResponseEntity<Object[]> response = modelCallLimiter.call(ModelCallLimiter.HUGGING_FACE,
+                    ModelCallLimiter.estimateTokens(prompt.toString()) + 500,
+                    () -> restTemplate.postForEntity(apiUrl, entity, Object[].class));
             logger.info("Received response from Hugging Face API - Status: {}, Body length: {}", 
                        response.getStatusCode(), response.getBody() != null ? response.getBody().length : 0);
             
@@ -1,6 +1,12 @@
 package com.resumeanalyzer.backend.service.impl;
 
 import com.resumeanalyzer.backend.service.SkillExtractionService;
+import com.resumeanalyzer.backend.service.SkillTaxonomyService;
+import com.resumeanalyzer.backend.util.AhoCorasickMatcher;
+import com.resumeanalyzer.backend.util.ParsedDocument;
+import com.resumeanalyzer.backend.util.SkillTaxonomy;
+import com.resumeanalyzer.backend.util.SkillVector;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
@@ -12,101 +18,10 @@ import java.util.stream.Collectors;
 
 @Service
 @Primary
+@RequiredArgsConstructor
 public class FastSkillExtractionServiceImpl implements SkillExtractionService {
     private static final Logger logger = LoggerFactory.getLogger(FastSkillExtractionServiceImpl.class);
     
-    // Comprehensive skill database organized by categories
-    private static final Set<String> PROGRAMMING_LANGUAGES = Set.of(
-        "java", "python", "javascript", "typescript", "c++", "c#", "c", "go", "rust", "php", "ruby", 
-        "kotlin", "swift", "scala", "r", "matlab", "perl", "shell", "bash", "powershell", "vba",
-        "objective-c", "dart", "groovy", "lua", "haskell", "erlang", "clojure", "f#", "cobol", "fortran"
-    );
-    
-    private static final Set<String> FRAMEWORKS_LIBRARIES = Set.of(
-        "react", "angular", "vue", "svelte", "express", "flask", "django", "spring", "spring boot",
-        "nodejs", "node.js", "laravel", "symfony", "codeigniter", "rails", "ruby on rails", "asp.net",
-        ".net", "dotnet", "hibernate", "mybatis", "jpa", "entity framework", "sequelize", "mongoose",
-        "redux", "mobx", "rxjs", "jquery", "bootstrap", "tailwind", "material-ui", "ant design",
-        "electron", "react native", "flutter", "xamarin", "ionic", "cordova", "phonegap"
-    );
-    
-    private static final Set<String> DATABASES = Set.of(
-        "mysql", "postgresql", "mongodb", "redis", "elasticsearch", "cassandra", "oracle", "sql server",
-        "sqlite", "mariadb", "dynamodb", "firestore", "couchdb", "neo4j", "influxdb", "clickhouse",
-        "hbase", "bigquery", "snowflake", "redshift", "athena", "aurora", "cosmos db"
-    );
-    
-    private static final Set<String> CLOUD_TECHNOLOGIES = Set.of(
-        "aws", "azure", "gcp", "google cloud", "docker", "kubernetes", "jenkins", "terraform", "ansible",
-        "chef", "puppet", "vagrant", "openshift", "heroku", "netlify", "vercel", "cloudflare",
-        "s3", "ec2", "lambda", "api gateway", "cloudformation", "cloud functions", "app engine",
-        "cloud storage", "cloud sql", "iam", "vpc", "load balancer", "cdn", "route 53"
-    );
-    
-    private static final Set<String> DATA_SCIENCE_ML = Set.of(
-        "pandas", "numpy", "scikit-learn", "tensorflow", "pytorch", "keras", "opencv", "nltk",
-        "spacy", "matplotlib", "seaborn", "plotly", "jupyter", "anaconda", "spark", "hadoop",
-        "kafka", "airflow", "dask", "xgboost", "lightgbm", "catboost", "tableau", "power bi",
-        "qlik", "looker", "r studio", "sas", "spss", "stata", "machine learning", "deep learning",
-        "neural networks", "nlp", "computer vision", "data mining", "big data", "etl"
-    );
-    
-    private static final Set<String> MOBILE_TECHNOLOGIES = Set.of(
-        "android", "ios", "react native", "flutter", "xamarin", "ionic", "cordova", "phonegap",
-        "swift", "objective-c", "kotlin", "java android", "android studio", "xcode", "firebase",
-        "core data", "realm", "sqlite mobile", "push notifications", "in-app purchases"
-    );
-    
-    private static final Set<String> TESTING_TOOLS = Set.of(
-        "junit", "testng", "mockito", "selenium", "cypress", "jest", "mocha", "chai", "jasmine",
-        "karma", "protractor", "cucumber", "postman", "insomnia", "swagger", "rest assured",
-        "pytest", "unittest", "robot framework", "jmeter", "loadrunner", "gatling", "k6"
-    );
-    
-    private static final Set<String> DEVOPS_TOOLS = Set.of(
-        "git", "github", "gitlab", "bitbucket", "svn", "mercurial", "jenkins", "bamboo", "teamcity",
-        "azure devops", "circleci", "travis ci", "github actions", "docker", "podman", "kubernetes",
-        "helm", "istio", "prometheus", "grafana", "elk stack", "splunk", "datadog", "new relic"
-    );
-    
-    private static final Set<String> DESIGN_TOOLS = Set.of(
-        "photoshop", "illustrator", "sketch", "figma", "adobe xd", "invision", "zeplin", "principle",
-        "framer", "after effects", "premiere pro", "canva", "gimp", "inkscape", "blender", "maya",
-        "3ds max", "autocad", "solidworks", "ui/ux", "user experience", "user interface", "wireframing",
-        "prototyping", "responsive design", "accessibility", "usability testing"
-    );
-    
-    private static final Set<String> PROJECT_MANAGEMENT = Set.of(
-        "jira", "confluence", "trello", "asana", "monday.com", "notion", "slack", "microsoft teams",
-        "zoom", "agile", "scrum", "kanban", "waterfall", "lean", "six sigma", "pmp", "prince2",
-        "project management", "product management", "stakeholder management", "risk management"
-    );
-    
-    private static final Set<String> SECURITY_TOOLS = Set.of(
-        "owasp", "burp suite", "metasploit", "nmap", "wireshark", "kali linux", "penetration testing",
-        "vulnerability assessment", "security audit", "encryption", "ssl/tls", "oauth", "jwt",
-        "saml", "ldap", "active directory", "iam", "firewall", "intrusion detection", "siem"
-    );
-    
-    // Combined skill set for fast lookup
-    private static final Set<String> ALL_SKILLS;
-    
-    static {
-        Set<String> allSkills = new HashSet<>();
-        allSkills.addAll(PROGRAMMING_LANGUAGES);
-        allSkills.addAll(FRAMEWORKS_LIBRARIES);
-        allSkills.addAll(DATABASES);
-        allSkills.addAll(CLOUD_TECHNOLOGIES);
-        allSkills.addAll(DATA_SCIENCE_ML);
-        allSkills.addAll(MOBILE_TECHNOLOGIES);
-        allSkills.addAll(TESTING_TOOLS);
-        allSkills.addAll(DEVOPS_TOOLS);
-        allSkills.addAll(DESIGN_TOOLS);
-        allSkills.addAll(PROJECT_MANAGEMENT);
-        allSkills.addAll(SECURITY_TOOLS);
-        ALL_SKILLS = Collections.unmodifiableSet(allSkills);
-    }
-    
     // Common words to exclude
     private static final Set<String> COMMON_WORDS = Set.of(
         "the", "and", "or", "but", "in", "on", "at", "to", "for", "of", "with", "by",
@@ -121,8 +36,19 @@ public class FastSkillExtractionServiceImpl implements SkillExtractionService {
         "used", "including", "include", "such", "as", "well", "also", "various", "multiple"
     );
     
+    // Important professional terms
+    private static final Set<String> PROFESSIONAL_TERMS = Set.of(
+        "experience", "project", "development", "management", "leadership", 
+        "engineering", "architect", "senior", "junior", "lead", "team",
+        "agile", "scrum", "devops", "fullstack", "frontend", "backend",
+        "software", "application", "system", "platform", "infrastructure",
+        "design", "implementation", "optimization", "performance", "security"
+    );
+    
     private static final Pattern WORD_PATTERN = Pattern.compile("\\b\\w+\\b");
     private static final Pattern MULTI_WORD_PATTERN = Pattern.compile("\\b\\w+(?:\\s+\\w+){1,3}\\b");
+    
+    private final SkillTaxonomyService skillTaxonomyService;
 
     @Override
     public List<String> extractSkills(String text) {
@@ -133,25 +59,8 @@ public class FastSkillExtractionServiceImpl implements SkillExtractionService {
             return Collections.emptyList();
         }
         
-        String normalizedText = text.toLowerCase();
-        Set<String> extractedSkills = new HashSet<>();
-        
-        // Extract multi-word skills first (e.g., "spring boot", "react native")
-        extractedSkills.addAll(extractMultiWordSkills(normalizedText));
-        
-        // Extract single-word skills
-        extractedSkills.addAll(extractSingleWordSkills(normalizedText));
-        
-        // Extract version-specific skills (e.g., "Java 8", "Python 3.9")
-        extractedSkills.addAll(extractVersionedSkills(normalizedText));
-        
-        // Extract abbreviated skills (e.g., "JS" for JavaScript, "CSS3")
-        extractedSkills.addAll(extractAbbreviatedSkills(normalizedText));
-        
-        List<String> result = extractedSkills.stream()
-            .filter(skill -> skill.length() > 1)
-            .sorted()
-            .collect(Collectors.toList());
+        SkillTaxonomy taxonomy = skillTaxonomyService.current();
+        List<String> result = taxonomy.names(extractSkillVector(text, taxonomy));
         
         long endTime = System.currentTimeMillis();
         logger.debug("Fast skill extraction completed in {}ms, found {} skills", (endTime - startTime), result.size());
@@ -159,129 +68,63 @@ public class FastSkillExtractionServiceImpl implements SkillExtractionService {
         return result;
     }
     
-    private Set<String> extractMultiWordSkills(String text) {
-        Set<String> skills = new HashSet<>();
-        
-        // Look for exact multi-word matches
-        for (String skill : ALL_SKILLS) {
-            if (skill.contains(" ") && text.contains(skill)) {
-                skills.add(formatSkillName(skill));
-            }
-        }
-        
-        return skills;
-    }
-    
-    private Set<String> extractSingleWordSkills(String text) {
-        Set<String> skills = new HashSet<>();
-        
-        String[] words = text.split("\\s+");
-        for (String word : words) {
-            String cleanWord = cleanWord(word);
-            if (ALL_SKILLS.contains(cleanWord)) {
-                skills.add(formatSkillName(cleanWord));
-            }
+    @Override
+    public List<String> extractSkills(ParsedDocument document) {
+        if (document.isBlank()) {
+            return Collections.emptyList();
         }
-        
-        return skills;
+        SkillTaxonomy taxonomy = skillTaxonomyService.current();
+        return taxonomy.names(document.skills(taxonomy));
     }
     
-    private Set<String> extractVersionedSkills(String text) {
-        Set<String> skills = new HashSet<>();
-        
-        // Pattern for versioned technologies (e.g., "Java 8", "Python 3.9", "Angular 12")
-        Pattern versionPattern = Pattern.compile("\\b(\\w+)\\s+\\d+(?:\\.\\d+)*\\b");
-        java.util.regex.Matcher matcher = versionPattern.matcher(text);
-        
-        while (matcher.find()) {
-            String baseSkill = matcher.group(1).toLowerCase();
-            if (ALL_SKILLS.contains(baseSkill)) {
-                skills.add(formatSkillName(baseSkill));
-            }
-        }
-        
-        return skills;
+    @Override
+    public SkillVector extractSkillVector(ParsedDocument document, SkillTaxonomy taxonomy) {
+        // Memoized on the document, so the resume is matched once per taxonomy version
+        return document.skills(taxonomy);
     }
     
-    private Set<String> extractAbbreviatedSkills(String text) {
-        Set<String> skills = new HashSet<>();
-        
-        // Common abbreviations mapping
-        Map<String, String> abbreviations = Map.of(
-            "js", "javascript",
-            "ts", "typescript",
-            "css3", "css",
-            "html5", "html",
-            "db", "database",
-            "api", "api",
-            "ui", "user interface",
-            "ux", "user experience"
-        );
-        
-        for (Map.Entry<String, String> entry : abbreviations.entrySet()) {
-            if (text.contains(entry.getKey())) {
-                skills.add(formatSkillName(entry.getValue()));
-            }
+    @Override
+    public SkillVector extractSkillVector(String text, SkillTaxonomy taxonomy) {
+        if (text == null || text.isBlank()) {
+            return SkillVector.empty();
         }
-        
-        return skills;
-    }
-    
-    private String cleanWord(String word) {
-        return word.replaceAll("[^a-zA-Z]", "").toLowerCase();
+        // Single pass over the text; versioned mentions ("Java 8", "Python3") and
+        // aliases ("JS", "HTML5") resolve to their canonical skill id
+        return taxonomy.extract(AhoCorasickMatcher.normalize(text));
     }
     
-    private String formatSkillName(String skill) {
-        // Capitalize first letter of each word
-        return Arrays.stream(skill.split("\\s+"))
-            .map(word -> word.substring(0, 1).toUpperCase() + word.substring(1).toLowerCase())
-            .collect(Collectors.joining(" "));
-    }
-
     @Override
     public double computeSimilarity(String text1, String text2) {
         // Enhanced similarity computation for resume-JD matching
         if (text1 == null || text2 == null) {
             return 0.0;
         }
-        
-        // Normalize and clean text
-        String cleanText1 = text1.toLowerCase().replaceAll("[^a-zA-Z0-9\\s]", " ");
-        String cleanText2 = text2.toLowerCase().replaceAll("[^a-zA-Z0-9\\s]", " ");
-        
-        Set<String> words1 = Arrays.stream(cleanText1.split("\\s+"))
-            .filter(word -> word.length() > 2 && !COMMON_WORDS.contains(word))
-            .collect(Collectors.toSet());
-            
-        Set<String> words2 = Arrays.stream(cleanText2.split("\\s+"))
-            .filter(word -> word.length() > 2 && !COMMON_WORDS.contains(word))
-            .collect(Collectors.toSet());
+        return computeSimilarity(ParsedDocument.of(text1), ParsedDocument.of(text2));
+    }
+    
+    @Override
+    public double computeSimilarity(ParsedDocument document1, ParsedDocument document2) {
+        // Term sets come from the documents' single tokenization pass
+        Set<String> words1 = significantTerms(document1);
+        Set<String> words2 = significantTerms(document2);
         
         // Standard Jaccard similarity
         Set<String> intersection = new HashSet<>(words1);
         intersection.retainAll(words2);
         
-        Set<String> union = new HashSet<>(words1);
-        union.addAll(words2);
-        
-        double jaccardSimilarity = union.isEmpty() ? 0.0 : (double) intersection.size() / union.size();
+        int unionSize = words1.size() + words2.size() - intersection.size();
+        double jaccardSimilarity = unionSize == 0 ? 0.0 : (double) intersection.size() / unionSize;
         
         // Enhanced scoring for resume-JD matching
+        SkillTaxonomy taxonomy = skillTaxonomyService.current();
         // Check for important matching terms that indicate strong fit
         long importantMatches = intersection.stream()
-            .mapToLong(word -> {
-                // Give higher weight to technical terms, skills, and industry keywords
-                if (isImportantTerm(word)) return 3;
-                if (word.length() > 6) return 2; // Longer words are often more specific/important
-                return 1;
-            }).sum();
+            .mapToLong(word -> termWeight(word, taxonomy))
+            .sum();
             
         long totalImportantTerms = words2.stream()
-            .mapToLong(word -> {
-                if (isImportantTerm(word)) return 3;
-                if (word.length() > 6) return 2;
-                return 1;
-            }).sum();
+            .mapToLong(word -> termWeight(word, taxonomy))
+            .sum();
             
         double weightedSimilarity = totalImportantTerms > 0 ? (double) importantMatches / totalImportantTerms : 0.0;
         
@@ -291,34 +134,35 @@ public class FastSkillExtractionServiceImpl implements SkillExtractionService {
         return Math.min(finalSimilarity, 0.9); // Cap at 90% to ensure skill match has more impact
     }
     
-    private boolean isImportantTerm(String word) {
+    private Set<String> significantTerms(ParsedDocument document) {
+        return document.terms().stream()
+            .filter(word -> !COMMON_WORDS.contains(word))
+            .collect(Collectors.toSet());
+    }
+    
+    private long termWeight(String word, SkillTaxonomy taxonomy) {
+        // Give higher weight to technical terms, skills, and industry keywords
+        if (isImportantTerm(word, taxonomy)) return 3;
+        if (word.length() > 6) return 2; // Longer words are often more specific/important
+        return 1;
+    }
+    
+    private boolean isImportantTerm(String word, SkillTaxonomy taxonomy) {
         // Check if word is an important technical or professional term
         String lowerWord = word.toLowerCase();
         
-        // Programming languages and frameworks
-        if (PROGRAMMING_LANGUAGES.contains(lowerWord) || 
-            FRAMEWORKS_LIBRARIES.contains(lowerWord) || 
-            DATABASES.contains(lowerWord) || 
-            CLOUD_TECHNOLOGIES.contains(lowerWord) || 
-            DATA_SCIENCE_ML.contains(lowerWord)) {
+        // Any skill or alias known to the taxonomy
+        if (taxonomy.isSkill(lowerWord)) {
             return true;
         }
         
-        // Important professional terms
-        Set<String> professionalTerms = Set.of(
-            "experience", "project", "development", "management", "leadership", 
-            "engineering", "architect", "senior", "junior", "lead", "team",
-            "agile", "scrum", "devops", "fullstack", "frontend", "backend",
-            "software", "application", "system", "platform", "infrastructure",
-            "design", "implementation", "optimization", "performance", "security"
-        );
-        
-        return professionalTerms.contains(lowerWord) || lowerWord.length() > 8;
+        return PROFESSIONAL_TERMS.contains(lowerWord) || lowerWord.length() > 8;
     }
 
     @Override
     public void testAPI() {
-        logger.info("Fast skill extraction service - no external API required");
+        logger.info("Fast skill extraction service - no external API required, taxonomy {}",
+            skillTaxonomyService.current().version());
         
         // Test with sample text
         String testText = "I have experience with Java, Spring Boot, React, and AWS. I've worked on machine learning projects using Python and TensorFlow.";
@@ -3,9 +3,10 @@ package com.resumeanalyzer.backend.service.impl;
 import com.resumeanalyzer.backend.entity.JobDescription;
 import com.resumeanalyzer.backend.entity.User;
 import com.resumeanalyzer.backend.repository.JobDescriptionRepository;
+import com.resumeanalyzer.backend.service.DocumentContentService;
+import com.resumeanalyzer.backend.service.DocumentExtractionService;
 import com.resumeanalyzer.backend.service.JobDescriptionService;
 import lombok.RequiredArgsConstructor;
-import org.apache.tika.Tika;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -18,14 +19,15 @@ import java.nio.file.Paths;
 @RequiredArgsConstructor
 public class JobDescriptionServiceImpl implements JobDescriptionService {
     private final JobDescriptionRepository jobDescriptionRepository;
-    private final Tika tika = new Tika();
+    private final DocumentExtractionService documentExtractionService;
+    private final DocumentContentService documentContentService;
     private static final String JD_UPLOAD_DIR = "jd_uploads";
 
     @Override
     public JobDescription uploadJDText(String text, User user) {
         JobDescription jd = JobDescription.builder()
                 .user(user)
-                .text(text)
+                .contentId(documentContentService.store(text))
                 .build();
         return jobDescriptionRepository.save(jd);
     }
@@ -40,15 +42,15 @@ public class JobDescriptionServiceImpl implements JobDescriptionService {
             String fileName = System.currentTimeMillis() + "_" + file.getOriginalFilename();
             Path filePath = uploadPath.resolve(fileName);
             file.transferTo(filePath);
-            String parsedText = tika.parseToString(filePath.toFile());
+            String parsedText = documentExtractionService.extractText(filePath);
             JobDescription jd = JobDescription.builder()
                     .user(user)
-                    .text(parsedText)
+                    .contentId(documentContentService.store(parsedText))
                     .fileName(fileName)
                     .filePath(filePath.toString())
                     .build();
             return jobDescriptionRepository.save(jd);
-        } catch (IOException | org.apache.tika.exception.TikaException e) {
+        } catch (IOException e) {
             throw new RuntimeException("Failed to upload or parse job description file", e);
         }
     }
@@ -2,15 +2,31 @@ package com.resumeanalyzer.backend.service.impl;
 
 import com.resumeanalyzer.backend.dto.CandidateAnalysisDTO;
 import com.resumeanalyzer.backend.service.LLMAnalysisService;
+import com.resumeanalyzer.backend.service.LlmResponseCacheService;
+import com.resumeanalyzer.backend.util.CircuitBreaker;
+import com.resumeanalyzer.backend.util.MicroBatcher;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.http.*;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -18,8 +34,17 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class LLMAnalysisServiceImpl implements LLMAnalysisService {
+    private static final Logger logger = LoggerFactory.getLogger(LLMAnalysisServiceImpl.class);
+    private static final String GROQ_MODEL = "llama-3.1-8b-instant"; // Fast and free model
+    private static final String OLLAMA_MODEL = "llama3.2"; // Free local model
+    private static final int MAX_TOKENS_PER_ANALYSIS = 1024;
+    private static final int MAX_COMPLETION_TOKENS = 8192;
+    private static final int JOB_MATCH_RESUME_CHARS = 3000;
+    private static final int RESUME_ANALYSIS_CHARS = 4000;
     
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final HttpClient httpClient;
+    private final LlmResponseCacheService llmResponseCacheService;
+    private final ModelCallLimiter modelCallLimiter;
     private final ObjectMapper objectMapper = new ObjectMapper();
     
     @Value("${groq.api.key:}")
@@ -35,129 +60,465 @@ public class LLMAnalysisServiceImpl implements LLMAnalysisService {
     @Value("${ollama.api.url:http://localhost:11434/api/generate}")
     private String ollamaApiUrl;
     
+    // Upper bound for one LLM call, from sending the request to the last byte of the response
+    @Value("${llm.request-timeout-ms:60000}")
+    private long requestTimeoutMs;
+    
+    @Value("${llm.health-check.timeout-ms:2000}")
+    private long healthCheckTimeoutMs;
+    
+    @Value("${llm.circuit-breaker.failure-threshold:3}")
+    private int breakerFailureThreshold;
+    
+    @Value("${llm.circuit-breaker.open-seconds:30}")
+    private long breakerOpenSeconds;
+    
+    @Value("${llm.batch.enabled:true}")
+    private boolean batchEnabled;
+    
+    @Value("${llm.batch.max-size:4}")
+    private int batchMaxSize;
+    
+    // Resume characters per batch prompt; keeps packed prompts well inside the context window
+    @Value("${llm.batch.max-chars:12000}")
+    private int batchMaxChars;
+    
+    @Value("${llm.batch.window-ms:50}")
+    private long batchWindowMs;
+    
+    private CircuitBreaker groqBreaker;
+    private CircuitBreaker ollamaBreaker;
+    
+    // Analyses waiting to share a prompt, grouped by job description
+    private MicroBatcher<String, AnalysisRequest, CandidateAnalysisDTO> analysisBatcher;
+    
+    /**
+     * One resume to analyze; {@code jobDescription} is null for analyses without a JD.
+     */
+    private record AnalysisRequest(String resumeText, String jobDescription) {
+    }
+    
+    /**
+     * Text returned by a backend, with the model that produced it.
+     */
+    private record Completion(String model, String text) {
+    }
+    
+    // Written by the scheduled health check only; analyses just read the last result
+    private volatile boolean ollamaReachable;
+    private volatile Instant ollamaCheckedAt;
+    
+    @PostConstruct
+    public void init() {
+        Duration openDuration = Duration.ofSeconds(breakerOpenSeconds);
+        groqBreaker = new CircuitBreaker("groq", breakerFailureThreshold, openDuration);
+        ollamaBreaker = new CircuitBreaker("ollama", breakerFailureThreshold, openDuration);
+        analysisBatcher = new MicroBatcher<>("llm-analysis", batchMaxSize, batchMaxChars,
+            Duration.ofMillis(batchWindowMs),
+            request -> Math.min(request.resumeText().length(), request.jobDescription() != null ? JOB_MATCH_RESUME_CHARS : RESUME_ANALYSIS_CHARS),
+            new MicroBatcher.Handler<>() {
+                @Override
+                public CompletableFuture<List<CandidateAnalysisDTO>> handleBatch(String key, List<AnalysisRequest> requests) {
+                    return analyzeBatch(requests);
+                }
+                
+                @Override
+                public CompletableFuture<CandidateAnalysisDTO> handleOne(String key, AnalysisRequest request) {
+                    return analyzeOne(request);
+                }
+            });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        analysisBatcher.close();
+    }
+    
+    /**
+     * Cheap enough to call per analysis: reads the cached Ollama health and the breaker states,
+     * never the network.
+     */
     @Override
     public boolean isLLMAvailable() {
-        return llmEnabled && (!groqApiKey.isEmpty() || isOllamaAvailable());
+        return llmEnabled && (isGroqUsable() || isOllamaUsable());
+    }
+    
+    private boolean isGroqUsable() {
+        return !groqApiKey.isEmpty() && !groqBreaker.isOpen();
+    }
+    
+    private boolean isOllamaUsable() {
+        return ollamaReachable && !ollamaBreaker.isOpen();
     }
     
-    private boolean isOllamaAvailable() {
+    /**
+     * Probes Ollama's model list, which answers without loading or running a model. Runs
+     * right after startup and then in the background so requests never pay for the probe.
+     */
+    @Scheduled(fixedDelayString = "${llm.health-check.interval-ms:30000}")
+    public void checkOllamaHealth() {
+        if (!llmEnabled) {
+            return;
+        }
+        boolean reachable;
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            
-            Map<String, Object> testRequest = Map.of(
-                "model", "llama3.2",
-                "prompt", "test",
-                "stream", false
-            );
-            
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(testRequest, headers);
-            ResponseEntity<String> response = restTemplate.exchange(
-                ollamaApiUrl, HttpMethod.POST, entity, String.class);
-            
-            return response.getStatusCode().is2xxSuccessful();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(ollamaTagsUrl()))
+                .timeout(Duration.ofMillis(healthCheckTimeoutMs))
+                .GET()
+                .build();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            reachable = response.statusCode() >= 200 && response.statusCode() < 300;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
         } catch (Exception e) {
-            return false;
+            reachable = false;
+        }
+        if (reachable != ollamaReachable) {
+            logger.info("Ollama at {} is now {}", ollamaApiUrl, reachable ? "reachable" : "unreachable");
         }
+        ollamaReachable = reachable;
+        ollamaCheckedAt = Instant.now();
+    }
+    
+    private String ollamaTagsUrl() {
+        URI generateUri = URI.create(ollamaApiUrl);
+        return generateUri.resolve("/api/tags").toString();
+    }
+    
+    @Override
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", llmEnabled);
+        status.put("available", isLLMAvailable());
+        status.put("groq", Map.of(
+            "configured", !groqApiKey.isEmpty(),
+            "circuit", groqBreaker.state().name(),
+            "consecutiveFailures", groqBreaker.consecutiveFailures()));
+        Map<String, Object> ollama = new LinkedHashMap<>();
+        ollama.put("reachable", ollamaReachable);
+        ollama.put("checkedAt", ollamaCheckedAt != null ? ollamaCheckedAt.toString() : null);
+        ollama.put("circuit", ollamaBreaker.state().name());
+        ollama.put("consecutiveFailures", ollamaBreaker.consecutiveFailures());
+        status.put("ollama", ollama);
+        MicroBatcher.Stats batchStats = analysisBatcher.stats();
+        status.put("batching", Map.of(
+            "enabled", batchEnabled,
+            "batches", batchStats.batches(),
+            "batchedAnalyses", batchStats.batchedItems(),
+            "singleAnalyses", batchStats.singles(),
+            "retriedAlone", batchStats.retries()));
+        return status;
     }
     
     @Override
     public CandidateAnalysisDTO enhanceAnalysisWithLLM(String resumeText, String jobDescription) {
+        return await(enhanceAnalysisWithLLMAsync(resumeText, jobDescription));
+    }
+    
+    @Override
+    public CandidateAnalysisDTO analyzeResumeWithLLM(String resumeText) {
+        return await(analyzeResumeWithLLMAsync(resumeText));
+    }
+    
+    @Override
+    public String extractCandidateNameWithLLM(String resumeText) {
+        return await(extractCandidateNameWithLLMAsync(resumeText));
+    }
+    
+    @Override
+    public CompletableFuture<CandidateAnalysisDTO> enhanceAnalysisWithLLMAsync(String resumeText, String jobDescription) {
         if (!isLLMAvailable()) {
-            throw new RuntimeException("LLM service is not available");
+            return CompletableFuture.failedFuture(new RuntimeException("LLM service is not available"));
         }
         
-        String prompt = buildJobMatchPrompt(resumeText, jobDescription);
-        String llmResponse = callLLM(prompt);
-        
-        return parseEnhancedAnalysis(llmResponse, resumeText, jobDescription);
+        return submitAnalysis(new AnalysisRequest(resumeText, jobDescription));
     }
     
     @Override
-    public CandidateAnalysisDTO analyzeResumeWithLLM(String resumeText) {
+    public CompletableFuture<CandidateAnalysisDTO> analyzeResumeWithLLMAsync(String resumeText) {
         if (!isLLMAvailable()) {
-            throw new RuntimeException("LLM service is not available");
+            return CompletableFuture.failedFuture(new RuntimeException("LLM service is not available"));
         }
         
-        String prompt = buildResumeAnalysisPrompt(resumeText);
-        String llmResponse = callLLM(prompt);
+        return submitAnalysis(new AnalysisRequest(resumeText, null));
+    }
+    
+    /**
+     * Answers from the cache when this resume was analyzed before, otherwise queues the analysis
+     * so that concurrent requests for the same job description go out as one prompt.
+     */
+    private CompletableFuture<CandidateAnalysisDTO> submitAnalysis(AnalysisRequest request) {
+        String cached = cachedCompletion(singlePrompt(request), this::isCompleteResponse);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(parseAnalysis(cached, request));
+        }
+        if (!batchEnabled || batchMaxSize < 2) {
+            return analyzeOne(request);
+        }
+        String batchKey = request.jobDescription() != null ? "jd:" + request.jobDescription() : "none";
+        return analysisBatcher.submit(batchKey, request);
+    }
+    
+    private CompletableFuture<CandidateAnalysisDTO> analyzeOne(AnalysisRequest request) {
+        return callLLM(singlePrompt(request), this::isCompleteResponse)
+            .thenApply(llmResponse -> parseAnalysis(llmResponse, request));
+    }
+    
+    /**
+     * Sends several resumes in one prompt and splits the answer. Each valid per-resume result is
+     * also cached under that resume's single prompt, so later analyses of it are cache hits.
+     * Missing or malformed results come back as null and the batcher retries those alone.
+     */
+    private CompletableFuture<List<CandidateAnalysisDTO>> analyzeBatch(List<AnalysisRequest> requests) {
+        boolean withJobDescription = requests.get(0).jobDescription() != null;
+        String prompt = withJobDescription
+            ? buildBatchJobMatchPrompt(requests)
+            : buildBatchResumeAnalysisPrompt(requests);
+        int maxTokens = Math.min(MAX_TOKENS_PER_ANALYSIS * requests.size(), MAX_COMPLETION_TOKENS);
         
-        return parseResumeAnalysis(llmResponse, resumeText);
+        return callBackend(prompt, maxTokens).thenApply(completion -> {
+            List<JsonNode> results = splitBatchResults(completion.text(), requests.size());
+            List<CandidateAnalysisDTO> analyses = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                JsonNode result = results.get(i);
+                if (result == null) {
+                    analyses.add(null);
+                    continue;
+                }
+                AnalysisRequest request = requests.get(i);
+                String json = result.toString();
+                llmResponseCacheService.put(completion.model(), singlePrompt(request), json);
+                analyses.add(parseAnalysis(json, request));
+            }
+            return analyses;
+        });
+    }
+    
+    /**
+     * Picks the per-resume objects out of a batch response by their 1-based index. Slots without a
+     * usable object stay null.
+     */
+    private List<JsonNode> splitBatchResults(String llmResponse, int expected) {
+        List<JsonNode> results = new ArrayList<>(Collections.nCopies(expected, (JsonNode) null));
+        try {
+            JsonNode root = objectMapper.readTree(extractJsonFromResponse(llmResponse));
+            for (JsonNode result : root.path("results")) {
+                int index = result.path("index").asInt(0);
+                if (index >= 1 && index <= expected && results.get(index - 1) == null && isCompleteAnalysis(result)) {
+                    results.set(index - 1, result);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            System.err.println("Failed to parse batched LLM response: " + e.getMessage());
+        }
+        return results;
+    }
+    
+    private boolean isCompleteResponse(String llmResponse) {
+        try {
+            return isCompleteAnalysis(objectMapper.readTree(extractJsonFromResponse(llmResponse)));
+        } catch (JsonProcessingException e) {
+            return false;
+        }
+    }
+    
+    private boolean isCompleteAnalysis(JsonNode result) {
+        return result.isObject()
+            && result.path("overallScore").isNumber()
+            && result.path("skillsScore").isNumber()
+            && result.path("experienceScore").isNumber();
+    }
+    
+    private String singlePrompt(AnalysisRequest request) {
+        return request.jobDescription() != null
+            ? buildJobMatchPrompt(request.resumeText(), request.jobDescription())
+            : buildResumeAnalysisPrompt(request.resumeText());
+    }
+    
+    private CandidateAnalysisDTO parseAnalysis(String llmResponse, AnalysisRequest request) {
+        return request.jobDescription() != null
+            ? parseEnhancedAnalysis(llmResponse, request.resumeText(), request.jobDescription())
+            : parseResumeAnalysis(llmResponse, request.resumeText());
     }
     
     @Override
-    public String extractCandidateNameWithLLM(String resumeText) {
+    public CompletableFuture<String> extractCandidateNameWithLLMAsync(String resumeText) {
         if (!isLLMAvailable()) {
-            return extractNameFallback(resumeText);
+            return CompletableFuture.completedFuture(extractNameFallback(resumeText));
         }
         
         String prompt = buildNameExtractionPrompt(resumeText);
-        String llmResponse = callLLM(prompt);
+        return callLLM(prompt, response -> !"Unknown Candidate".equals(parseNameFromResponse(response)))
+            .thenApply(this::parseNameFromResponse);
+    }
+    
+    /**
+     * Answers from the response cache when this prompt was already completed by a backend in use,
+     * otherwise calls a backend and caches its answer if it is usable. Truncated or malformed
+     * answers are not cached, so the next identical prompt asks again instead of replaying them.
+     */
+    private CompletableFuture<String> callLLM(String prompt, Predicate<String> cacheable) {
+        String cached = cachedCompletion(prompt, cacheable);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
         
-        return parseNameFromResponse(llmResponse);
+        return callBackend(prompt, MAX_TOKENS_PER_ANALYSIS).thenApply(completion -> {
+            if (cacheable.test(completion.text())) {
+                llmResponseCacheService.put(completion.model(), prompt, completion.text());
+            }
+            return completion.text();
+        });
     }
     
-    private String callLLM(String prompt) {
-        try {
-            if (!groqApiKey.isEmpty()) {
-                return callGroqAPI(prompt);
-            } else if (isOllamaAvailable()) {
-                return callOllamaAPI(prompt);
-            } else {
-                throw new RuntimeException("No LLM service available");
+    /**
+     * Returns a cached completion of the prompt that passes {@code usable}, or null. Entries that
+     * fail it, e.g. truncated answers cached before only complete ones were kept, are evicted.
+     */
+    private String cachedCompletion(String prompt, Predicate<String> usable) {
+        List<String> models = !groqApiKey.isEmpty() ? List.of(GROQ_MODEL, OLLAMA_MODEL) : List.of(OLLAMA_MODEL);
+        for (String model : models) {
+            String cached = llmResponseCacheService.get(model, prompt);
+            if (cached == null) {
+                continue;
             }
-        } catch (Exception e) {
-            System.err.println("LLM API call failed: " + e.getMessage());
-            throw new RuntimeException("Failed to call LLM service", e);
+            if (usable.test(cached)) {
+                return cached;
+            }
+            llmResponseCacheService.evict(model, prompt);
         }
+        return null;
     }
     
-    private String callGroqAPI(String prompt) throws Exception {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(groqApiKey);
-        
+    /**
+     * Sends the prompt to Groq when it is configured and its circuit allows, otherwise to a
+     * reachable Ollama. Fails at once, without any network call, when neither can be used.
+     */
+    private CompletableFuture<Completion> callBackend(String prompt, int maxTokens) {
+        CircuitBreaker breaker;
+        String model;
+        CompletableFuture<String> call;
+        if (!groqApiKey.isEmpty() && groqBreaker.tryAcquire()) {
+            breaker = groqBreaker;
+            model = GROQ_MODEL;
+            call = callGroqAPI(prompt, maxTokens);
+        } else if (ollamaReachable && ollamaBreaker.tryAcquire()) {
+            breaker = ollamaBreaker;
+            model = OLLAMA_MODEL;
+            call = callOllamaAPI(prompt, maxTokens);
+        } else {
+            return CompletableFuture.failedFuture(new RuntimeException("No LLM service available"));
+        }
+        return call.handle((response, e) -> {
+            if (e == null) {
+                breaker.recordSuccess();
+                return new Completion(model, response);
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof ModelCallLimiter.QueueTimeoutException) {
+                // Never reached the provider, so it says nothing about its health
+                breaker.recordIgnored();
+            } else {
+                breaker.recordFailure();
+            }
+            System.err.println("LLM API call failed (" + breaker.name() + ", circuit " + breaker.state() + "): " + cause.getMessage());
+            throw new CompletionException(new RuntimeException("Failed to call LLM service", cause));
+        });
+    }
+    
+    private CompletableFuture<String> callGroqAPI(String prompt, int maxTokens) {
         Map<String, Object> message = Map.of(
             "role", "user",
             "content", prompt
         );
         
         Map<String, Object> requestBody = Map.of(
-            "model", "llama-3.1-8b-instant", // Fast and free model
+            "model", GROQ_MODEL,
             "messages", List.of(message),
-            "max_tokens", 1024,
+            "max_tokens", maxTokens,
             "temperature", 0.1,
             "response_format", Map.of("type", "json_object") // Force JSON output
         );
         
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-        ResponseEntity<String> response = restTemplate.exchange(
-            groqApiUrl, HttpMethod.POST, entity, String.class);
-        
-        JsonNode responseJson = objectMapper.readTree(response.getBody());
-        return responseJson.path("choices").get(0).path("message").path("content").asText();
+        return modelCallLimiter.callAsync(ModelCallLimiter.GROQ, ModelCallLimiter.estimateTokens(prompt) + maxTokens,
+                () -> postJson(groqApiUrl, requestBody, groqApiKey))
+            .thenApply(responseJson -> responseJson.path("choices").get(0).path("message").path("content").asText());
     }
     
-    private String callOllamaAPI(String prompt) throws Exception {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        
+    private CompletableFuture<String> callOllamaAPI(String prompt, int maxTokens) {
         Map<String, Object> requestBody = Map.of(
-            "model", "llama3.2", // Free local model
+            "model", OLLAMA_MODEL,
             "prompt", prompt,
             "stream", false,
-            "options", Map.of("temperature", 0.1, "num_predict", 1024)
+            "options", Map.of("temperature", 0.1, "num_predict", maxTokens)
         );
         
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-        ResponseEntity<String> response = restTemplate.exchange(
-            ollamaApiUrl, HttpMethod.POST, entity, String.class);
+        return modelCallLimiter.callAsync(ModelCallLimiter.OLLAMA, ModelCallLimiter.estimateTokens(prompt) + maxTokens,
+                () -> postJson(ollamaApiUrl, requestBody, null))
+            .thenApply(responseJson -> responseJson.path("response").asText());
+    }
+    
+    /**
+     * POSTs a JSON body and parses the JSON reply. Non-2xx statuses fail the future.
+     */
+    private CompletableFuture<JsonNode> postJson(String url, Map<String, Object> requestBody, String bearerToken) {
+        HttpRequest.Builder request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMillis(requestTimeoutMs))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(requestBody)));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (bearerToken != null) {
+            request.header("Authorization", "Bearer " + bearerToken);
+        }
         
-        JsonNode responseJson = objectMapper.readTree(response.getBody());
-        return responseJson.path("response").asText();
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+            .thenApply(response -> {
+                if (response.statusCode() == 429) {
+                    throw new CompletionException(new ModelCallLimiter.ThrottledException(
+                        "LLM API rate limited the request at " + url,
+                        ModelCallLimiter.parseRetryAfter(response.headers().firstValue("retry-after").orElse(null))));
+                }
+                if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                    throw new CompletionException(new RuntimeException(
+                        "LLM API returned HTTP " + response.statusCode() + " from " + url));
+                }
+                try {
+                    return objectMapper.readTree(response.body());
+                } catch (JsonProcessingException e) {
+                    throw new CompletionException(e);
+                }
+            });
+    }
+    
+    /**
+     * Blocks for the sync API, rethrowing the original RuntimeException instead of its CompletionException wrapper.
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
     
     private String buildJobMatchPrompt(String resumeText, String jobDescription) {
+        return renderJobMatchPrompt(truncateText(resumeText, JOB_MATCH_RESUME_CHARS), jobDescription);
+    }
+    
+    private String buildBatchJobMatchPrompt(List<AnalysisRequest> requests) {
+        return renderJobMatchPrompt(numberedResumes(requests, JOB_MATCH_RESUME_CHARS), requests.get(0).jobDescription())
+            + batchInstructions(requests.size());
+    }
+    
+    private String renderJobMatchPrompt(String resumeSection, String jobDescription) {
         return String.format("""
             You are an expert ATS resume analyzer. Analyze this resume against the job description and provide accurate, differentiated scoring.
             
@@ -246,6 +607,7 @@ public class LLMAnalysisServiceImpl implements LLMAnalysisService {
             
             JSON Response Format:
             {
+                "candidateName": "candidate's full name",
                 "overallScore": [calculated_weighted_average],
                 "skillsScore": [skills_match_percentage],
                 "experienceScore": [experience_relevance_score],
@@ -265,16 +627,26 @@ public class LLMAnalysisServiceImpl implements LLMAnalysisService {
             }
             
             IMPORTANT EXTRACTION RULES:
+            - For candidateName: The candidate's full name as "FirstName LastName", usually at the top of the resume. Use "Unknown Candidate" if no clear name is found
             - For skills: Extract specific technologies, languages, frameworks (not generic terms)
             - For projects: Extract actual project names and descriptions (not section headers like "Projects & Achievements")
             - For education: Extract ONLY course/degree names like "MCA - Master of Computer Applications", "BCA - Bachelor of Computer Applications"
               Do NOT include institution names, years, locations, or section headers
               Example: ["MCA - Master of Computer Applications", "BCA - Bachelor of Computer Applications"]
             - Provide detailed, specific responses (not generic placeholders)
-            """, truncateText(resumeText, 3000), truncateText(jobDescription, 1500));
+            """, resumeSection, truncateText(jobDescription, 1500));
     }
     
     private String buildResumeAnalysisPrompt(String resumeText) {
+        return renderResumeAnalysisPrompt(truncateText(resumeText, RESUME_ANALYSIS_CHARS));
+    }
+    
+    private String buildBatchResumeAnalysisPrompt(List<AnalysisRequest> requests) {
+        return renderResumeAnalysisPrompt(numberedResumes(requests, RESUME_ANALYSIS_CHARS))
+            + batchInstructions(requests.size());
+    }
+    
+    private String renderResumeAnalysisPrompt(String resumeSection) {
         return String.format("""
             You are an expert ATS resume analyzer. Analyze this resume and provide accurate, differentiated scoring.
             
@@ -353,6 +725,7 @@ public class LLMAnalysisServiceImpl implements LLMAnalysisService {
             
             JSON Response Format:
             {
+                "candidateName": "candidate's full name",
                 "overallScore": [calculated_weighted_average],
                 "skillsScore": [skills_assessment_score],
                 "experienceScore": [experience_relevance_score],
@@ -369,6 +742,7 @@ public class LLMAnalysisServiceImpl implements LLMAnalysisService {
             }
             
             IMPORTANT EXTRACTION RULES:
+            - For candidateName: The candidate's full name as "FirstName LastName", usually at the top of the resume. Use "Unknown Candidate" if no clear name is found
             - For skills: Extract specific technologies, languages, frameworks (not generic terms like "Programming")
             - For projects: Extract actual project names and descriptions (not section headers like "Projects & Achievements")
             - For education: Extract each degree, institution, and year as separate array items
@@ -376,7 +750,32 @@ public class LLMAnalysisServiceImpl implements LLMAnalysisService {
               Do NOT include section headers like "Education & Qualifications"
             - Provide detailed, specific responses with concrete examples
             - Avoid generic placeholders - be specific about what you find in the resume
-            """, truncateText(resumeText, 4000));
+            """, resumeSection);
+    }
+    
+    private String numberedResumes(List<AnalysisRequest> requests, int maxChars) {
+        StringBuilder resumes = new StringBuilder();
+        for (int i = 0; i < requests.size(); i++) {
+            resumes.append("=== RESUME ").append(i + 1).append(" ===\n")
+                .append(truncateText(requests.get(i).resumeText(), maxChars))
+                .append("\n\n");
+        }
+        return resumes.toString();
+    }
+    
+    private String batchInstructions(int count) {
+        return String.format("""
+            
+            BATCH MODE: The RESUME section above contains %d separate resumes, marked "=== RESUME 1 ===" to "=== RESUME %d ===".
+            Analyze each resume on its own, applying every rule above exactly as if it were the only resume. Never mix details between resumes.
+            Respond ONLY with one JSON object of this form, with exactly one entry per resume:
+            {
+                "results": [
+                    {"index": 1, ...all fields of the JSON Response Format above for RESUME 1...},
+                    {"index": 2, ...all fields of the JSON Response Format above for RESUME 2...}
+                ]
+            }
+            """, count, count);
     }
     
     private String buildNameExtractionPrompt(String resumeText) {
@@ -408,6 +807,7 @@ public class LLMAnalysisServiceImpl implements LLMAnalysisService {
             double baseFallback = calculateFallbackScore(resumeText);
             
             return CandidateAnalysisDTO.builder()
+                .candidateName(parseCandidateName(analysisJson))
                 .overallScore(getDoubleValue(analysisJson, "overallScore", baseFallback))
                 .skillsScore(getDoubleValue(analysisJson, "skillsScore", baseFallback + 0.05))
                 .experienceScore(getDoubleValue(analysisJson, "experienceScore", baseFallback - 0.1))
@@ -462,6 +862,7 @@ public class LLMAnalysisServiceImpl implements LLMAnalysisService {
             double baseFallback = calculateFallbackScore(resumeText);
             
             return CandidateAnalysisDTO.builder()
+                .candidateName(parseCandidateName(analysisJson))
                 .overallScore(getDoubleValue(analysisJson, "overallScore", baseFallback))
                 .skillsScore(getDoubleValue(analysisJson, "skillsScore", baseFallback + 0.1))
                 .experienceScore(getDoubleValue(analysisJson, "experienceScore", baseFallback - 0.15))
@@ -528,6 +929,18 @@ public class LLMAnalysisServiceImpl implements LLMAnalysisService {
         return "{}";
     }
     
+    /**
+     * The name from a combined analysis response, or null when the model did not find one.
+     */
+    private String parseCandidateName(JsonNode analysisJson) {
+        String rawName = analysisJson.path("candidateName").asText("");
+        if (rawName.isBlank()) {
+            return null;
+        }
+        String name = parseNameFromResponse(rawName);
+        return "Unknown Candidate".equals(name) ? null : name;
+    }
+    
     private String parseNameFromResponse(String llmResponse) {
         // Clean up the response and extract name
         String cleanResponse = llmResponse.trim().replaceAll("\"", "");
@@ -607,6 +1020,7 @@ public class LLMAnalysisServiceImpl implements LLMAnalysisService {
             .resumeTips(List.of())
             .learningRecommendations(List.of())
             .fitAssessment(hasJD ? "Analysis completed" : "General assessment")
+            .fallback(true)
             .build();
     }
     
@@ -0,0 +1,150 @@
+package com.resumeanalyzer.backend.service.impl;
+
+import com.resumeanalyzer.backend.entity.LeaderboardEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes bulk upload results with plain JDBC. Hibernate cannot batch inserts into tables with
+ * IDENTITY ids, so a thousand entries would be a thousand round-trips; here they go out as JDBC
+ * batches, which the MySQL driver turns into multi-row inserts when the connection URL has
+ * {@code rewriteBatchedStatements=true}. Rescored entries are updated the same way, and ranks are
+ * assigned by a single UPDATE instead of one per row.
+ *
+ * Runs in the caller's transaction, if any. Entries written here bypass the persistence context,
+ * so they must not be attached to a managed leaderboard afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class LeaderboardEntryBatchWriter {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO leaderboard_entries (leaderboard_id, resume_id, candidate_name, match_score, rank_position, "
+            + "skills, experience, projects, hackathons, notes, is_favorite, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SCORE_SQL =
+        "UPDATE leaderboard_entries SET match_score = ?, skills = ? WHERE id = ?";
+
+    // Highest score first, entries without a score last, ties in insertion order
+    private static final String RANK_SQL =
+        "UPDATE leaderboard_entries le "
+            + "JOIN (SELECT id, ROW_NUMBER() OVER (ORDER BY match_score IS NULL, match_score DESC, id) AS position "
+            + "      FROM leaderboard_entries WHERE leaderboard_id = ?) ranked ON ranked.id = le.id "
+            + "SET le.rank_position = ranked.position";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${leaderboard.insert-batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Inserts the entries in batches and sets their generated ids and creation time.
+     */
+    public void insertAll(List<LeaderboardEntry> entries) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            List<LeaderboardEntry> chunk = entries.subList(from, Math.min(entries.size(), from + batchSize));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, chunk.get(i), now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return chunk.size();
+                    }
+                },
+                keys);
+            List<Map<String, Object>> generated = keys.getKeyList();
+            for (int i = 0; i < chunk.size(); i++) {
+                LeaderboardEntry entry = chunk.get(i);
+                entry.setId(((Number) generated.get(i).values().iterator().next()).longValue());
+                entry.setCreatedAt(now);
+            }
+        }
+    }
+
+    /**
+     * Writes the match score and skills of existing entries, in batches
+     */
+    public void updateScores(List<LeaderboardEntry> entries) {
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            List<LeaderboardEntry> chunk = entries.subList(from, Math.min(entries.size(), from + batchSize));
+            jdbcTemplate.batchUpdate(UPDATE_SCORE_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    LeaderboardEntry entry = chunk.get(i);
+                    if (entry.getMatchScore() != null) {
+                        ps.setDouble(1, entry.getMatchScore());
+                    } else {
+                        ps.setNull(1, Types.DOUBLE);
+                    }
+                    ps.setString(2, entry.getSkills());
+                    ps.setLong(3, entry.getId());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size();
+                }
+            });
+        }
+    }
+
+    /**
+     * Numbers the leaderboard's entries from 1 by match score in one statement.
+     */
+    public int assignRanks(Long leaderboardId) {
+        return jdbcTemplate.update(RANK_SQL, leaderboardId);
+    }
+
+    /**
+     * The leaderboard's entry ids by rank, read from the rank index
+     */
+    public List<Long> idsInRankOrder(Long leaderboardId) {
+        return jdbcTemplate.queryForList(
+            "SELECT id FROM leaderboard_entries WHERE leaderboard_id = ? ORDER BY rank_position", Long.class, leaderboardId);
+    }
+
+    private static void bind(PreparedStatement ps, LeaderboardEntry entry, LocalDateTime now) throws SQLException {
+        ps.setLong(1, entry.getLeaderboard().getId());
+        ps.setLong(2, entry.getResume().getId());
+        ps.setString(3, entry.getCandidateName());
+        if (entry.getMatchScore() != null) {
+            ps.setDouble(4, entry.getMatchScore());
+        } else {
+            ps.setNull(4, Types.DOUBLE);
+        }
+        if (entry.getRankPosition() != null) {
+            ps.setInt(5, entry.getRankPosition());
+        } else {
+            ps.setNull(5, Types.INTEGER);
+        }
+        ps.setString(6, entry.getSkills());
+        ps.setString(7, entry.getExperience());
+        ps.setString(8, entry.getProjects());
+        ps.setString(9, entry.getHackathons());
+        ps.setString(10, entry.getNotes());
+        ps.setBoolean(11, Boolean.TRUE.equals(entry.getIsFavorite()));
+        ps.setTimestamp(12, Timestamp.valueOf(now));
+    }
+}
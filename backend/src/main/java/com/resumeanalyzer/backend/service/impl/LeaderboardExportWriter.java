@@ -0,0 +1,142 @@
+package com.resumeanalyzer.backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Writes a leaderboard export row by row as the database returns it. The query runs with the MySQL
+ * driver's streaming fetch size, so neither the driver nor the persistence context holds the whole
+ * leaderboard; memory stays flat whatever the number of entries.
+ */
+@Component
+public class LeaderboardExportWriter {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String CSV_HEADER = "Candidate Name,Match Score,Skills,Experience,Projects,Hackathons\n";
+
+    // Rank order is score order; entries not ranked yet come last
+    private static final String EXPORT_SQL =
+        "SELECT candidate_name, rank_position, match_score, skills, experience, projects, hackathons "
+            + "FROM leaderboard_entries WHERE leaderboard_id = ? "
+            + "ORDER BY rank_position IS NULL, rank_position, id";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public LeaderboardExportWriter(DataSource dataSource) {
+        streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        // Integer.MIN_VALUE makes Connector/J stream rows instead of buffering the result set
+        streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    /**
+     * Writes the leaderboard's entries in rank order, at most topN of them when topN is positive.
+     * The stream is flushed but not closed.
+     */
+    public void write(Long leaderboardId, int topN, Format format, OutputStream out) throws IOException {
+        String sql = topN > 0 ? EXPORT_SQL + " LIMIT " + topN : EXPORT_SQL;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                streamingJdbcTemplate.query(sql, rs -> writeCsvRow(rs, writer), leaderboardId);
+            } else {
+                JsonGenerator json = jsonFactory.createGenerator(writer);
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // Flushing a row hands it to the buffered writer, not to the client
+                json.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+                json.setRootValueSeparator(null);
+                streamingJdbcTemplate.query(sql, rs -> writeJsonRow(rs, json, writer), leaderboardId);
+                json.flush();
+            }
+        } catch (UncheckedIOException e) {
+            // The client went away while rows were being written
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes what an export with no entries consists of: the header row for CSV, nothing for NDJSON.
+     */
+    public void writeHeader(Format format, OutputStream out) throws IOException {
+        if (format == Format.CSV) {
+            out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+        out.flush();
+    }
+
+    private static void writeCsvRow(ResultSet rs, Writer writer) throws SQLException {
+        try {
+            writeCsvField(writer, rs.getString("candidate_name"));
+            writer.write(',');
+            double score = rs.getDouble("match_score");
+            writer.write(rs.wasNull() ? "N/A" : String.format("%.2f", score * 100));
+            for (String column : new String[] { "skills", "experience", "projects", "hackathons" }) {
+                writer.write(',');
+                writeCsvField(writer, rs.getString(column));
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // RFC 4180: every field quoted, embedded quotes doubled
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write('"');
+        if (value != null) {
+            int start = 0;
+            int quote;
+            while ((quote = value.indexOf('"', start)) >= 0) {
+                writer.write(value, start, quote + 1 - start);
+                writer.write('"');
+                start = quote + 1;
+            }
+            writer.write(value, start, value.length() - start);
+        }
+        writer.write('"');
+    }
+
+    private static void writeJsonRow(ResultSet rs, JsonGenerator json, Writer writer) throws SQLException {
+        try {
+            json.writeStartObject();
+            json.writeStringField("candidateName", rs.getString("candidate_name"));
+            int rank = rs.getInt("rank_position");
+            if (rs.wasNull()) {
+                json.writeNullField("rankPosition");
+            } else {
+                json.writeNumberField("rankPosition", rank);
+            }
+            double score = rs.getDouble("match_score");
+            if (rs.wasNull()) {
+                json.writeNullField("matchScore");
+            } else {
+                json.writeNumberField("matchScore", score);
+            }
+            json.writeStringField("skills", rs.getString("skills"));
+            json.writeStringField("experience", rs.getString("experience"));
+            json.writeStringField("projects", rs.getString("projects"));
+            json.writeStringField("hackathons", rs.getString("hackathons"));
+            json.writeEndObject();
+            json.flush();
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
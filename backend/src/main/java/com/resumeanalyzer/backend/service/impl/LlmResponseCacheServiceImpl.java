@@ -0,0 +1,192 @@
+package com.resumeanalyzer.backend.service.impl;
+
+import com.resumeanalyzer.backend.entity.LlmResponseCacheEntry;
+import com.resumeanalyzer.backend.repository.LlmResponseCacheRepository;
+import com.resumeanalyzer.backend.service.LlmResponseCacheService;
+import com.resumeanalyzer.backend.util.ContentHash;
+import com.resumeanalyzer.backend.util.TtlLruCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-tier cache of LLM completions. Recent completions are served from memory; older ones from
+ * the llm_response_cache table, which survives restarts and is shared by every instance. A
+ * database hit is copied back into memory. Both tiers expire entries after the same TTL, and the
+ * table is trimmed to its row cap by a scheduled job.
+ *
+ * The prompts embed the full resume and job description, so an identical prompt means identical
+ * input; nothing else needs to go into the key. A database failure only costs the cache, never
+ * the analysis.
+ */
+@Service
+@RequiredArgsConstructor
+public class LlmResponseCacheServiceImpl implements LlmResponseCacheService {
+    private static final Logger logger = LoggerFactory.getLogger(LlmResponseCacheServiceImpl.class);
+
+    private final LlmResponseCacheRepository llmResponseCacheRepository;
+
+    @Value("${llm.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${llm.cache.memory-max-entries:500}")
+    private int memoryMaxEntries;
+
+    @Value("${llm.cache.max-rows:10000}")
+    private int maxRows;
+
+    @Value("${llm.cache.ttl-hours:168}")
+    private long ttlHours;
+
+    private TtlLruCache<String, String> memory;
+    private final AtomicLong databaseHits = new AtomicLong();
+    private final AtomicLong databaseMisses = new AtomicLong();
+    private final AtomicLong databaseErrors = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        memory = new TtlLruCache<>(memoryMaxEntries, ttlHours, TimeUnit.HOURS);
+    }
+
+    @Override
+    public String get(String model, String prompt) {
+        if (!enabled) {
+            return null;
+        }
+        String key = key(model, prompt);
+        String response = memory.get(key);
+        if (response != null) {
+            return response;
+        }
+        try {
+            Optional<LlmResponseCacheEntry> stored = llmResponseCacheRepository.findByCacheKey(key);
+            if (stored.isPresent() && !isExpired(stored.get())) {
+                databaseHits.incrementAndGet();
+                response = stored.get().getResponse();
+                memory.put(key, response);
+                return response;
+            }
+            databaseMisses.incrementAndGet();
+        } catch (DataAccessException e) {
+            databaseErrors.incrementAndGet();
+            logger.warn("LLM response cache lookup failed: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    @Override
+    public void put(String model, String prompt, String response) {
+        if (!enabled || response == null || response.isBlank()) {
+            return;
+        }
+        String key = key(model, prompt);
+        memory.put(key, response);
+        try {
+            // Replace an expired row rather than keeping two for one key
+            llmResponseCacheRepository.findByCacheKey(key).ifPresent(llmResponseCacheRepository::delete);
+            llmResponseCacheRepository.save(LlmResponseCacheEntry.builder()
+                .cacheKey(key)
+                .model(model)
+                .response(response)
+                .build());
+        } catch (DataIntegrityViolationException e) {
+            // Another request stored the same completion first
+            logger.debug("LLM response for {} already stored", key);
+        } catch (DataAccessException e) {
+            databaseErrors.incrementAndGet();
+            logger.warn("LLM response cache write failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(String model, String prompt) {
+        if (!enabled) {
+            return;
+        }
+        String key = key(model, prompt);
+        memory.invalidate(key);
+        try {
+            llmResponseCacheRepository.findByCacheKey(key).ifPresent(llmResponseCacheRepository::delete);
+        } catch (DataAccessException e) {
+            databaseErrors.incrementAndGet();
+            logger.warn("LLM response cache eviction failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        TtlLruCache.Stats memoryStats = memory.stats();
+        Map<String, Object> memoryDescription = new LinkedHashMap<>();
+        memoryDescription.put("size", memoryStats.size());
+        memoryDescription.put("maxEntries", memoryStats.maxEntries());
+        memoryDescription.put("hits", memoryStats.hits());
+        memoryDescription.put("misses", memoryStats.misses());
+        memoryDescription.put("hitRate", memoryStats.hitRate());
+        memoryDescription.put("evictions", memoryStats.evictions());
+
+        Map<String, Object> databaseDescription = new LinkedHashMap<>();
+        databaseDescription.put("maxRows", maxRows);
+        databaseDescription.put("hits", databaseHits.get());
+        databaseDescription.put("misses", databaseMisses.get());
+        databaseDescription.put("errors", databaseErrors.get());
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ttlHours", ttlHours);
+        stats.put("memory", memoryDescription);
+        stats.put("database", databaseDescription);
+        return stats;
+    }
+
+    @Override
+    public void invalidateAll() {
+        memory.invalidateAll();
+        llmResponseCacheRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Deletes expired rows, then the oldest rows beyond the cap.
+     */
+    @Scheduled(fixedDelayString = "${llm.cache.purge-interval-ms:3600000}")
+    public void purge() {
+        memory.purgeExpired();
+        try {
+            int expired = llmResponseCacheRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(ttlHours));
+            long excess = llmResponseCacheRepository.count() - maxRows;
+            int trimmed = 0;
+            if (excess > 0) {
+                List<Long> oldest = llmResponseCacheRepository.findIdsOldestFirst(PageRequest.of(0, (int) excess));
+                llmResponseCacheRepository.deleteAllByIdInBatch(oldest);
+                trimmed = oldest.size();
+            }
+            if (expired + trimmed > 0) {
+                logger.info("Purged {} expired and {} excess LLM cache rows", expired, trimmed);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("LLM response cache purge failed: {}", e.getMessage());
+        }
+    }
+
+    private boolean isExpired(LlmResponseCacheEntry entry) {
+        return entry.getCreatedAt() == null || entry.getCreatedAt().isBefore(LocalDateTime.now().minusHours(ttlHours));
+    }
+
+    private String key(String model, String prompt) {
+        return ContentHash.sha256(model + "\n" + prompt);
+    }
+}
@@ -0,0 +1,276 @@
+package com.resumeanalyzer.backend.service.impl;
+
+import com.resumeanalyzer.backend.service.ModelCallLimitService;
+import com.resumeanalyzer.backend.util.Ticker;
+import com.resumeanalyzer.backend.util.TokenBucket;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Client-side limits for calls to external model APIs, shared by every service that calls them.
+ *
+ * Each provider has a requests-per-minute and a tokens-per-minute token bucket plus a bulkhead
+ * capping calls in flight, configured under {@code model-calls.<provider>.*} (0 = unlimited).
+ * A call that is over a limit waits for it instead of failing, up to the queue timeout. When the
+ * provider answers 429 anyway, the provider is paused for its Retry-After and the call is tried
+ * again, as long as the deadline allows. Throughput then settles at the provider's limit instead
+ * of collapsing into retries and rule-based fallbacks. A call still throttled when the retries or
+ * the deadline run out fails with {@link ThrottledException}, since the provider was reached.
+ */
+@Component
+@RequiredArgsConstructor
+public class ModelCallLimiter implements ModelCallLimitService {
+    private static final Logger logger = LoggerFactory.getLogger(ModelCallLimiter.class);
+
+    public static final String GROQ = "groq";
+    public static final String OLLAMA = "ollama";
+    public static final String HUGGING_FACE = "huggingface";
+
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(2);
+
+    /**
+     * Thrown by a call whose provider answered 429 Too Many Requests, and by {@link #call} when
+     * the provider kept answering 429 until the retries ran out.
+     */
+    public static class ThrottledException extends RuntimeException {
+        private final Duration retryAfter;
+
+        public ThrottledException(String message, Duration retryAfter) {
+            super(message);
+            this.retryAfter = retryAfter;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+    }
+
+    /**
+     * Thrown when a call could not get past the limits before its deadline. The provider was
+     * never contacted, so this says nothing about its health.
+     */
+    public static class QueueTimeoutException extends RuntimeException {
+        public QueueTimeoutException(String message) {
+            super(message);
+        }
+    }
+
+    private final Environment environment;
+
+    @Value("${model-calls.queue-timeout-ms:30000}")
+    private long queueTimeoutMs;
+
+    @Value("${model-calls.max-throttle-retries:3}")
+    private int maxThrottleRetries;
+
+    // Replaced by tests to drive the clock
+    private Ticker ticker = Ticker.SYSTEM;
+
+    private final Map<String, ProviderLimits> providers = new ConcurrentHashMap<>();
+    private final ExecutorService waiters = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Rough token count of a prompt, for the tokens-per-minute budget.
+     */
+    public static int estimateTokens(String text) {
+        return text == null ? 0 : text.length() / 4 + 1;
+    }
+
+    /**
+     * Runs a blocking call within the provider's limits.
+     */
+    public <T> T call(String provider, int estimatedTokens, Callable<T> call) {
+        ProviderLimits limits = limits(provider);
+        long deadline = ticker.nanoTime() + TimeUnit.MILLISECONDS.toNanos(queueTimeoutMs);
+        ThrottledException throttledBy = null;
+        for (int attempt = 0; ; attempt++) {
+            try {
+                limits.acquire(estimatedTokens, deadline);
+            } catch (QueueTimeoutException e) {
+                // Once the provider has answered 429 the wait is its doing, not ours
+                throw throttledBy != null ? throttledBy : e;
+            }
+            try {
+                return call.call();
+            } catch (Exception e) {
+                Duration retryAfter = retryAfter(e);
+                if (retryAfter == null) {
+                    throw e instanceof RuntimeException runtime ? runtime : new RuntimeException(e.getMessage(), e);
+                }
+                limits.throttled.incrementAndGet();
+                limits.pause(retryAfter);
+                throttledBy = new ThrottledException(provider + " is rate limiting and the call ran out of retries", retryAfter);
+                throttledBy.initCause(e);
+                if (attempt >= maxThrottleRetries || ticker.nanoTime() + retryAfter.toNanos() > deadline) {
+                    throw throttledBy;
+                }
+                logger.info("{} returned 429, retrying in {} ms", provider, retryAfter.toMillis());
+            } finally {
+                limits.release();
+            }
+        }
+    }
+
+    /**
+     * Runs an async call within the provider's limits. Waiting for the limits happens on a
+     * virtual thread, never on the caller's.
+     */
+    public <T> CompletableFuture<T> callAsync(String provider, int estimatedTokens, Supplier<CompletableFuture<T>> call) {
+        return CompletableFuture.supplyAsync(() -> call(provider, estimatedTokens, () -> {
+            try {
+                return call.get().join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }), waiters);
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueTimeoutMs", queueTimeoutMs);
+        providers.forEach((name, limits) -> stats.put(name, limits.describe()));
+        return stats;
+    }
+
+    private ProviderLimits limits(String provider) {
+        return providers.computeIfAbsent(provider, name -> new ProviderLimits(
+            name, ticker,
+            environment.getProperty("model-calls." + name + ".requests-per-minute", Integer.class, 0),
+            environment.getProperty("model-calls." + name + ".tokens-per-minute", Integer.class, 0),
+            environment.getProperty("model-calls." + name + ".max-concurrent", Integer.class, 4)));
+    }
+
+    private Duration retryAfter(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ThrottledException throttled) {
+                return throttled.getRetryAfter() != null ? throttled.getRetryAfter() : DEFAULT_RETRY_AFTER;
+            }
+            if (cause instanceof HttpStatusCodeException http && http.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                String header = http.getResponseHeaders() != null ? http.getResponseHeaders().getFirst("Retry-After") : null;
+                return parseRetryAfter(header);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads a Retry-After header given in seconds; anything else gets the default delay.
+     */
+    public static Duration parseRetryAfter(String header) {
+        if (header != null) {
+            try {
+                return Duration.ofMillis((long) (Double.parseDouble(header.trim()) * 1000));
+            } catch (NumberFormatException e) {
+                // HTTP-date form; not worth parsing for a short back-off
+            }
+        }
+        return DEFAULT_RETRY_AFTER;
+    }
+
+    private static final class ProviderLimits {
+        private final String name;
+        private final Ticker ticker;
+        private final TokenBucket requests;
+        private final TokenBucket tokens;
+        private final int maxConcurrent;
+        private final Semaphore bulkhead;
+        private long pausedUntil;
+
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong queued = new AtomicLong();
+        private final AtomicLong timedOut = new AtomicLong();
+        private final AtomicLong throttled = new AtomicLong();
+
+        private ProviderLimits(String name, Ticker ticker, int requestsPerMinute, int tokensPerMinute, int maxConcurrent) {
+            this.name = name;
+            this.ticker = ticker;
+            // nanoTime may be negative, so "not paused" is the present rather than zero
+            this.pausedUntil = ticker.nanoTime();
+            this.requests = new TokenBucket(requestsPerMinute, Duration.ofMinutes(1), ticker);
+            this.tokens = new TokenBucket(tokensPerMinute, Duration.ofMinutes(1), ticker);
+            this.maxConcurrent = maxConcurrent;
+            this.bulkhead = new Semaphore(maxConcurrent, true);
+        }
+
+        void acquire(int estimatedTokens, long deadline) {
+            try {
+                if (!bulkhead.tryAcquire()) {
+                    queued.incrementAndGet();
+                    if (!bulkhead.tryAcquire(deadline - ticker.nanoTime(), TimeUnit.NANOSECONDS)) {
+                        throw timeout();
+                    }
+                }
+                while (true) {
+                    long wait;
+                    synchronized (this) {
+                        wait = Math.max(pausedUntil - ticker.nanoTime(),
+                            Math.max(requests.nanosUntilAvailable(1), tokens.nanosUntilAvailable(estimatedTokens)));
+                        if (wait <= 0) {
+                            requests.consume(1);
+                            tokens.consume(estimatedTokens);
+                            calls.incrementAndGet();
+                            return;
+                        }
+                    }
+                    if (ticker.nanoTime() + wait > deadline) {
+                        bulkhead.release();
+                        throw timeout();
+                    }
+                    ticker.sleep(wait);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                bulkhead.release();
+                throw new QueueTimeoutException("Interrupted while waiting for " + name + " rate limit");
+            }
+        }
+
+        void release() {
+            bulkhead.release();
+        }
+
+        synchronized void pause(Duration retryAfter) {
+            pausedUntil = Math.max(pausedUntil, ticker.nanoTime() + retryAfter.toNanos());
+        }
+
+        private QueueTimeoutException timeout() {
+            timedOut.incrementAndGet();
+            return new QueueTimeoutException("Timed out waiting for " + name + " rate limit");
+        }
+
+        Map<String, Object> describe() {
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("requestsPerMinute", requests.capacity());
+            description.put("tokensPerMinute", tokens.capacity());
+            description.put("maxConcurrent", maxConcurrent);
+            description.put("inFlight", maxConcurrent - bulkhead.availablePermits());
+            description.put("waiting", bulkhead.getQueueLength());
+            description.put("calls", calls.get());
+            description.put("queued", queued.get());
+            description.put("timedOut", timedOut.get());
+            description.put("throttled", throttled.get());
+            return description;
+        }
+    }
+}
@@ -5,11 +5,25 @@ import com.resumeanalyzer.backend.repository.*;
 import com.resumeanalyzer.backend.service.*;
 import com.resumeanalyzer.backend.dto.CandidateAnalysisDTO;
 import com.resumeanalyzer.backend.dto.CandidateReportDTO;
+import com.resumeanalyzer.backend.dto.LeaderboardEntryPageDTO;
+import com.resumeanalyzer.backend.dto.LeaderboardEntryRowDTO;
 import com.resumeanalyzer.backend.dto.LeaderboardSummaryDTO;
+import com.resumeanalyzer.backend.dto.ResumeFileDTO;
+import com.resumeanalyzer.backend.dto.UploadProgressDTO;
+import com.resumeanalyzer.backend.util.ParsedDocument;
+import com.resumeanalyzer.backend.util.SkillTaxonomy;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.apache.tika.Tika;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
@@ -17,28 +31,52 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import com.itextpdf.text.Document;
-import com.itextpdf.text.Paragraph;
-import com.itextpdf.text.FontFactory;
-import com.itextpdf.text.pdf.PdfWriter;
-import java.io.ByteArrayOutputStream;
+import java.util.zip.GZIPOutputStream;
 import java.nio.charset.StandardCharsets;
 
 @Service
 @RequiredArgsConstructor
 public class RecruiterServiceImpl implements RecruiterService {
-    private final ResumeRepository resumeRepository;
+    private static final Logger logger = LoggerFactory.getLogger(RecruiterServiceImpl.class);
+
     private final JobDescriptionRepository jobDescriptionRepository;
     private final LeaderboardRepository leaderboardRepository;
+    private final AnalysisRepository analysisRepository;
     private final LeaderboardEntryRepository leaderboardEntryRepository;
     private final SkillExtractionService skillExtractionService;
+    private final SkillTaxonomyService skillTaxonomyService;
     private final CandidateAnalysisService candidateAnalysisService;
     private final LLMAnalysisService llmAnalysisService;
-    private final Tika tika = new Tika();
+    private final BulkUploadPipeline bulkUploadPipeline;
+    private final BulkUploadJobRegistry bulkUploadJobRegistry;
+    private final LeaderboardEntryBatchWriter leaderboardEntryBatchWriter;
+    private final LeaderboardExportWriter leaderboardExportWriter;
+    private final CandidateReportPdfRenderer candidateReportPdfRenderer;
+    private final EntityManager entityManager;
+    private final DocumentExtractionService documentExtractionService;
+    private final ResumeStorageService resumeStorageService;
+    private final DocumentContentService documentContentService;
     private static final String UPLOAD_DIR = "uploads";
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @Value("${report-export.max-entries:200}")
+    private int maxReportEntries;
+
+    @Autowired
+    @Qualifier("taskExecutor")
+    private Executor taskExecutor;
+
+    /**
+     * A resume of an async upload, already copied out of the request. {@code stored} is null when
+     * copying failed, in which case {@code error} says why and the file fails its STORE stage.
+     */
+    private record StoredUpload(String originalFilename, ResumeStorageService.StoredFile stored, String error) {
+    }
 
     @Override
     @Transactional
@@ -46,22 +84,7 @@ public class RecruiterServiceImpl implements RecruiterService {
         System.out.println("=== RecruiterServiceImpl.bulkUpload START (OPTIMIZED) ===");
         long startTime = System.currentTimeMillis();
         
-        JobDescription jd = null;
-        
-        // Handle JD file upload
-        if (jdFile != null && !jdFile.isEmpty()) {
-            System.out.println("Processing JD file: " + jdFile.getOriginalFilename());
-            jd = saveJobDescription(jdFile, recruiter);
-            System.out.println("JD file saved with ID: " + jd.getId());
-        } 
-        // Handle JD text input
-        else if (jdText != null && !jdText.trim().isEmpty()) {
-            System.out.println("Processing JD text input (length: " + jdText.length() + ")");
-            jd = saveJobDescriptionFromText(jdText, jdTitle, recruiter);
-            System.out.println("JD text saved with ID: " + jd.getId());
-        } else {
-            System.out.println("No JD provided - processing resumes without job description");
-        }
+        JobDescription jd = resolveJobDescription(jdFile, jdText, jdTitle, recruiter);
         
         System.out.println("Creating leaderboard...");
         Leaderboard leaderboard = Leaderboard.builder()
@@ -71,114 +94,284 @@ public class RecruiterServiceImpl implements RecruiterService {
         leaderboard = leaderboardRepository.save(leaderboard);
         System.out.println("Leaderboard created with ID: " + leaderboard.getId());
         
-        System.out.println("Processing " + resumes.size() + " resume files (BATCH MODE)...");
-        List<LeaderboardEntry> entries = new ArrayList<>();
+        logger.info("Processing {} resume files through the upload pipeline", resumes.size());
+        // The JD is the same for every resume, so tokenize it once for the whole upload
+        ParsedDocument jdDocument = jd != null ? ParsedDocument.of(documentContentService.jobDescriptionText(jd)) : null;
+        List<BulkUploadPipeline.Outcome> outcomes = bulkUploadPipeline.run(
+                resumes, MultipartFile::getOriginalFilename,
+                new ResumeSteps<MultipartFile>(jdDocument, recruiter) {
+                    @Override
+                    public ResumeStorageService.StoredFile store(MultipartFile file) throws IOException {
+                        return resumeStorageService.store(file);
+                    }
+                },
+                BulkUploadPipeline.Listener.NONE);
         
-        // Process resumes in batches for better performance
-        int batchSize = 5; // Process 5 resumes at a time
-        for (int i = 0; i < resumes.size(); i += batchSize) {
-            int endIndex = Math.min(i + batchSize, resumes.size());
-            List<MultipartFile> batch = resumes.subList(i, endIndex);
-            
-            System.out.println("Processing batch " + (i/batchSize + 1) + " (" + batch.size() + " resumes)...");
-            List<LeaderboardEntry> batchEntries = processBatch(batch, leaderboard, jd, recruiter);
-            entries.addAll(batchEntries);
-            
-            // Save intermediate results to prevent data loss
-            if (!batchEntries.isEmpty()) {
-                leaderboardEntryRepository.saveAll(batchEntries);
-                System.out.println("Saved batch " + (i/batchSize + 1) + " with " + batchEntries.size() + " entries");
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        for (BulkUploadPipeline.Outcome outcome : outcomes) {
+            if (outcome.succeeded()) {
+                entries.add(toLeaderboardEntry(leaderboard, outcome, jd != null));
+            } else {
+                // Continue with other resumes instead of failing completely
+                logger.warn("Error processing resume {} at {}: {}", outcome.fileName(), outcome.failedStage(), outcome.error());
             }
         }
         
-        System.out.println("All batches processed. Total entries: " + entries.size());
-        
-        // Assign ranks based on match scores (highest score = rank 1)
-        System.out.println("Assigning ranks based on scores...");
-        entries.sort((a, b) -> {
-            if (a.getMatchScore() == null && b.getMatchScore() == null) return 0;
-            if (a.getMatchScore() == null) return 1; // nulls last
-            if (b.getMatchScore() == null) return -1;
-            return Double.compare(b.getMatchScore(), a.getMatchScore()); // descending
-        });
+        logger.info("All resumes processed. Total entries: {}", entries.size());
         
-        for (int i = 0; i < entries.size(); i++) {
-            entries.get(i).setRankPosition(i + 1); // 1-based ranking
+        System.out.println("Saving entries and ranking them...");
+        leaderboardEntryBatchWriter.insertAll(entries);
+        // Ranked by the database in one statement, then read back to order the response
+        leaderboardEntryBatchWriter.assignRanks(leaderboard.getId());
+        Map<Long, LeaderboardEntry> entriesById = new HashMap<>();
+        for (LeaderboardEntry entry : entries) {
+            entriesById.put(entry.getId(), entry);
         }
-        
-        System.out.println("Saving entries with rank positions...");
-        List<LeaderboardEntry> savedEntries = leaderboardEntryRepository.saveAll(entries);
-        leaderboard.setEntries(savedEntries);
+        List<LeaderboardEntry> ranked = new ArrayList<>(entries.size());
+        for (Long id : leaderboardEntryBatchWriter.idsInRankOrder(leaderboard.getId())) {
+            LeaderboardEntry entry = entriesById.get(id);
+            entry.setRankPosition(ranked.size() + 1);
+            ranked.add(entry);
+        }
+        // The entries were written past Hibernate; detach the leaderboard so attaching them for the
+        // response does not make the flush try to persist them again
+        entityManager.detach(leaderboard);
+        leaderboard.setEntries(ranked);
         
         long endTime = System.currentTimeMillis();
-        System.out.println("Saving final leaderboard...");
-        Leaderboard finalLeaderboard = leaderboardRepository.save(leaderboard);
         System.out.println("=== RecruiterServiceImpl.bulkUpload COMPLETED in " + (endTime - startTime) + "ms ===");
         
-        return finalLeaderboard;
+        return leaderboard;
     }
     
-    private List<LeaderboardEntry> processBatch(List<MultipartFile> batch, Leaderboard leaderboard, JobDescription jd, User recruiter) {
-        List<LeaderboardEntry> entries = new ArrayList<>();
+    @Override
+    public UploadProgressDTO startBulkUpload(List<MultipartFile> resumes, MultipartFile jdFile, String jdText, String jdTitle, User recruiter) {
+        JobDescription jd = resolveJobDescription(jdFile, jdText, jdTitle, recruiter);
+        Leaderboard leaderboard = leaderboardRepository.save(Leaderboard.builder()
+                .recruiter(recruiter)
+                .jobDescription(jd)
+                .build());
         
-        for (int i = 0; i < batch.size(); i++) {
-            MultipartFile resumeFile = batch.get(i);
-            System.out.println("Processing resume in batch: " + resumeFile.getOriginalFilename());
-            
+        // Multipart files are deleted when the request ends, so copy them to disk before returning
+        List<StoredUpload> uploads = new ArrayList<>(resumes.size());
+        for (MultipartFile file : resumes) {
             try {
-                Resume resume = saveResume(resumeFile, recruiter);
-                System.out.println("Resume saved with ID: " + resume.getId());
-                
-                String parsedText = resume.getParsedText();
-                String candidateName = extractCandidateNameWithLLM(parsedText);
-                System.out.println("Extracted candidate name: " + candidateName);
-                
-                // Use optimized analysis service
-                if (jd != null) {
-                    System.out.println("Analyzing with JD (optimized)...");
-                    var analysis = candidateAnalysisService.analyzeWithJobDescription(parsedText, jd.getText());
-                    System.out.println("Analysis completed. Overall score: " + analysis.getOverallScore());
-                    
-                    LeaderboardEntry entry = LeaderboardEntry.builder()
-                            .leaderboard(leaderboard)
-                            .candidateName(candidateName)
-                            .resume(resume)
-                            .matchScore(analysis.getOverallScore())
-                            .skills(String.join(", ", 
-                                   (analysis.getMatchedSkills() != null && !analysis.getMatchedSkills().isEmpty()) ? 
-                                   analysis.getMatchedSkills() : analysis.getSkills()))
-                            .experience(analysis.getExperienceLevel())
-                            .projects(String.join(", ", analysis.getProjects()))
-                            .hackathons(String.join(", ", analysis.getHackathons()))
-                            .build();
-                    entries.add(entry);
-                    System.out.println("Entry created for candidate: " + candidateName);
-                } else {
-                    System.out.println("Analyzing without JD (optimized)...");
-                    var analysis = candidateAnalysisService.analyzeWithoutJobDescription(parsedText);
-                    System.out.println("Analysis completed. Overall score: " + analysis.getOverallScore());
-                    
-                    LeaderboardEntry entry = LeaderboardEntry.builder()
-                            .leaderboard(leaderboard)
-                            .candidateName(candidateName)
-                            .resume(resume)
-                            .matchScore(analysis.getOverallScore())
-                            .skills(String.join(", ", analysis.getSkills()))
-                            .experience(analysis.getExperienceLevel())
-                            .projects(String.join(", ", analysis.getProjects()))
-                            .hackathons(String.join(", ", analysis.getHackathons()))
-                            .build();
-                    entries.add(entry);
-                    System.out.println("Entry created for candidate: " + candidateName);
+                uploads.add(new StoredUpload(file.getOriginalFilename(), resumeStorageService.store(file), null));
+            } catch (IOException e) {
+                uploads.add(new StoredUpload(file.getOriginalFilename(), null, "Failed to store file: " + e.getMessage()));
+            }
+        }
+        
+        BulkUploadJobRegistry.Job job = bulkUploadJobRegistry.create(recruiter.getId(), leaderboard.getId(),
+                uploads.stream().map(StoredUpload::originalFilename).collect(Collectors.toList()));
+        ParsedDocument jdDocument = jd != null ? ParsedDocument.of(documentContentService.jobDescriptionText(jd)) : null;
+        try {
+            taskExecutor.execute(() -> runBulkUploadJob(job, leaderboard, uploads, jdDocument, recruiter));
+        } catch (RejectedExecutionException e) {
+            // Nothing of the upload is kept: the client only gets an error, never the job id
+            bulkUploadJobRegistry.remove(job);
+            leaderboardRepository.delete(leaderboard);
+            deleteJobDescriptionIfUnused(jd);
+            for (StoredUpload upload : uploads) {
+                if (upload.stored() != null) {
+                    resumeStorageService.discard(upload.stored());
                 }
-            } catch (Exception e) {
-                System.err.println("Error processing resume " + resumeFile.getOriginalFilename() + ": " + e.getMessage());
-                e.printStackTrace();
-                // Continue with other resumes instead of failing completely
             }
+            throw new RuntimeException("Too many bulk uploads in progress, please try again later");
+        }
+        logger.info("Bulk upload job {} started for {} resumes", job.getId(), uploads.size());
+        return bulkUploadJobRegistry.progress(job);
+    }
+    
+    @Override
+    public UploadProgressDTO getBulkUploadProgress(String jobId, User recruiter) {
+        return bulkUploadJobRegistry.progress(bulkUploadJobRegistry.get(jobId, recruiter.getId()));
+    }
+    
+    @Override
+    public SseEmitter streamBulkUploadProgress(String jobId, User recruiter) {
+        return bulkUploadJobRegistry.subscribe(bulkUploadJobRegistry.get(jobId, recruiter.getId()));
+    }
+    
+    /**
+     * Body of an async upload, run on the task executor. Each entry is saved as soon as its resume
+     * is scored, without a rank, so the leaderboard fills in while the rest of the batch is still
+     * running; ranks are assigned once every file has finished.
+     */
+    private void runBulkUploadJob(BulkUploadJobRegistry.Job job, Leaderboard leaderboard, List<StoredUpload> uploads,
+                                  ParsedDocument jdDocument, User recruiter) {
+        long startTime = System.currentTimeMillis();
+        try {
+            bulkUploadPipeline.run(uploads, StoredUpload::originalFilename,
+                    new ResumeSteps<StoredUpload>(jdDocument, recruiter) {
+                        @Override
+                        public ResumeStorageService.StoredFile store(StoredUpload upload) throws IOException {
+                            if (upload.stored() == null) {
+                                throw new IOException(upload.error());
+                            }
+                            return upload.stored();
+                        }
+                    },
+                    new BulkUploadPipeline.Listener() {
+                        @Override
+                        public void onStarted(int index, String fileName) {
+                            bulkUploadJobRegistry.fileStarted(job, index);
+                        }
+                        
+                        @Override
+                        public void onFinished(BulkUploadPipeline.Outcome outcome) {
+                            if (!outcome.succeeded()) {
+                                bulkUploadJobRegistry.fileFailed(job, outcome.index(),
+                                        "Failed at " + outcome.failedStage() + ": " + outcome.error());
+                                return;
+                            }
+                            try {
+                                LeaderboardEntry entry = leaderboardEntryRepository.save(
+                                        toLeaderboardEntry(leaderboard, outcome, jdDocument != null));
+                                bulkUploadJobRegistry.fileCompleted(job, outcome.index(), entry.getId(),
+                                        entry.getCandidateName(), entry.getMatchScore());
+                            } catch (RuntimeException e) {
+                                logger.warn("Error saving leaderboard entry for {}: {}", outcome.fileName(), e.getMessage());
+                                bulkUploadJobRegistry.fileFailed(job, outcome.index(), "Failed to save result: " + e.getMessage());
+                            }
+                        }
+                    });
+            
+            leaderboardEntryBatchWriter.assignRanks(leaderboard.getId());
+            bulkUploadJobRegistry.completed(job);
+            logger.info("Bulk upload job {} completed in {}ms", job.getId(), System.currentTimeMillis() - startTime);
+        } catch (RuntimeException e) {
+            logger.error("Bulk upload job {} failed: {}", job.getId(), e.getMessage(), e);
+            bulkUploadJobRegistry.failed(job, "Upload failed: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    @Transactional
+    public LeaderboardSummaryDTO rescoreLeaderboard(Long leaderboardId, MultipartFile jdFile, String jdText, String jdTitle, User recruiter) {
+        long startTime = System.currentTimeMillis();
+        Leaderboard leaderboard = getLeaderboard(leaderboardId, recruiter);
+        JobDescription jd = resolveJobDescription(jdFile, jdText, jdTitle, recruiter);
+        if (jd != null) {
+            // Earlier analyses keep pointing at the previous revision; a revision nothing points at goes
+            JobDescription previous = leaderboard.getJobDescription();
+            leaderboard.setJobDescription(jd);
+            deleteJobDescriptionIfUnused(previous);
+        } else {
+            jd = leaderboard.getJobDescription();
+            if (jd == null) {
+                throw new RuntimeException("A job description is required to rescore a leaderboard");
+            }
+        }
+        ParsedDocument jdDocument = ParsedDocument.of(documentContentService.jobDescriptionText(jd));
+        
+        // Only the JD dependent columns change; the new values go into detached copies so the
+        // loaded entries stay clean and are written once, in batches
+        List<LeaderboardEntry> rescored = new ArrayList<>();
+        Double topScore = null;
+        for (LeaderboardEntry entry : leaderboardEntryRepository.findByLeaderboardIdWithResume(leaderboardId)) {
+            ParsedDocument resumeDocument = ParsedDocument.of(documentContentService.resumeText(entry.getResume()));
+            CandidateAnalysisDTO analysis = candidateAnalysisService.rescoreWithJobDescription(resumeDocument, jdDocument);
+            List<String> skills = analysis.getMatchedSkills() != null && !analysis.getMatchedSkills().isEmpty()
+                    ? analysis.getMatchedSkills() : analysis.getSkills();
+            rescored.add(LeaderboardEntry.builder()
+                    .id(entry.getId())
+                    .matchScore(analysis.getOverallScore())
+                    .skills(String.join(", ", skills))
+                    .build());
+            topScore = topScore == null ? analysis.getOverallScore() : Math.max(topScore, analysis.getOverallScore());
+        }
+        leaderboardEntryBatchWriter.updateScores(rescored);
+        leaderboardEntryBatchWriter.assignRanks(leaderboardId);
+        
+        logger.info("Leaderboard {} rescored: {} entries in {}ms", leaderboardId, rescored.size(),
+                System.currentTimeMillis() - startTime);
+        return LeaderboardSummaryDTO.builder()
+                .id(leaderboard.getId())
+                .jobTitle(jd.getTitle())
+                .createdAt(leaderboard.getCreatedAt())
+                .entryCount(rescored.size())
+                .topScore(topScore)
+                .build();
+    }
+    
+    private JobDescription resolveJobDescription(MultipartFile jdFile, String jdText, String jdTitle, User recruiter) {
+        // Handle JD file upload
+        if (jdFile != null && !jdFile.isEmpty()) {
+            System.out.println("Processing JD file: " + jdFile.getOriginalFilename());
+            JobDescription jd = saveJobDescription(jdFile, recruiter);
+            System.out.println("JD file saved with ID: " + jd.getId());
+            return jd;
+        }
+        // Handle JD text input
+        if (jdText != null && !jdText.trim().isEmpty()) {
+            System.out.println("Processing JD text input (length: " + jdText.length() + ")");
+            JobDescription jd = saveJobDescriptionFromText(jdText, jdTitle, recruiter);
+            System.out.println("JD text saved with ID: " + jd.getId());
+            return jd;
+        }
+        System.out.println("No JD provided - processing resumes without job description");
+        return null;
+    }
+    
+    /**
+     * Parse, name and analyze steps shared by the sync and async uploads; only storing the
+     * file depends on how the upload is held.
+     */
+    private abstract class ResumeSteps<F> implements BulkUploadPipeline.Steps<F> {
+        private final ParsedDocument jdDocument;
+        private final User recruiter;
+        
+        ResumeSteps(ParsedDocument jdDocument, User recruiter) {
+            this.jdDocument = jdDocument;
+            this.recruiter = recruiter;
+        }
+        
+        @Override
+        public Resume parse(ResumeStorageService.StoredFile storedFile) {
+            // A file this recruiter uploaded before comes back as the same resume, without parsing
+            try {
+                return resumeStorageService.saveResume(storedFile, recruiter);
+            } catch (RuntimeException e) {
+                // Nothing will refer to a file that could not be parsed, so do not keep it
+                resumeStorageService.discard(storedFile);
+                throw e;
+            }
+        }
+        
+        @Override
+        public CandidateAnalysisDTO analyze(Resume resume) {
+            ParsedDocument resumeDocument = ParsedDocument.of(documentContentService.resumeText(resume));
+            return jdDocument != null
+                    ? candidateAnalysisService.analyzeWithJobDescription(resumeDocument, jdDocument)
+                    : candidateAnalysisService.analyzeWithoutJobDescription(resumeDocument);
         }
         
-        return entries;
+        @Override
+        public String extractName(Resume resume, CandidateAnalysisDTO analysis) {
+            // An LLM analysis returns the name with the scores; only ask again when it did not
+            if (analysis.getCandidateName() != null) {
+                return analysis.getCandidateName();
+            }
+            return extractCandidateNameWithLLM(documentContentService.resumeText(resume));
+        }
+    }
+    
+    private LeaderboardEntry toLeaderboardEntry(Leaderboard leaderboard, BulkUploadPipeline.Outcome outcome, boolean hasJd) {
+        CandidateAnalysisDTO analysis = outcome.analysis();
+        // With a JD the entry lists the skills that matched it, otherwise all skills
+        List<String> skills = hasJd && analysis.getMatchedSkills() != null && !analysis.getMatchedSkills().isEmpty()
+                ? analysis.getMatchedSkills() : analysis.getSkills();
+        return LeaderboardEntry.builder()
+                .leaderboard(leaderboard)
+                .candidateName(outcome.candidateName())
+                .resume(outcome.resume())
+                .matchScore(analysis.getOverallScore())
+                .skills(String.join(", ", skills))
+                .experience(analysis.getExperienceLevel())
+                .projects(String.join(", ", analysis.getProjects()))
+                .hackathons(String.join(", ", analysis.getHackathons()))
+                .build();
     }
     
     @Override
@@ -202,71 +395,70 @@ public class RecruiterServiceImpl implements RecruiterService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public byte[] generateCandidatePdf(Long entryId, User recruiter) {
         LeaderboardEntry entry = getLeaderboardEntry(entryId, recruiter);
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            Document document = new Document();
-            PdfWriter.getInstance(document, baos);
-            document.open();
-            document.add(new Paragraph("Candidate Report", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18)));
-            document.add(new Paragraph("Candidate Name: " + entry.getCandidateName()));
-            document.add(new Paragraph("Match Score: " + (entry.getMatchScore() != null ? String.format("%.2f", entry.getMatchScore() * 100) + "%" : "N/A")));
-            document.add(new Paragraph("Skills: " + entry.getSkills()));
-            document.add(new Paragraph("Experience: " + entry.getExperience()));
-            document.add(new Paragraph("Projects: " + entry.getProjects()));
-            document.add(new Paragraph("Hackathons: " + entry.getHackathons()));
-            if (entry.getLeaderboard().getJobDescription() != null) {
-                document.add(new Paragraph("\nJob Description: " + entry.getLeaderboard().getJobDescription().getTitle()));
-            }
-            document.close();
-            return baos.toByteArray();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to generate PDF", e);
-        }
+        JobDescription jd = entry.getLeaderboard().getJobDescription();
+        return candidateReportPdfRenderer.render(
+                CandidateReportPdfRenderer.ReportData.of(entry, jd != null ? jd.getTitle() : null));
     }
 
     @Override
-    public byte[] exportLeaderboardCsv(Long leaderboardId, int topN, User recruiter) {
+    @Transactional(readOnly = true)
+    public StreamingResponseBody exportCandidateReports(Long leaderboardId, List<Long> entryIds, int topN, User recruiter) {
         Leaderboard leaderboard = getLeaderboard(leaderboardId, recruiter);
-        List<LeaderboardEntry> entries = leaderboard.getEntries();
-        // Sort by matchScore descending, nulls last
-        entries = entries.stream()
-                .sorted(Comparator.comparing((LeaderboardEntry e) -> e.getMatchScore() == null ? -1 : e.getMatchScore()).reversed())
-                .limit(topN)
-                .collect(Collectors.toList());
-        StringBuilder sb = new StringBuilder();
-        sb.append("Candidate Name,Match Score,Skills,Experience,Projects,Hackathons\n");
-        for (LeaderboardEntry entry : entries) {
-            sb.append('"').append(entry.getCandidateName().replaceAll("\"", "")).append('"').append(',');
-            sb.append(entry.getMatchScore() != null ? String.format("%.2f", entry.getMatchScore() * 100) : "N/A").append(',');
-            sb.append('"').append(entry.getSkills().replaceAll("\"", "")).append('"').append(',');
-            sb.append('"').append(entry.getExperience().replaceAll("\"", "")).append('"').append(',');
-            sb.append('"').append(entry.getProjects().replaceAll("\"", "")).append('"').append(',');
-            sb.append('"').append(entry.getHackathons().replaceAll("\"", "")).append('"').append('\n');
+        List<LeaderboardEntry> entries;
+        if (entryIds != null && !entryIds.isEmpty()) {
+            Set<Long> ids = new LinkedHashSet<>(entryIds);
+            if (ids.size() > maxReportEntries) {
+                throw new RuntimeException("At most " + maxReportEntries + " reports can be exported at once");
+            }
+            entries = leaderboardEntryRepository.findByLeaderboardIdAndIdInRankOrder(leaderboardId, ids);
+            if (entries.size() != ids.size()) {
+                throw new RuntimeException("Leaderboard entry not found");
+            }
+        } else {
+            int limit = topN > 0 ? Math.min(topN, maxReportEntries) : maxReportEntries;
+            entries = leaderboardEntryRepository.findByLeaderboardIdInRankOrder(leaderboardId, PageRequest.of(0, limit));
         }
-        return sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        // Snapshot the entries now; the reports are rendered after the transaction has ended
+        String jobTitle = leaderboard.getJobDescription() != null ? leaderboard.getJobDescription().getTitle() : null;
+        List<CandidateReportPdfRenderer.ReportData> reports = entries.stream()
+                .map(entry -> CandidateReportPdfRenderer.ReportData.of(entry, jobTitle))
+                .collect(Collectors.toList());
+        return out -> candidateReportPdfRenderer.writeZip(reports, out);
     }
 
-    private Resume saveResume(MultipartFile file, User user) {
+    @Override
+    public StreamingResponseBody exportLeaderboard(Long leaderboardId, int topN, String format, boolean gzip, User recruiter) {
+        getLeaderboard(leaderboardId, recruiter);
+        LeaderboardExportWriter.Format exportFormat;
         try {
-            Path uploadPath = Paths.get(UPLOAD_DIR);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
+            exportFormat = LeaderboardExportWriter.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported export format: " + format);
+        }
+        // Rows are read and written on the response thread, after this method has returned
+        return out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                leaderboardExportWriter.write(leaderboardId, topN, exportFormat, compressed);
+                compressed.finish();
+            } else {
+                leaderboardExportWriter.write(leaderboardId, topN, exportFormat, out);
             }
-            String fileName = System.currentTimeMillis() + "_" + file.getOriginalFilename();
-            Path filePath = uploadPath.resolve(fileName);
-            file.transferTo(filePath);
-            String parsedText = tika.parseToString(filePath.toFile());
-            Resume resume = Resume.builder()
-                    .user(user)
-                    .fileName(fileName)
-                    .filePath(filePath.toString())
-                    .parsedText(parsedText)
-                    .build();
-            return resumeRepository.save(resume);
-        } catch (IOException | org.apache.tika.exception.TikaException e) {
-            throw new RuntimeException("Failed to upload or parse resume", e);
+        };
+    }
+
+    @Override
+    public StreamingResponseBody exportLeaderboardCsv(Long leaderboardId, int topN, User recruiter) {
+        // This endpoint has always exported no rows for topN <= 0, where the newer export reads 0 as all
+        if (topN <= 0) {
+            getLeaderboard(leaderboardId, recruiter);
+            return out -> leaderboardExportWriter.writeHeader(LeaderboardExportWriter.Format.CSV, out);
         }
+        return exportLeaderboard(leaderboardId, topN, "csv", false, recruiter);
     }
 
     private JobDescription saveJobDescriptionFromText(String jdText, String jdTitle, User user) {
@@ -274,7 +466,7 @@ public class RecruiterServiceImpl implements RecruiterService {
                 .user(user)
                 .fileName(null) // No file for text input
                 .filePath(null) // No file path for text input
-                .text(jdText)
+                .contentId(documentContentService.store(jdText))
                 .title(jdTitle != null && !jdTitle.trim().isEmpty() ? jdTitle : "Job Description")
                 .build();
         return jobDescriptionRepository.save(jd);
@@ -289,16 +481,16 @@ public class RecruiterServiceImpl implements RecruiterService {
             String fileName = System.currentTimeMillis() + "_" + file.getOriginalFilename();
             Path filePath = uploadPath.resolve(fileName);
             file.transferTo(filePath);
-            String parsedText = tika.parseToString(filePath.toFile());
+            String parsedText = documentExtractionService.extractText(filePath);
             JobDescription jd = JobDescription.builder()
                     .user(user)
                     .fileName(fileName)
                     .filePath(filePath.toString())
-                    .text(parsedText)
+                    .contentId(documentContentService.store(parsedText))
                     .title(file.getOriginalFilename())
                     .build();
             return jobDescriptionRepository.save(jd);
-        } catch (IOException | org.apache.tika.exception.TikaException e) {
+        } catch (IOException e) {
             throw new RuntimeException("Failed to upload or parse JD", e);
         }
     }
@@ -497,13 +689,104 @@ public class RecruiterServiceImpl implements RecruiterService {
         return leaderboards;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<LeaderboardSummaryDTO> getLeaderboardSummaries(User recruiter, Long beforeId, int limit) {
+        return leaderboardRepository.findSummariesByRecruiterId(recruiter.getId(), beforeId, PageRequest.of(0, pageSize(limit)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LeaderboardEntryPageDTO getLeaderboardEntries(Long leaderboardId, String sort, String direction, String after,
+                                                         int limit, User recruiter) {
+        getLeaderboard(leaderboardId, recruiter);
+        boolean byName = "name".equalsIgnoreCase(sort);
+        if (!byName && !"rank".equalsIgnoreCase(sort)) {
+            throw new RuntimeException("Unsupported sort: " + sort);
+        }
+        boolean descending = "desc".equalsIgnoreCase(direction);
+        if (!descending && !"asc".equalsIgnoreCase(direction)) {
+            throw new RuntimeException("Unsupported direction: " + direction);
+        }
+
+        // The cursor is the sort value and id of the last row of the previous page, or only the id
+        // once paging has reached the entries without a sort value
+        String afterValue = null;
+        Long afterId = null;
+        if (after != null && !after.isBlank()) {
+            String cursor;
+            try {
+                cursor = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+                int separator = cursor.lastIndexOf('|');
+                afterValue = separator >= 0 ? cursor.substring(0, separator) : null;
+                afterId = Long.valueOf(cursor.substring(separator + 1));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+        boolean inNullTail = afterId != null && afterValue == null;
+
+        int size = pageSize(limit);
+        // One extra row tells whether there is a next page
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<LeaderboardEntryRowDTO> rows = new ArrayList<>(size + 1);
+        if (!inNullTail) {
+            if (byName) {
+                rows.addAll(descending
+                        ? leaderboardEntryRepository.findRowsByNameDesc(leaderboardId, afterValue, afterId, page)
+                        : leaderboardEntryRepository.findRowsByNameAsc(leaderboardId, afterValue, afterId, page));
+            } else {
+                Integer afterRank;
+                try {
+                    afterRank = afterValue == null ? null : Integer.valueOf(afterValue);
+                } catch (NumberFormatException e) {
+                    throw new RuntimeException("Invalid cursor");
+                }
+                rows.addAll(descending
+                        ? leaderboardEntryRepository.findRowsByRankDesc(leaderboardId, afterRank, afterId, page)
+                        : leaderboardEntryRepository.findRowsByRankAsc(leaderboardId, afterRank, afterId, page));
+            }
+        }
+        if (rows.size() <= size) {
+            // Unranked (e.g. a background upload still running) or unnamed entries come last
+            Long tailAfterId = inNullTail ? afterId : null;
+            PageRequest tailPage = PageRequest.of(0, size + 1 - rows.size());
+            if (byName) {
+                rows.addAll(descending
+                        ? leaderboardEntryRepository.findUnnamedRowsDesc(leaderboardId, tailAfterId, tailPage)
+                        : leaderboardEntryRepository.findUnnamedRowsAsc(leaderboardId, tailAfterId, tailPage));
+            } else {
+                rows.addAll(descending
+                        ? leaderboardEntryRepository.findUnrankedRowsDesc(leaderboardId, tailAfterId, tailPage)
+                        : leaderboardEntryRepository.findUnrankedRowsAsc(leaderboardId, tailAfterId, tailPage));
+            }
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = new ArrayList<>(rows.subList(0, size));
+            LeaderboardEntryRowDTO last = rows.get(size - 1);
+            Object lastValue = byName ? last.getCandidateName() : last.getRankPosition();
+            String cursor = (lastValue != null ? lastValue + "|" : "") + last.getId();
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+        }
+        return LeaderboardEntryPageDTO.builder()
+                .entries(rows)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
     @Override
     public CandidateAnalysisDTO getCandidateAnalytics(Long entryId, User recruiter) {
         LeaderboardEntry entry = getLeaderboardEntry(entryId, recruiter);
-        String resumeText = entry.getResume().getParsedText();
+        String resumeText = documentContentService.resumeText(entry.getResume());
         
         if (entry.getLeaderboard().getJobDescription() != null) {
-            String jdText = entry.getLeaderboard().getJobDescription().getText();
+            String jdText = documentContentService.jobDescriptionText(entry.getLeaderboard().getJobDescription());
             return candidateAnalysisService.analyzeWithJobDescription(resumeText, jdText);
         } else {
             return candidateAnalysisService.analyzeWithoutJobDescription(resumeText);
@@ -546,7 +829,7 @@ public class RecruiterServiceImpl implements RecruiterService {
             System.out.println("Successfully found entry for candidate: " + entry.getCandidateName());
             
             Resume resume = entry.getResume();
-            String resumeText = resume.getParsedText();
+            String resumeText = documentContentService.resumeText(resume);
             
             if (resumeText == null || resumeText.trim().isEmpty()) {
                 System.err.println("WARNING: Resume text is empty for entry " + entryId);
@@ -566,7 +849,7 @@ public class RecruiterServiceImpl implements RecruiterService {
             System.out.println("Performing fresh analysis (cached data insufficient)");
             String jdText = null;
             if (entry.getLeaderboard().getJobDescription() != null) {
-                jdText = entry.getLeaderboard().getJobDescription().getText();
+                jdText = documentContentService.jobDescriptionText(entry.getLeaderboard().getJobDescription());
             }
             
             // Perform FAST analysis for the report (avoid slow LLM calls)
@@ -643,27 +926,20 @@ public class RecruiterServiceImpl implements RecruiterService {
         }
     }
     
+    /**
+     * Determines the top skill category based on the skills list
+     */
     private String determineTopSkillCategory(List<String> skills) {
         if (skills == null || skills.isEmpty()) {
             return "General";
         }
         
-        // Count skills by category
+        SkillTaxonomy taxonomy = skillTaxonomyService.current();
         Map<String, Integer> categoryCounts = new HashMap<>();
         
         for (String skill : skills) {
-            String lowerSkill = skill.toLowerCase();
-            if (lowerSkill.matches(".*(java|python|javascript|c\\+\\+|c#|go|rust|php|ruby).*")) {
-                categoryCounts.merge("Programming Languages", 1, Integer::sum);
-            } else if (lowerSkill.matches(".*(react|angular|vue|spring|django|express).*")) {
-                categoryCounts.merge("Frameworks", 1, Integer::sum);
-            } else if (lowerSkill.matches(".*(aws|azure|docker|kubernetes|jenkins).*")) {
-                categoryCounts.merge("Cloud & DevOps", 1, Integer::sum);
-            } else if (lowerSkill.matches(".*(mysql|postgresql|mongodb|redis|oracle).*")) {
-                categoryCounts.merge("Databases", 1, Integer::sum);
-            } else {
-                categoryCounts.merge("Tools & Technologies", 1, Integer::sum);
-            }
+            String category = taxonomy.categoryOf(skill);
+            categoryCounts.merge(category != null ? category : "Tools & Technologies", 1, Integer::sum);
         }
         
         return categoryCounts.entrySet().stream()
@@ -673,6 +949,7 @@ public class RecruiterServiceImpl implements RecruiterService {
     }
 
     @Override
+    @Transactional
     public void deleteLeaderboard(Long leaderboardId, User recruiter) {
         System.out.println("=== Deleting leaderboard ID: " + leaderboardId + " for recruiter: " + recruiter.getEmail() + " ===");
         
@@ -687,15 +964,39 @@ public class RecruiterServiceImpl implements RecruiterService {
         // Delete all associated entries first (cascade should handle this, but being explicit)
         System.out.println("Deleting " + leaderboard.getEntries().size() + " leaderboard entries");
         
+        JobDescription jd = leaderboard.getJobDescription();
         leaderboardRepository.delete(leaderboard);
+        // The job description was uploaded with the leaderboard; it goes too unless still used
+        deleteJobDescriptionIfUnused(jd);
         System.out.println("Leaderboard deleted successfully");
     }
 
+    /**
+     * Deletes a job description no leaderboard or analysis refers to any more, with its stored
+     * text and uploaded file.
+     */
+    private void deleteJobDescriptionIfUnused(JobDescription jd) {
+        if (jd == null || leaderboardRepository.countByJobDescriptionId(jd.getId()) > 0
+                || analysisRepository.countByJobDescriptionId(jd.getId()) > 0) {
+            return;
+        }
+        jobDescriptionRepository.delete(jd);
+        documentContentService.release(jd.getContentId());
+        if (jd.getFilePath() != null) {
+            try {
+                Files.deleteIfExists(Paths.get(jd.getFilePath()));
+            } catch (IOException e) {
+                logger.warn("Could not delete job description file {}: {}", jd.getFilePath(), e.getMessage());
+            }
+        }
+    }
+
     @Override
-    public String getCandidateResumeFilePath(Long entryId, User recruiter) {
-        System.out.println("=== Getting resume file path for entry ID: " + entryId + " ===");
+    public ResumeFileDTO getCandidateResumeFile(Long entryId, User recruiter) {
+        System.out.println("=== Getting resume file for entry ID: " + entryId + " ===");
         
-        LeaderboardEntry entry = leaderboardEntryRepository.findById(entryId)
+        // Fetches the leaderboard, recruiter and resume with the entry; they are lazy and there is no session here
+        LeaderboardEntry entry = leaderboardEntryRepository.findByIdWithRelationships(entryId)
                 .orElseThrow(() -> new RuntimeException("Leaderboard entry not found"));
         
         // Verify the entry belongs to a leaderboard owned by the recruiter
@@ -704,10 +1005,12 @@ public class RecruiterServiceImpl implements RecruiterService {
         }
         
         Resume resume = entry.getResume();
-        String filePath = resume.getFilePath();
-        
-        System.out.println("Resume file path: " + filePath);
-        return filePath;
+        System.out.println("Resume file path: " + resume.getFilePath());
+        return ResumeFileDTO.builder()
+                .filePath(resume.getFilePath())
+                .fileName(resume.getFileName())
+                .contentHash(resume.getContentHash())
+                .build();
     }
     
     /**
@@ -755,7 +1058,7 @@ public class RecruiterServiceImpl implements RecruiterService {
                 
                 // Skills
                 .allSkills(skillsList)
-                .topSkillCategory(getTopSkillCategory(skillsList))
+                .topSkillCategory(determineTopSkillCategory(skillsList))
                 
                 // Experience
                 .experienceLevel(entry.getExperience())
@@ -812,35 +1115,4 @@ public class RecruiterServiceImpl implements RecruiterService {
         return null;
     }
     
-    /**
-     * Determines the top skill category based on the skills list
-     */
-    private String getTopSkillCategory(List<String> skills) {
-        if (skills == null || skills.isEmpty()) {
-            return "General";
-        }
-        
-        // Count skills by category
-        Map<String, Integer> categoryCounts = new HashMap<>();
-        
-        for (String skill : skills) {
-            String lowerSkill = skill.toLowerCase();
-            if (lowerSkill.matches(".*(java|python|javascript|c\\+\\+|c#|go|rust|php|ruby).*")) {
-                categoryCounts.merge("Programming Languages", 1, Integer::sum);
-            } else if (lowerSkill.matches(".*(react|angular|vue|spring|django|express).*")) {
-                categoryCounts.merge("Frameworks", 1, Integer::sum);
-            } else if (lowerSkill.matches(".*(aws|azure|docker|kubernetes|jenkins).*")) {
-                categoryCounts.merge("Cloud & DevOps", 1, Integer::sum);
-            } else if (lowerSkill.matches(".*(mysql|postgresql|mongodb|redis|oracle).*")) {
-                categoryCounts.merge("Databases", 1, Integer::sum);
-            } else {
-                categoryCounts.merge("Tools & Technologies", 1, Integer::sum);
-            }
-        }
-        
-        return categoryCounts.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("General");
-    }
 }
\ No newline at end of file
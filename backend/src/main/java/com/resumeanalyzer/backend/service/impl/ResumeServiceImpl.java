@@ -3,49 +3,36 @@ package com.resumeanalyzer.backend.service.impl;
 import com.resumeanalyzer.backend.entity.Resume;
 import com.resumeanalyzer.backend.entity.User;
 import com.resumeanalyzer.backend.repository.ResumeRepository;
+import com.resumeanalyzer.backend.service.ResumeDeletedEvent;
+import com.resumeanalyzer.backend.service.ResumeStorageService;
 import com.resumeanalyzer.backend.service.ResumeService;
 import lombok.RequiredArgsConstructor;
-import org.apache.tika.Tika;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class ResumeServiceImpl implements ResumeService {
     private final ResumeRepository resumeRepository;
-    private final Tika tika = new Tika();
-    private static final String UPLOAD_DIR = "uploads";
+    private final ResumeStorageService resumeStorageService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Resume uploadResume(MultipartFile file, User user) {
         try {
-            // Ensure upload directory exists
-            Path uploadPath = Paths.get(UPLOAD_DIR);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
+            // Identical bytes are stored once; a repeat upload returns the existing resume
+            ResumeStorageService.StoredFile stored = resumeStorageService.store(file);
+            try {
+                return resumeStorageService.saveResume(stored, user);
+            } catch (RuntimeException e) {
+                resumeStorageService.discard(stored);
+                throw e;
             }
-            // Save file to disk
-            String fileName = System.currentTimeMillis() + "_" + file.getOriginalFilename();
-            Path filePath = uploadPath.resolve(fileName);
-            file.transferTo(filePath);
-            // Extract text with Tika
-            String parsedText = tika.parseToString(filePath.toFile());
-            // Save Resume entity
-            Resume resume = Resume.builder()
-                    .user(user)
-                    .fileName(fileName)
-                    .filePath(filePath.toString())
-                    .parsedText(parsedText)
-                    .build();
-            return resumeRepository.save(resume);
-        } catch (IOException | org.apache.tika.exception.TikaException e) {
+        } catch (IOException e) {
             throw new RuntimeException("Failed to upload or parse resume", e);
         }
     }
@@ -76,24 +63,11 @@ public class ResumeServiceImpl implements ResumeService {
                 }
             }
 
-            // Delete the physical file from disk
-            try {
-                Path filePath = Paths.get(resume.getFilePath());
-                System.out.println("Attempting to delete file: " + filePath);
-                if (Files.exists(filePath)) {
-                    Files.delete(filePath);
-                    System.out.println("Physical file deleted successfully");
-                } else {
-                    System.out.println("Physical file doesn't exist");
-                }
-            } catch (IOException e) {
-                System.err.println("Warning: Could not delete physical file: " + e.getMessage());
-                // Continue with database deletion even if file deletion fails
-            }
-
             // Delete from database
             resumeRepository.delete(resume);
             System.out.println("Resume deleted from database successfully");
+            // The stored file and extracted text are released once the delete has committed
+            eventPublisher.publishEvent(new ResumeDeletedEvent(resume));
             System.out.println("=== DELETE RESUME DEBUG END ===");
             return true;
         } catch (Exception e) {
@@ -0,0 +1,254 @@
+package com.resumeanalyzer.backend.service.impl;
+
+import com.resumeanalyzer.backend.entity.Resume;
+import com.resumeanalyzer.backend.entity.User;
+import com.resumeanalyzer.backend.repository.ResumeRepository;
+import com.resumeanalyzer.backend.service.DocumentContentService;
+import com.resumeanalyzer.backend.service.DocumentExtractionService;
+import com.resumeanalyzer.backend.service.ResumeDeletedEvent;
+import com.resumeanalyzer.backend.service.ResumeSavedEvent;
+import com.resumeanalyzer.backend.service.ResumeStorageService;
+import com.resumeanalyzer.backend.util.TtlLruCache;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed storage for uploaded resumes.
+ *
+ * An upload is streamed to a temporary file while its SHA-256 is computed, then moved to
+ * {@code <root>/<first two hex digits>/<hash>/<original file name>}. When that directory already
+ * holds a file the upload is discarded and the existing copy is used, so the same resume uploaded
+ * by several candidates or in several batches is kept once. The hash is stored on the resume,
+ * which lets a repeat upload reuse the resume row of the same user, or at least the stored text
+ * extracted for someone else, instead of parsing the file again.
+ *
+ * Looking up or creating a hash directory and deleting it happen under a lock striped by hash.
+ * A stored file handed to an upload is also remembered for a while: the upload may only save its
+ * resume row much later (background bulk uploads) and a file it is about to use is not deleted.
+ */
+@Service
+@RequiredArgsConstructor
+public class ResumeStorageServiceImpl implements ResumeStorageService {
+    private static final Logger logger = LoggerFactory.getLogger(ResumeStorageServiceImpl.class);
+    private static final int LOCK_STRIPES = 64;
+    private static final long REUSE_GRACE_MINUTES = 60;
+
+    private final ResumeRepository resumeRepository;
+    private final DocumentExtractionService documentExtractionService;
+    private final DocumentContentService documentContentService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${resume-storage.root:uploads/blobs}")
+    private String root;
+
+    private final Object[] locks = newLocks();
+    // Hashes of stored files recently handed to an upload that may not have saved its resume yet
+    private final TtlLruCache<String, Boolean> recentlyReused =
+            new TtlLruCache<>(10_000, REUSE_GRACE_MINUTES, TimeUnit.MINUTES);
+
+    @Override
+    public StoredFile store(MultipartFile file) throws IOException {
+        Path rootPath = Paths.get(root);
+        Path tmpDir = rootPath.resolve("tmp");
+        Files.createDirectories(tmpDir);
+        // Same file system as the final location, so the move below is a rename
+        Path tmp = tmpDir.resolve(UUID.randomUUID() + ".upload");
+        String originalFilename = originalFilename(file);
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                size = Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path dir = rootPath.resolve(hash.substring(0, 2)).resolve(hash);
+
+            synchronized (lockFor(hash)) {
+                Optional<Path> existing = existingBlob(dir);
+                if (existing.isPresent()) {
+                    logger.debug("Upload {} matches stored file {}", originalFilename, existing.get());
+                    recentlyReused.put(hash, Boolean.TRUE);
+                    return new StoredFile(hash, existing.get(), originalFilename, size, true);
+                }
+                Files.createDirectories(dir);
+                Path target = dir.resolve(originalFilename);
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // The same file uploaded concurrently under the same name; that copy is identical
+                    recentlyReused.put(hash, Boolean.TRUE);
+                }
+                return new StoredFile(hash, target, originalFilename, size, false);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public Resume saveResume(StoredFile file, User user) {
+        Optional<Resume> own = resumeRepository.findFirstByUserIdAndContentHashOrderByUploadDateDesc(user.getId(), file.contentHash());
+        if (own.isPresent()) {
+            logger.info("Resume {} already uploaded by user {} as resume {}", file.originalFilename(), user.getId(), own.get().getId());
+            return own.get();
+        }
+
+        // Resumes of the same file share one stored text
+        Long contentId = resumeRepository.findFirstByContentHash(file.contentHash())
+                .map(Resume::getContentId)
+                .orElse(null);
+        if (contentId == null) {
+            contentId = documentContentService.store(documentExtractionService.extractText(file.path()));
+        } else {
+            logger.info("Reusing extracted text for {} ({})", file.originalFilename(), file.contentHash());
+        }
+
+        Resume resume = Resume.builder()
+                .user(user)
+                .fileName(file.originalFilename())
+                .filePath(file.path().toString())
+                .contentHash(file.contentHash())
+                .contentId(contentId)
+                .build();
+        Resume saved = resumeRepository.save(resume);
+        eventPublisher.publishEvent(new ResumeSavedEvent(saved));
+        return saved;
+    }
+
+    @Override
+    public void release(Resume resume) {
+        String hash = resume.getContentHash();
+        if (hash == null) {
+            // Stored before content addressing, so not shared with any other upload
+            deleteIfUnused(resume);
+            return;
+        }
+        synchronized (lockFor(hash)) {
+            if (recentlyReused.get(hash) != null) {
+                logger.debug("Keeping {}, recently handed to another upload", resume.getFilePath());
+                return;
+            }
+            deleteIfUnused(resume);
+        }
+    }
+
+    @Override
+    public void discard(StoredFile file) {
+        if (file.reused()) {
+            return;
+        }
+        synchronized (lockFor(file.contentHash())) {
+            if (recentlyReused.get(file.contentHash()) != null) {
+                logger.debug("Keeping {}, recently handed to another upload", file.path());
+                return;
+            }
+            if (resumeRepository.countByFilePath(file.path().toString()) > 0) {
+                return;
+            }
+            try {
+                if (Files.deleteIfExists(file.path())) {
+                    Files.deleteIfExists(file.path().getParent());
+                    logger.debug("Discarded {}, its resume was never saved", file.path());
+                }
+            } catch (IOException e) {
+                logger.warn("Could not discard stored upload {}: {}", file.path(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Releases the deleted resume's file and extracted text. Runs after the delete has committed,
+     * so a rolled-back delete never leaves a resume pointing at a removed file, and in a new
+     * transaction of its own because the deleting one is already complete.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onResumeDeleted(ResumeDeletedEvent event) {
+        Resume resume = event.resume();
+        logger.debug("Releasing stored file {} of deleted resume {}", resume.getFilePath(), resume.getId());
+        // Stored files are shared by identical uploads; the file goes once nothing refers to it
+        release(resume);
+        // Extracted texts are shared by identical uploads too; the row goes with its last resume
+        documentContentService.release(resume.getContentId());
+    }
+
+    private void deleteIfUnused(Resume resume) {
+        Path path = Paths.get(resume.getFilePath());
+        if (resumeRepository.countByFilePath(resume.getFilePath()) > 0) {
+            logger.debug("Keeping {}, still used by other resumes", path);
+            return;
+        }
+        try {
+            if (Files.deleteIfExists(path) && resume.getContentHash() != null) {
+                // Remove the now empty hash directory as well
+                Files.deleteIfExists(path.getParent());
+            }
+        } catch (IOException e) {
+            logger.warn("Could not delete stored resume {}: {}", path, e.getMessage());
+        }
+    }
+
+    private Object lockFor(String hash) {
+        return locks[Math.floorMod(hash.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static Object[] newLocks() {
+        Object[] locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    private Optional<Path> existingBlob(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(Files::isRegularFile).findFirst();
+        }
+    }
+
+    private static String originalFilename(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        if (name == null || name.isBlank()) {
+            return "resume";
+        }
+        // Browsers may send a full client path; only the last segment is a usable file name
+        name = name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\')) + 1);
+        return name.isBlank() || name.equals("..") || name.equals(".") ? "resume" : name;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -16,6 +16,9 @@ import java.util.stream.Collectors;
 // @Service - Disabled to use FastSkillExtractionServiceImpl as primary
 @RequiredArgsConstructor
 public class SkillExtractionServiceImpl implements SkillExtractionService {
+    private final RestTemplate restTemplate;
+    private final ModelCallLimiter modelCallLimiter;
+
     @Value("${huggingface.api.token}")
     private String hfToken;
 
@@ -55,9 +58,9 @@ public class SkillExtractionServiceImpl implements SkillExtractionService {
             );
             
             HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-            RestTemplate restTemplate = new RestTemplate();
             
-            ResponseEntity<Map> response = restTemplate.postForEntity(zeroShotUrl, request, Map.class);
+            ResponseEntity<Map> response = modelCallLimiter.call(ModelCallLimiter.HUGGING_FACE, ModelCallLimiter.estimateTokens(text),
+                    () -> restTemplate.postForEntity(zeroShotUrl, request, Map.class));
             Map<String, Object> result = response.getBody();
             
             if (result != null && result.containsKey("labels") && result.containsKey("scores")) {
@@ -97,8 +100,8 @@ public class SkillExtractionServiceImpl implements SkillExtractionService {
             headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
             
             HttpEntity<Map<String, String>> request = new HttpEntity<>(Map.of("inputs", text), headers);
-            RestTemplate restTemplate = new RestTemplate();
-            ResponseEntity<List> response = restTemplate.postForEntity(NER_API_URL, request, List.class);
+            ResponseEntity<List> response = modelCallLimiter.call(ModelCallLimiter.HUGGING_FACE, ModelCallLimiter.estimateTokens(text),
+                    () -> restTemplate.postForEntity(NER_API_URL, request, List.class));
             
             List<Map<String, Object>> entities = response.getBody();
             if (entities != null) {
@@ -190,8 +193,9 @@ public class SkillExtractionServiceImpl implements SkillExtractionService {
         Map<String, Object> inputs = Map.of("source_sentence", text1, "sentences", List.of(text2));
         HttpEntity<Map<String, Map<String, Object>>> request = new HttpEntity<>(Map.of("inputs", inputs), headers);
 
-        RestTemplate restTemplate = new RestTemplate();
-        ResponseEntity<double[]> response = restTemplate.postForEntity(SIMILARITY_API_URL, request, double[].class);
+        ResponseEntity<double[]> response = modelCallLimiter.call(ModelCallLimiter.HUGGING_FACE,
+                ModelCallLimiter.estimateTokens(text1) + ModelCallLimiter.estimateTokens(text2),
+                () -> restTemplate.postForEntity(SIMILARITY_API_URL, request, double[].class));
         
         double[] scores = response.getBody();
         if (scores == null || scores.length == 0) {
@@ -211,8 +215,8 @@ public class SkillExtractionServiceImpl implements SkillExtractionService {
             Map<String, Object> inputs = Map.of("source_sentence", "This is a test.", "sentences", List.of("This is another test."));
             HttpEntity<Map<String, Map<String, Object>>> request = new HttpEntity<>(Map.of("inputs", inputs), headers);
             
-            RestTemplate restTemplate = new RestTemplate();
-            ResponseEntity<double[]> response = restTemplate.postForEntity(SIMILARITY_API_URL, request, double[].class);
+            ResponseEntity<double[]> response = modelCallLimiter.call(ModelCallLimiter.HUGGING_FACE, 16,
+                    () -> restTemplate.postForEntity(SIMILARITY_API_URL, request, double[].class));
             
             double[] scores = response.getBody();
             if (scores != null && scores.length > 0) {
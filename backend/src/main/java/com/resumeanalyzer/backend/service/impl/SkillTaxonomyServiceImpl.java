@@ -0,0 +1,157 @@
+package com.resumeanalyzer.backend.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resumeanalyzer.backend.service.SkillTaxonomyReloadedEvent;
+import com.resumeanalyzer.backend.service.SkillTaxonomyService;
+import com.resumeanalyzer.backend.util.ContentHash;
+import com.resumeanalyzer.backend.util.SkillTaxonomy;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Loads the skill taxonomy file (skills, aliases, categories and weights) and keeps the compiled
+ * {@link SkillTaxonomy} in an {@link AtomicReference}. A reload compiles the new index on the side
+ * and swaps the reference, so in-flight extractions keep using the index they started with.
+ */
+@Service
+public class SkillTaxonomyServiceImpl implements SkillTaxonomyService {
+    private static final Logger logger = LoggerFactory.getLogger(SkillTaxonomyServiceImpl.class);
+    
+    private final ResourceLoader resourceLoader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<SkillTaxonomy> current = new AtomicReference<>();
+    private final Object reloadLock = new Object();
+    private volatile long lastModified;
+    
+    @Value("${skills.taxonomy.location:classpath:skill-taxonomy.json}")
+    private String taxonomyLocation;
+    
+    public SkillTaxonomyServiceImpl(ResourceLoader resourceLoader, ApplicationEventPublisher eventPublisher) {
+        this.resourceLoader = resourceLoader;
+        this.eventPublisher = eventPublisher;
+    }
+    
+    @PostConstruct
+    public void init() {
+        // Fail fast on startup: without a taxonomy no resume can be analyzed
+        reload();
+    }
+    
+    @Override
+    public SkillTaxonomy current() {
+        return current.get();
+    }
+    
+    @Override
+    public SkillTaxonomy reload() {
+        synchronized (reloadLock) {
+            Resource resource = resourceLoader.getResource(taxonomyLocation);
+            long modified = lastModifiedOf(resource);
+            SkillTaxonomy taxonomy = load(resource);
+            SkillTaxonomy previous = current.getAndSet(taxonomy);
+            lastModified = modified;
+            logger.info("Loaded skill taxonomy {} from {}: {} skills in {} categories",
+                taxonomy.version(), taxonomyLocation, taxonomy.size(), taxonomy.categories().size());
+            if (previous != null && !previous.version().equals(taxonomy.version())) {
+                eventPublisher.publishEvent(new SkillTaxonomyReloadedEvent(taxonomy));
+            }
+            return taxonomy;
+        }
+    }
+    
+    /**
+     * Picks up edits to a taxonomy file on disk without a restart. Classpath resources
+     * packaged in the jar report no modification time and are only reloaded explicitly.
+     */
+    @Scheduled(fixedDelayString = "${skills.taxonomy.refresh-interval-ms:30000}",
+               initialDelayString = "${skills.taxonomy.refresh-interval-ms:30000}")
+    public void reloadIfModified() {
+        Resource resource = resourceLoader.getResource(taxonomyLocation);
+        long modified = lastModifiedOf(resource);
+        if (modified <= 0 || modified == lastModified) {
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            // Keep serving the previous index until the file is fixed
+            lastModified = modified;
+            logger.error("Skill taxonomy reload failed, keeping version {}: {}",
+                current().version(), e.getMessage());
+        }
+    }
+    
+    private SkillTaxonomy load(Resource resource) {
+        byte[] content;
+        try (InputStream in = resource.getInputStream()) {
+            content = in.readAllBytes();
+        } catch (IOException e) {
+            throw new RuntimeException("Skill taxonomy not found at " + taxonomyLocation, e);
+        }
+        
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(content);
+        } catch (IOException e) {
+            throw new RuntimeException("Invalid skill taxonomy file: " + e.getMessage(), e);
+        }
+        
+        SkillTaxonomy.Builder builder = SkillTaxonomy.builder(
+            root.path("version").asText("1") + "-" + contentHash(content));
+        double defaultWeight = root.path("defaultWeight").asDouble(1.0);
+        
+        for (JsonNode categoryNode : root.path("categories")) {
+            String categoryName = categoryNode.path("name").asText(null);
+            if (categoryName == null || categoryName.isBlank()) {
+                throw new RuntimeException("Invalid skill taxonomy file: category without a name");
+            }
+            int categoryId = builder.category(categoryName);
+            double categoryWeight = categoryNode.path("weight").asDouble(defaultWeight);
+            
+            // A skill is either a plain name or {"name", "aliases", "weight"}
+            for (JsonNode skillNode : categoryNode.path("skills")) {
+                if (skillNode.isTextual()) {
+                    builder.skill(skillNode.asText(), categoryId, categoryWeight, List.of());
+                    continue;
+                }
+                List<String> aliases = new ArrayList<>();
+                skillNode.path("aliases").forEach(alias -> aliases.add(alias.asText()));
+                builder.skill(skillNode.path("name").asText(null), categoryId,
+                    skillNode.path("weight").asDouble(categoryWeight), aliases);
+            }
+        }
+        
+        SkillTaxonomy taxonomy = builder.build();
+        if (taxonomy.size() == 0) {
+            throw new RuntimeException("Invalid skill taxonomy file: no skills defined");
+        }
+        return taxonomy;
+    }
+    
+    private long lastModifiedOf(Resource resource) {
+        try {
+            return resource.isFile() ? resource.lastModified() : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+    
+    private String contentHash(byte[] content) {
+        return ContentHash.sha256(content).substring(0, 12);
+    }
+}
@@ -0,0 +1,270 @@
+package com.resumeanalyzer.backend.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable multi-pattern matcher (Aho-Corasick) used for skill lookup.
+ *
+ * The automaton is compiled once from a set of surface forms (e.g. "java", "spring boot", "js")
+ * and then finds every occurrence of every pattern in a single left-to-right pass over the text,
+ * so the cost of a scan depends on the text length rather than on the number of patterns.
+ *
+ * Matching is case-insensitive and treats any whitespace character as a single space. Hits are only
+ * reported on word boundaries: the character before a hit must not be a letter or digit, and the
+ * character after it must not be a letter (a trailing version number such as "python3" or "html5"
+ * is still accepted). A hit ending in a letter is also rejected before '+', '#' or '&', and a
+ * single-letter hit before a digit, so "C++", "C#" and "R&D" are not read as mentions of C or R.
+ * Instances are thread-safe once built.
+ */
+public final class AhoCorasickMatcher {
+
+    /**
+     * Receives every hit found by {@link #match(CharSequence, MatchHandler)}.
+     * {@code start} is inclusive and {@code end} exclusive, both relative to the scanned text.
+     */
+    @FunctionalInterface
+    public interface MatchHandler {
+        void onMatch(int patternId, int start, int end);
+    }
+
+    private static final int ROOT = 0;
+
+    // Transitions in CSR layout: the edges of state s live in [edgeStart[s], edgeStart[s + 1]),
+    // sorted by label so a lookup is a binary search over a handful of chars.
+    private final int[] edgeStart;
+    private final char[] edgeLabel;
+    private final int[] edgeTarget;
+
+    private final int[] fail;
+    private final int[] outputId;    // pattern ending exactly at this state, or -1
+    private final int[] outputLink;  // nearest state on the failure chain with an output, or ROOT
+    private final int[] depth;
+    private final int patternCount;
+
+    private AhoCorasickMatcher(int[] edgeStart, char[] edgeLabel, int[] edgeTarget, int[] fail,
+                               int[] outputId, int[] outputLink, int[] depth, int patternCount) {
+        this.edgeStart = edgeStart;
+        this.edgeLabel = edgeLabel;
+        this.edgeTarget = edgeTarget;
+        this.fail = fail;
+        this.outputId = outputId;
+        this.outputLink = outputLink;
+        this.depth = depth;
+        this.patternCount = patternCount;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int patternCount() {
+        return patternCount;
+    }
+
+    public int stateCount() {
+        return fail.length;
+    }
+
+    /**
+     * Scans {@code text} once and reports every pattern occurrence that sits on word boundaries.
+     * Overlapping hits are all reported (e.g. both "spring" and "spring boot").
+     */
+    public void match(CharSequence text, MatchHandler handler) {
+        if (text == null || text.length() == 0) {
+            return;
+        }
+        int length = text.length();
+        int state = ROOT;
+        for (int i = 0; i < length; i++) {
+            char c = fold(text.charAt(i));
+            int next = transition(state, c);
+            while (next < 0 && state != ROOT) {
+                state = fail[state];
+                next = transition(state, c);
+            }
+            state = next < 0 ? ROOT : next;
+
+            int hit = outputId[state] >= 0 ? state : outputLink[state];
+            while (hit != ROOT) {
+                int end = i + 1;
+                int start = end - depth[hit];
+                if (isLeftBoundary(text, start) && isRightBoundary(text, start, end)) {
+                    handler.onMatch(outputId[hit], start, end);
+                }
+                hit = outputLink[hit];
+            }
+        }
+    }
+
+    /**
+     * Lower-cases the text and collapses whitespace runs into a single space so that
+     * multi-word patterns match across line breaks and irregular spacing.
+     */
+    public static String normalize(CharSequence text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean lastWasSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (!lastWasSpace) {
+                    sb.append(' ');
+                    lastWasSpace = true;
+                }
+            } else {
+                sb.append(Character.toLowerCase(c));
+                lastWasSpace = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    private int transition(int state, char c) {
+        int lo = edgeStart[state];
+        int hi = edgeStart[state + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char label = edgeLabel[mid];
+            if (label < c) {
+                lo = mid + 1;
+            } else if (label > c) {
+                hi = mid - 1;
+            } else {
+                return edgeTarget[mid];
+            }
+        }
+        return -1;
+    }
+
+    private static char fold(char c) {
+        return Character.isWhitespace(c) ? ' ' : Character.toLowerCase(c);
+    }
+
+    private static boolean isLeftBoundary(CharSequence text, int start) {
+        return start == 0 || !Character.isLetterOrDigit(text.charAt(start - 1));
+    }
+
+    private static boolean isRightBoundary(CharSequence text, int start, int end) {
+        if (end == text.length()) {
+            return true;
+        }
+        char next = text.charAt(end);
+        if (Character.isLetter(next)) {
+            return false;
+        }
+        if (!Character.isLetter(text.charAt(end - 1))) {
+            return true;
+        }
+        if (next == '+' || next == '#' || next == '&') {
+            return false;
+        }
+        // "python3" is Python, but "c4" or "r2" is not C or R
+        return !(Character.isDigit(next) && end - start == 1);
+    }
+
+    public static final class Builder {
+        private final List<Map<Character, Integer>> children = new ArrayList<>();
+        private final List<Integer> outputs = new ArrayList<>();
+        private final List<Integer> depths = new ArrayList<>();
+        private int patternCount;
+
+        private Builder() {
+            newState(0);
+        }
+
+        /**
+         * Adds a surface form for the given pattern id. Patterns are normalized the same way the
+         * scanned text is; if the same surface form is added twice the first id wins.
+         */
+        public Builder add(String pattern, int patternId) {
+            if (patternId < 0) {
+                throw new IllegalArgumentException("Pattern id must be non-negative");
+            }
+            String normalized = normalize(pattern).trim();
+            if (normalized.isEmpty()) {
+                return this;
+            }
+            int state = ROOT;
+            for (int i = 0; i < normalized.length(); i++) {
+                char c = normalized.charAt(i);
+                Integer next = children.get(state).get(c);
+                if (next == null) {
+                    next = newState(depths.get(state) + 1);
+                    children.get(state).put(c, next);
+                }
+                state = next;
+            }
+            if (outputs.get(state) < 0) {
+                outputs.set(state, patternId);
+                patternCount++;
+            }
+            return this;
+        }
+
+        public AhoCorasickMatcher build() {
+            int states = children.size();
+            int[] edgeStart = new int[states + 1];
+            int edges = 0;
+            for (int s = 0; s < states; s++) {
+                edgeStart[s] = edges;
+                edges += children.get(s).size();
+            }
+            edgeStart[states] = edges;
+
+            char[] edgeLabel = new char[edges];
+            int[] edgeTarget = new int[edges];
+            for (int s = 0; s < states; s++) {
+                int e = edgeStart[s];
+                // TreeMap keeps labels sorted for the binary search in transition()
+                for (Map.Entry<Character, Integer> edge : children.get(s).entrySet()) {
+                    edgeLabel[e] = edge.getKey();
+                    edgeTarget[e] = edge.getValue();
+                    e++;
+                }
+            }
+
+            int[] outputId = outputs.stream().mapToInt(Integer::intValue).toArray();
+            int[] depth = depths.stream().mapToInt(Integer::intValue).toArray();
+            int[] fail = new int[states];
+            int[] outputLink = new int[states];
+
+            // Breadth-first so every failure target is resolved before its dependants
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int e = edgeStart[ROOT]; e < edgeStart[ROOT + 1]; e++) {
+                queue.add(edgeTarget[e]);
+            }
+            AhoCorasickMatcher partial = new AhoCorasickMatcher(edgeStart, edgeLabel, edgeTarget, fail,
+                    outputId, outputLink, depth, patternCount);
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (int e = edgeStart[state]; e < edgeStart[state + 1]; e++) {
+                    char c = edgeLabel[e];
+                    int child = edgeTarget[e];
+                    int f = fail[state];
+                    int next = partial.transition(f, c);
+                    while (next < 0 && f != ROOT) {
+                        f = fail[f];
+                        next = partial.transition(f, c);
+                    }
+                    fail[child] = next < 0 || next == child ? ROOT : next;
+                    outputLink[child] = outputId[fail[child]] >= 0 ? fail[child] : outputLink[fail[child]];
+                    queue.add(child);
+                }
+            }
+            return partial;
+        }
+
+        private int newState(int depth) {
+            children.add(new TreeMap<>());
+            outputs.add(-1);
+            depths.add(depth);
+            return children.size() - 1;
+        }
+    }
+}
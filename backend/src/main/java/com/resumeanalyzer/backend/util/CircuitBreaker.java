@@ -0,0 +1,104 @@
+package com.resumeanalyzer.backend.util;
+
+import java.time.Duration;
+
+/**
+ * Count-based circuit breaker for a remote dependency.
+ *
+ * While CLOSED every call is let through and consecutive failures are counted; reaching the
+ * threshold opens the circuit. While OPEN calls are refused without touching the dependency.
+ * Once the open period has passed the breaker turns HALF_OPEN and lets exactly one trial call
+ * through: success closes the circuit, failure opens it for another period. All methods are
+ * synchronized.
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("failureThreshold must be positive");
+        }
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Whether a call would currently be refused. Does not change state, so it is safe for
+     * availability checks that may not be followed by a call.
+     */
+    public synchronized boolean isOpen() {
+        return switch (state) {
+            case CLOSED -> false;
+            case OPEN -> System.nanoTime() - openedAt < openNanos;
+            case HALF_OPEN -> trialInFlight;
+        };
+    }
+
+    /**
+     * Asks to make a call. Every permitted call must be followed by {@link #recordSuccess()} or
+     * {@link #recordFailure()}.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    public synchronized void recordSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            trialInFlight = false;
+        }
+    }
+
+    /**
+     * Ends a permitted call that never reached the dependency, e.g. one refused by a client-side
+     * limit. Counts neither way; a half-open breaker lets the next call be the trial instead.
+     */
+    public synchronized void recordIgnored() {
+        trialInFlight = false;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public synchronized int consecutiveFailures() {
+        return consecutiveFailures;
+    }
+}
@@ -0,0 +1,31 @@
+package com.resumeanalyzer.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 digests rendered as lower-case hex, used wherever content is identified by value.
+ */
+public final class ContentHash {
+
+    private ContentHash() {
+    }
+
+    public static String sha256(byte[] content) {
+        return HexFormat.of().formatHex(digest(content));
+    }
+
+    public static String sha256(String text) {
+        return sha256(text == null ? new byte[0] : text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] digest(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.resumeanalyzer.backend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * In-memory inverted index of weighted terms with top-k retrieval by WAND.
+ *
+ * Each term maps to a posting list of (document id, weight) pairs sorted by document id, and keeps
+ * the largest weight it has seen. A query is a set of weighted terms, and a document scores the
+ * sum of query weight times document weight over the terms it shares with the query. Instead of
+ * scoring every document that matches any term, {@link #topK} walks the posting lists with WAND
+ * (Broder et al.): a document is only scored when the upper bounds of the lists positioned on or
+ * before it could beat the current k-th best score; lists that cannot are skipped forward by
+ * binary search. Most of the corpus is never scored once the heap of the best k has filled.
+ *
+ * Document ids are expected to grow, as database ids do, so adding a document appends to its
+ * posting lists; re-adding or removing one is a binary search and an array copy per term.
+ * Upper bounds are not lowered on removal, which keeps them valid, only less tight. Reads and
+ * writes are guarded by a read-write lock.
+ */
+public final class InvertedIndex {
+
+    /**
+     * A scored document of a query result
+     */
+    public record Hit(int docId, double score) {
+    }
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    // Terms of every document, to remove or replace it
+    private final Map<Integer, String[]> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexes the document with the given term weights, replacing any earlier version of it.
+     */
+    public void add(int docId, Map<String, Float> termWeights) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+            String[] terms = new String[termWeights.size()];
+            int i = 0;
+            for (Map.Entry<String, Float> term : termWeights.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), key -> new PostingList()).add(docId, term.getValue());
+                terms[i++] = term.getKey();
+            }
+            documents.put(docId, terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int docId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(int docId) {
+        lock.readLock().lock();
+        try {
+            return documents.containsKey(docId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The indexed terms of the document, empty if it is not indexed
+     */
+    public List<String> terms(int docId) {
+        lock.readLock().lock();
+        try {
+            String[] terms = documents.get(docId);
+            return terms != null ? Arrays.asList(terms.clone()) : Collections.emptyList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of documents containing the term
+     */
+    public int documentFrequency(String term) {
+        lock.readLock().lock();
+        try {
+            PostingList list = postings.get(term);
+            return list != null ? list.size : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the k best scoring documents, best first. Documents sharing no term with the query
+     * are never returned.
+     */
+    public List<Hit> topK(Map<String, Float> query, int k) {
+        return topK(query, k, docId -> true);
+    }
+
+    /**
+     * Returns the k best scoring documents accepted by the filter, best first. Documents sharing
+     * no term with the query are never returned. The filter is applied to scored documents only,
+     * so a filter rejecting most of the index keeps the threshold low and prunes little.
+     */
+    public List<Hit> topK(Map<String, Float> query, int k, IntPredicate filter) {
+        if (k <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            List<Cursor> cursorList = new ArrayList<>(query.size());
+            for (Map.Entry<String, Float> term : query.entrySet()) {
+                PostingList list = postings.get(term.getKey());
+                if (list != null && list.size > 0 && term.getValue() > 0) {
+                    cursorList.add(new Cursor(list, term.getValue()));
+                }
+            }
+            Cursor[] cursors = cursorList.toArray(new Cursor[0]);
+            // Weakest hit on top; ties broken towards the lower document id
+            PriorityQueue<Hit> best = new PriorityQueue<>(k + 1, (a, b) -> a.score() != b.score()
+                ? Double.compare(a.score(), b.score()) : Integer.compare(b.docId(), a.docId()));
+            double threshold = 0;
+
+            sortByDoc(cursors);
+            while (true) {
+                // Pivot: the first list at which the summed upper bounds could beat the threshold
+                double bound = 0;
+                int pivot = -1;
+                for (int i = 0; i < cursors.length && cursors[i].doc() != Integer.MAX_VALUE; i++) {
+                    bound += cursors[i].upperBound;
+                    if (bound > threshold) {
+                        pivot = i;
+                        break;
+                    }
+                }
+                if (pivot < 0) {
+                    break;
+                }
+                int pivotDoc = cursors[pivot].doc();
+                if (cursors[0].doc() == pivotDoc) {
+                    // Every list before the pivot is on the pivot document: score it fully
+                    double score = 0;
+                    for (Cursor cursor : cursors) {
+                        if (cursor.doc() != pivotDoc) {
+                            break;
+                        }
+                        score += cursor.score();
+                        cursor.next();
+                    }
+                    sortByDoc(cursors);
+                    if (filter.test(pivotDoc) && (best.size() < k || score > threshold)) {
+                        best.add(new Hit(pivotDoc, score));
+                        if (best.size() > k) {
+                            best.poll();
+                        }
+                        if (best.size() == k) {
+                            threshold = best.peek().score();
+                        }
+                    }
+                } else {
+                    // No document before the pivot can beat the threshold; skip those lists up to it
+                    for (int i = 0; i < pivot && cursors[i].doc() < pivotDoc; i++) {
+                        cursors[i].skipTo(pivotDoc);
+                    }
+                    sortByDoc(cursors);
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort((a, b) -> a.score() != b.score()
+                ? Double.compare(b.score(), a.score()) : Integer.compare(a.docId(), b.docId()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Insertion sort: only the few lists just advanced are out of place
+    private static void sortByDoc(Cursor[] cursors) {
+        for (int i = 1; i < cursors.length; i++) {
+            Cursor cursor = cursors[i];
+            int doc = cursor.doc();
+            int j = i - 1;
+            while (j >= 0 && cursors[j].doc() > doc) {
+                cursors[j + 1] = cursors[j];
+                j--;
+            }
+            cursors[j + 1] = cursor;
+        }
+    }
+
+    private void removeLocked(int docId) {
+        String[] terms = documents.remove(docId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+            if (list != null && list.remove(docId) && list.size == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static final class PostingList {
+        private int[] docs = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+        private float maxWeight;
+
+        void add(int docId, float weight) {
+            int at = size > 0 && docs[size - 1] >= docId ? insertionPoint(docId) : size;
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(docs, at, docs, at + 1, size - at);
+            System.arraycopy(weights, at, weights, at + 1, size - at);
+            docs[at] = docId;
+            weights[at] = weight;
+            size++;
+            maxWeight = Math.max(maxWeight, weight);
+        }
+
+        boolean remove(int docId) {
+            int at = Arrays.binarySearch(docs, 0, size, docId);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(docs, at + 1, docs, at, size - at - 1);
+            System.arraycopy(weights, at + 1, weights, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        private int insertionPoint(int docId) {
+            int at = Arrays.binarySearch(docs, 0, size, docId);
+            return at >= 0 ? at : -at - 1;
+        }
+    }
+
+    private static final class Cursor {
+        private final PostingList list;
+        private final double queryWeight;
+        private final double upperBound;
+        private int position;
+
+        Cursor(PostingList list, double queryWeight) {
+            this.list = list;
+            this.queryWeight = queryWeight;
+            this.upperBound = queryWeight * list.maxWeight;
+        }
+
+        int doc() {
+            return position < list.size ? list.docs[position] : Integer.MAX_VALUE;
+        }
+
+        double score() {
+            return queryWeight * list.weights[position];
+        }
+
+        void next() {
+            position++;
+        }
+
+        void skipTo(int docId) {
+            int at = Arrays.binarySearch(list.docs, position, list.size, docId);
+            position = at >= 0 ? at : -at - 1;
+        }
+    }
+}
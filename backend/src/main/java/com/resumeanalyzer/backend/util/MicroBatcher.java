@@ -0,0 +1,192 @@
+package com.resumeanalyzer.backend.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+/**
+ * Groups concurrent requests into batches.
+ *
+ * Requests are grouped by key; only requests with the same key can share a batch. A batch is sent
+ * when it reaches the maximum size, when the next request would push it over the weight budget, or
+ * when the window opened by its first request closes. A batch that ends up with a single request is
+ * handled alone. When the batch handler has no valid answer for some requests, or fails entirely,
+ * each affected request is retried alone, so one bad item never fails its neighbours.
+ *
+ * Handlers run on virtual threads, never on the submitting thread or under the batcher's lock.
+ */
+public final class MicroBatcher<K, I, O> implements AutoCloseable {
+
+    public interface Handler<K, I, O> {
+        /**
+         * Handles two or more requests at once. The result list is in request order and holds null
+         * for every request the batch could not answer.
+         */
+        CompletableFuture<List<O>> handleBatch(K key, List<I> items);
+
+        CompletableFuture<O> handleOne(K key, I item);
+    }
+
+    public record Stats(long batches, long batchedItems, long singles, long retries) {
+    }
+
+    private record Request<I, O>(I item, CompletableFuture<O> result) {
+    }
+
+    private final class Batch {
+        private final K key;
+        private final List<Request<I, O>> requests = new ArrayList<>();
+        private int weight;
+        private ScheduledFuture<?> timer;
+
+        private Batch(K key) {
+            this.key = key;
+        }
+    }
+
+    private final int maxBatchSize;
+    private final int maxWeight;
+    private final long windowNanos;
+    private final ToIntFunction<I> weigher;
+    private final Handler<K, I, O> handler;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Map<K, Batch> open = new HashMap<>();
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchedItems = new AtomicLong();
+    private final AtomicLong singles = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+
+    public MicroBatcher(String name, int maxBatchSize, int maxWeight, Duration window,
+                        ToIntFunction<I> weigher, Handler<K, I, O> handler) {
+        if (maxBatchSize <= 0 || maxWeight <= 0) {
+            throw new IllegalArgumentException("maxBatchSize and maxWeight must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxWeight = maxWeight;
+        this.windowNanos = window.toNanos();
+        this.weigher = weigher;
+        this.handler = handler;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-batch-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<O> submit(K key, I item) {
+        CompletableFuture<O> result = new CompletableFuture<>();
+        int weight = weigher.applyAsInt(item);
+        List<Batch> ready = new ArrayList<>(2);
+        synchronized (this) {
+            Batch batch = open.get(key);
+            if (batch != null && batch.weight + weight > maxWeight) {
+                // Adding this request would exceed the budget, so send what is there and start over
+                ready.add(close(batch));
+                batch = null;
+            }
+            if (batch == null) {
+                Batch opened = new Batch(key);
+                opened.timer = timer.schedule(() -> flushOnTimeout(opened), windowNanos, TimeUnit.NANOSECONDS);
+                open.put(key, opened);
+                batch = opened;
+            }
+            batch.requests.add(new Request<>(item, result));
+            batch.weight += weight;
+            if (batch.requests.size() >= maxBatchSize) {
+                ready.add(close(batch));
+            }
+        }
+        for (Batch batch : ready) {
+            workers.execute(() -> send(batch));
+        }
+        return result;
+    }
+
+    public Stats stats() {
+        return new Stats(batches.get(), batchedItems.get(), singles.get(), retries.get());
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        workers.shutdown();
+    }
+
+    private Batch close(Batch batch) {
+        open.remove(batch.key, batch);
+        batch.timer.cancel(false);
+        return batch;
+    }
+
+    private void flushOnTimeout(Batch batch) {
+        synchronized (this) {
+            // Already sent because it filled up or ran over budget
+            if (open.get(batch.key) != batch) {
+                return;
+            }
+            open.remove(batch.key);
+        }
+        workers.execute(() -> send(batch));
+    }
+
+    private void send(Batch batch) {
+        List<Request<I, O>> requests = batch.requests;
+        if (requests.size() == 1) {
+            singles.incrementAndGet();
+            sendAlone(batch.key, requests.get(0));
+            return;
+        }
+        batches.incrementAndGet();
+        batchedItems.addAndGet(requests.size());
+        List<I> items = new ArrayList<>(requests.size());
+        for (Request<I, O> request : requests) {
+            items.add(request.item());
+        }
+        CompletableFuture<List<O>> batchResult;
+        try {
+            batchResult = handler.handleBatch(batch.key, items);
+        } catch (RuntimeException e) {
+            batchResult = CompletableFuture.failedFuture(e);
+        }
+        batchResult.whenComplete((results, error) -> {
+            for (int i = 0; i < requests.size(); i++) {
+                O output = error == null && results != null && i < results.size() ? results.get(i) : null;
+                if (output != null) {
+                    requests.get(i).result().complete(output);
+                } else {
+                    retries.incrementAndGet();
+                    sendAlone(batch.key, requests.get(i));
+                }
+            }
+        });
+    }
+
+    private void sendAlone(K key, Request<I, O> request) {
+        CompletableFuture<O> single;
+        try {
+            single = handler.handleOne(key, request.item());
+        } catch (RuntimeException e) {
+            single = CompletableFuture.failedFuture(e);
+        }
+        single.whenComplete((output, error) -> {
+            if (error != null) {
+                request.result().completeExceptionally(error);
+            } else {
+                request.result().complete(output);
+            }
+        });
+    }
+}
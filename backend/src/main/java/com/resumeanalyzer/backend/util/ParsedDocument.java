@@ -0,0 +1,332 @@
+package com.resumeanalyzer.backend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resume or job description text scanned once into the views the analyzers need.
+ *
+ * A single pass over the extracted text produces the lower-cased text (same offsets as the
+ * original), a whitespace-normalized copy for skill matching, alphanumeric token offsets, line
+ * starts, paragraph breaks at blank or whitespace-only lines and the positions of recognised section headers. Everything
+ * else (term sets, skill vectors) is derived lazily from those arrays and memoized, so the skills,
+ * experience, education, project and similarity analyzers can share one instance instead of each
+ * lower-casing and splitting the text again.
+ *
+ * Instances are immutable apart from the memoized views and safe to share between threads.
+ */
+public final class ParsedDocument {
+
+    // Section names as they appear in headers, mapped to the name analyzers ask for
+    private static final Map<String, String> SECTION_HEADERS = Map.ofEntries(
+        Map.entry("skills", "skills"),
+        Map.entry("technical skills", "skills"),
+        Map.entry("key skills", "skills"),
+        Map.entry("core competencies", "skills"),
+        Map.entry("experience", "experience"),
+        Map.entry("work experience", "experience"),
+        Map.entry("professional experience", "experience"),
+        Map.entry("employment history", "experience"),
+        Map.entry("internships", "experience"),
+        Map.entry("projects", "projects"),
+        Map.entry("academic projects", "projects"),
+        Map.entry("personal projects", "projects"),
+        Map.entry("education", "education"),
+        Map.entry("academic background", "education"),
+        Map.entry("certifications", "certifications"),
+        Map.entry("certificates", "certifications"),
+        Map.entry("achievements", "achievements"),
+        Map.entry("hackathons", "hackathons"),
+        Map.entry("summary", "summary"),
+        Map.entry("professional summary", "summary"),
+        Map.entry("objective", "summary")
+    );
+    private static final int MAX_HEADER_LENGTH = 40;
+    private static final int MAX_SECTION_LENGTH = 500;
+
+    private static final ParsedDocument EMPTY = new ParsedDocument("");
+
+    private final String text;
+    private final String lower;
+    private final String normalized;
+    private final int[] tokenStarts;
+    private final int[] tokenEnds;
+    private final int[] lineStarts;
+    private final int[] paragraphBreaks;
+    private final Map<String, Integer> sectionStarts;
+    private final int[] headerStarts;
+
+    private volatile Set<String> terms;
+    private volatile String contentHash;
+    private volatile SkillsMemo skills;
+
+    private ParsedDocument(String text) {
+        this.text = text;
+        int length = text.length();
+
+        char[] lowerChars = new char[length];
+        StringBuilder normalizedText = new StringBuilder(length);
+        IntList starts = new IntList();
+        IntList ends = new IntList();
+        IntList lines = new IntList();
+        IntList breaks = new IntList();
+
+        lines.add(0);
+        int lineStart = 0;
+        boolean blankLine = true;
+        boolean inToken = false;
+        boolean lastWasSpace = false;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            char lc = Character.toLowerCase(c);
+            lowerChars[i] = lc;
+
+            boolean alnum = (lc >= 'a' && lc <= 'z') || (lc >= '0' && lc <= '9');
+            if (alnum && !inToken) {
+                starts.add(i);
+            } else if (!alnum && inToken) {
+                ends.add(i);
+            }
+            inToken = alnum;
+
+            if (Character.isWhitespace(c)) {
+                if (!lastWasSpace) {
+                    normalizedText.append(' ');
+                }
+                lastWasSpace = true;
+            } else {
+                normalizedText.append(lc);
+                lastWasSpace = false;
+            }
+
+            if (c == '\n') {
+                // Extracted text often pads empty lines with spaces or ends them with \r\n
+                if (blankLine && lineStart > 0) {
+                    int previousLineEnd = lineStart - 1;
+                    if (previousLineEnd > 0 && text.charAt(previousLineEnd - 1) == '\r') {
+                        previousLineEnd--;
+                    }
+                    breaks.add(previousLineEnd);
+                }
+                if (i + 1 < length) {
+                    lines.add(i + 1);
+                }
+                lineStart = i + 1;
+                blankLine = true;
+            } else if (!Character.isWhitespace(c)) {
+                blankLine = false;
+            }
+        }
+        if (inToken) {
+            ends.add(length);
+        }
+
+        this.lower = new String(lowerChars);
+        this.normalized = normalizedText.toString();
+        this.tokenStarts = starts.toArray();
+        this.tokenEnds = ends.toArray();
+        this.lineStarts = lines.toArray();
+        this.paragraphBreaks = breaks.toArray();
+
+        Map<String, Integer> sections = new HashMap<>();
+        IntList headers = new IntList();
+        for (int line = 0; line < lineStarts.length; line++) {
+            String section = headerSection(line);
+            if (section != null) {
+                headers.add(lineStarts[line]);
+                sections.putIfAbsent(section, lineStarts[line]);
+            }
+        }
+        this.sectionStarts = Collections.unmodifiableMap(sections);
+        this.headerStarts = headers.toArray();
+    }
+
+    public static ParsedDocument of(String text) {
+        return text == null || text.isEmpty() ? EMPTY : new ParsedDocument(text);
+    }
+
+    /** Original text as extracted from the document. */
+    public String text() {
+        return text;
+    }
+
+    /** Lower-cased text; offsets line up with {@link #text()}. */
+    public String lower() {
+        return lower;
+    }
+
+    /** Lower-cased text with whitespace runs collapsed to single spaces, used for skill matching. */
+    public String normalized() {
+        return normalized;
+    }
+
+    /** SHA-256 of the original text, computed once; identifies the content in caches. */
+    public String contentHash() {
+        String hash = contentHash;
+        if (hash == null) {
+            hash = ContentHash.sha256(text);
+            contentHash = hash;
+        }
+        return hash;
+    }
+
+    public int length() {
+        return text.length();
+    }
+
+    public boolean isBlank() {
+        return tokenStarts.length == 0;
+    }
+
+    /** Case-insensitive substring check; {@code lowerCaseTerm} must already be lower case. */
+    public boolean contains(String lowerCaseTerm) {
+        return lower.contains(lowerCaseTerm);
+    }
+
+    public boolean containsAny(List<String> lowerCaseTerms) {
+        for (String term : lowerCaseTerms) {
+            if (lower.contains(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int tokenCount() {
+        return tokenStarts.length;
+    }
+
+    /** Lower-cased alphanumeric token at the given index. */
+    public String token(int index) {
+        return lower.substring(tokenStarts[index], tokenEnds[index]);
+    }
+
+    public int lineCount() {
+        return lineStarts.length;
+    }
+
+    /** Line at the given index without its line terminator. */
+    public String line(int index) {
+        int start = lineStarts[index];
+        int end = index + 1 < lineStarts.length ? lineStarts[index + 1] - 1 : text.length();
+        if (end > start && text.charAt(end - 1) == '\r') {
+            end--;
+        }
+        return text.substring(start, Math.max(start, end));
+    }
+
+    public List<String> lines() {
+        List<String> result = new ArrayList<>(lineStarts.length);
+        for (int i = 0; i < lineStarts.length; i++) {
+            result.add(line(i));
+        }
+        return result;
+    }
+
+    /**
+     * Distinct lower-cased alphanumeric tokens longer than two characters, computed once.
+     */
+    public Set<String> terms() {
+        Set<String> result = terms;
+        if (result == null) {
+            result = new HashSet<>();
+            for (int i = 0; i < tokenStarts.length; i++) {
+                if (tokenEnds[i] - tokenStarts[i] > 2) {
+                    result.add(token(i));
+                }
+            }
+            result = Collections.unmodifiableSet(result);
+            terms = result;
+        }
+        return result;
+    }
+
+    /**
+     * Skills mentioned in the document, matched once per taxonomy version and then reused.
+     */
+    public SkillVector skills(SkillTaxonomy taxonomy) {
+        SkillsMemo memo = skills;
+        if (memo == null || memo.taxonomy() != taxonomy) {
+            memo = new SkillsMemo(taxonomy, taxonomy.extract(normalized));
+            skills = memo;
+        }
+        return memo.vector();
+    }
+
+    /**
+     * Returns the text of a section such as "skills", "experience", "projects" or "education".
+     *
+     * When the document has a header line for the section the text starts there, otherwise at the
+     * first mention of the name. It runs to the next blank line, the next section header or
+     * {@value #MAX_SECTION_LENGTH} characters, whichever comes first. Empty if the section is absent.
+     */
+    public String section(String sectionName) {
+        String name = sectionName.toLowerCase();
+        Integer headerStart = sectionStarts.get(name);
+        int start = headerStart != null ? headerStart : lower.indexOf(name);
+        if (start < 0) {
+            return "";
+        }
+
+        int end = nextAfter(paragraphBreaks, start);
+        if (end < 0) {
+            end = Math.min(start + MAX_SECTION_LENGTH, text.length());
+        }
+        int nextHeader = nextAfter(headerStarts, start);
+        if (nextHeader > start && nextHeader < end) {
+            end = nextHeader;
+        }
+        return text.substring(start, end);
+    }
+
+    public boolean hasSection(String sectionName) {
+        return sectionStarts.containsKey(sectionName.toLowerCase());
+    }
+
+    private String headerSection(int line) {
+        int start = lineStarts[line];
+        int end = line + 1 < lineStarts.length ? lineStarts[line + 1] - 1 : lower.length();
+        if (end - start > MAX_HEADER_LENGTH) {
+            return null;
+        }
+        String candidate = lower.substring(start, Math.max(start, end)).strip();
+        while (!candidate.isEmpty() && !Character.isLetter(candidate.charAt(candidate.length() - 1))) {
+            candidate = candidate.substring(0, candidate.length() - 1);
+        }
+        return SECTION_HEADERS.get(candidate.strip());
+    }
+
+    // First value strictly greater than the key in a sorted array, or -1
+    private static int nextAfter(int[] sorted, int key) {
+        int index = Arrays.binarySearch(sorted, key + 1);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index < sorted.length ? sorted[index] : -1;
+    }
+
+    private record SkillsMemo(SkillTaxonomy taxonomy, SkillVector vector) {
+    }
+
+    private static final class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
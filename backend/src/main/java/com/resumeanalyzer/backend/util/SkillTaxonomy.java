@@ -0,0 +1,225 @@
+package com.resumeanalyzer.backend.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled, immutable view of the skill taxonomy.
+ *
+ * Every canonical skill gets a dense integer id (its position in the taxonomy) together with its
+ * display name, category and weight. Aliases resolve to the id of the skill they stand for, and all
+ * names and aliases are compiled into a single {@link AhoCorasickMatcher}. An instance is never
+ * modified after {@link Builder#build()}, so analyzers can share it freely across threads while a
+ * reload builds its replacement on the side.
+ */
+public final class SkillTaxonomy {
+
+    private final String version;
+    private final String[] names;
+    private final int[] categoryIds;
+    private final double[] weights;
+    private final List<String> categories;
+    private final Map<String, Integer> idsByTerm;
+    private final AhoCorasickMatcher matcher;
+
+    private SkillTaxonomy(String version, String[] names, int[] categoryIds, double[] weights,
+                          List<String> categories, Map<String, Integer> idsByTerm, AhoCorasickMatcher matcher) {
+        this.version = version;
+        this.names = names;
+        this.categoryIds = categoryIds;
+        this.weights = weights;
+        this.categories = categories;
+        this.idsByTerm = idsByTerm;
+        this.matcher = matcher;
+    }
+
+    public static Builder builder(String version) {
+        return new Builder(version);
+    }
+
+    /**
+     * Identifies the taxonomy content; changes whenever the source file changes.
+     */
+    public String version() {
+        return version;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String name(int skillId) {
+        return names[skillId];
+    }
+
+    public String category(int skillId) {
+        return categories.get(categoryIds[skillId]);
+    }
+
+    public int categoryId(int skillId) {
+        return categoryIds[skillId];
+    }
+
+    public double weight(int skillId) {
+        return weights[skillId];
+    }
+
+    public List<String> categories() {
+        return categories;
+    }
+
+    /**
+     * Resolves a canonical name or alias (case-insensitive) to its skill id, or -1 if unknown.
+     */
+    public int idOf(String term) {
+        if (term == null) {
+            return -1;
+        }
+        Integer id = idsByTerm.get(AhoCorasickMatcher.normalize(term).trim());
+        return id != null ? id : -1;
+    }
+
+    public boolean isSkill(String term) {
+        return idOf(term) >= 0;
+    }
+
+    /**
+     * Returns the category of a skill name, or {@code null} if it is not in the taxonomy.
+     * Free-form names such as "Spring Boot framework" fall back to the first known skill they mention.
+     */
+    public String categoryOf(String skill) {
+        int id = idOf(skill);
+        if (id < 0 && skill != null) {
+            int[] firstHit = {-1};
+            matcher.match(skill, (skillId, start, end) -> {
+                if (firstHit[0] < 0) {
+                    firstHit[0] = skillId;
+                }
+            });
+            id = firstHit[0];
+        }
+        return id >= 0 ? category(id) : null;
+    }
+
+    /**
+     * Returns the vector of skills mentioned in the text, found in a single scan.
+     */
+    public SkillVector extract(CharSequence text) {
+        SkillVector.Builder vector = new SkillVector.Builder();
+        matcher.match(text, (skillId, start, end) -> vector.add(skillId));
+        return vector.build();
+    }
+
+    /**
+     * Interns a list of skill names (e.g. from an LLM response or a stored entry) into a vector.
+     * Names that are not an exact skill or alias contribute the skills they mention.
+     */
+    public SkillVector vectorOf(Collection<String> skills) {
+        SkillVector.Builder vector = new SkillVector.Builder();
+        if (skills != null) {
+            for (String skill : skills) {
+                int id = idOf(skill);
+                if (id >= 0) {
+                    vector.add(id);
+                } else if (skill != null) {
+                    matcher.match(skill, (skillId, start, end) -> vector.add(skillId));
+                }
+            }
+        }
+        return vector.build();
+    }
+
+    /**
+     * Display names of the skills in the vector, sorted alphabetically.
+     */
+    public List<String> names(SkillVector vector) {
+        List<String> result = new ArrayList<>(vector.cardinality());
+        vector.forEach(id -> result.add(names[id]));
+        result.sort(String.CASE_INSENSITIVE_ORDER);
+        return result;
+    }
+
+    /**
+     * Scans the text once and reports the id of every skill mention (repeats included).
+     */
+    public void match(CharSequence text, AhoCorasickMatcher.MatchHandler handler) {
+        matcher.match(text, handler);
+    }
+
+    public static final class Builder {
+        private final String version;
+        private final List<String> names = new ArrayList<>();
+        private final List<Integer> categoryIds = new ArrayList<>();
+        private final List<Double> weights = new ArrayList<>();
+        private final List<String> categories = new ArrayList<>();
+        private final Map<String, Integer> idsByTerm = new HashMap<>();
+        private final AhoCorasickMatcher.Builder matcher = AhoCorasickMatcher.builder();
+
+        private Builder(String version) {
+            this.version = version;
+        }
+
+        /**
+         * Registers a category and returns its id; registering the same name twice returns the same id.
+         */
+        public int category(String name) {
+            int existing = categories.indexOf(name);
+            if (existing >= 0) {
+                return existing;
+            }
+            categories.add(name);
+            return categories.size() - 1;
+        }
+
+        /**
+         * Adds a skill with its aliases. A name or alias that is already taken keeps its first owner,
+         * so a skill listed under two categories is counted once under the first one.
+         */
+        public Builder skill(String name, int categoryId, double weight, Collection<String> aliases) {
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("Skill name must not be blank");
+            }
+            if (categoryId < 0 || categoryId >= categories.size()) {
+                throw new IllegalArgumentException("Unknown category for skill: " + name);
+            }
+            String key = AhoCorasickMatcher.normalize(name).trim();
+            if (idsByTerm.containsKey(key)) {
+                return this;
+            }
+            int id = names.size();
+            names.add(name.trim());
+            categoryIds.add(categoryId);
+            weights.add(weight);
+            register(key, id);
+            if (aliases != null) {
+                for (String alias : aliases) {
+                    if (alias != null && !alias.isBlank()) {
+                        register(AhoCorasickMatcher.normalize(alias).trim(), id);
+                    }
+                }
+            }
+            return this;
+        }
+
+        public SkillTaxonomy build() {
+            return new SkillTaxonomy(
+                    version,
+                    names.toArray(new String[0]),
+                    categoryIds.stream().mapToInt(Integer::intValue).toArray(),
+                    weights.stream().mapToDouble(Double::doubleValue).toArray(),
+                    Collections.unmodifiableList(new ArrayList<>(categories)),
+                    Map.copyOf(idsByTerm),
+                    matcher.build());
+        }
+
+        private void register(String term, int id) {
+            if (idsByTerm.putIfAbsent(term, id) == null) {
+                matcher.add(term, id);
+            }
+        }
+    }
+}
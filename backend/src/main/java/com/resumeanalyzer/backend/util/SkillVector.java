@@ -0,0 +1,178 @@
+package com.resumeanalyzer.backend.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable set of skill ids stored as a bitset over the dense ids of a {@link SkillTaxonomy}.
+ *
+ * Matching a resume against a job description becomes word-level AND / ANDNOT / popcount instead of
+ * comparing lower-cased strings, and a typical resume needs only a few longs (one bit per skill in the
+ * taxonomy). Vectors are only comparable when they were built against the same taxonomy version.
+ */
+public final class SkillVector {
+
+    private static final long[] NO_WORDS = new long[0];
+    private static final SkillVector EMPTY = new SkillVector(NO_WORDS);
+
+    private final long[] words;
+
+    private SkillVector(long[] words) {
+        this.words = words;
+    }
+
+    public static SkillVector empty() {
+        return EMPTY;
+    }
+
+    public static SkillVector of(int... skillIds) {
+        Builder builder = new Builder();
+        for (int id : skillIds) {
+            builder.add(id);
+        }
+        return builder.build();
+    }
+
+    public boolean contains(int skillId) {
+        int word = skillId >>> 6;
+        return skillId >= 0 && word < words.length && (words[word] & (1L << skillId)) != 0;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Skills present in both vectors.
+     */
+    public SkillVector and(SkillVector other) {
+        int length = Math.min(words.length, other.words.length);
+        long[] result = new long[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = words[i] & other.words[i];
+        }
+        return wrap(result);
+    }
+
+    /**
+     * Skills present in this vector but not in {@code other}.
+     */
+    public SkillVector andNot(SkillVector other) {
+        long[] result = words.clone();
+        int length = Math.min(words.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            result[i] &= ~other.words[i];
+        }
+        return wrap(result);
+    }
+
+    public SkillVector or(SkillVector other) {
+        long[] longer = words.length >= other.words.length ? words : other.words;
+        long[] shorter = longer == words ? other.words : words;
+        long[] result = longer.clone();
+        for (int i = 0; i < shorter.length; i++) {
+            result[i] |= shorter[i];
+        }
+        return wrap(result);
+    }
+
+    /**
+     * Size of the intersection, without materializing it.
+     */
+    public int intersectionSize(SkillVector other) {
+        int length = Math.min(words.length, other.words.length);
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            count += Long.bitCount(words[i] & other.words[i]);
+        }
+        return count;
+    }
+
+    public double jaccard(SkillVector other) {
+        int intersection = intersectionSize(other);
+        int union = cardinality() + other.cardinality() - intersection;
+        return union == 0 ? 0.0 : (double) intersection / union;
+    }
+
+    /**
+     * Visits the ids in ascending order.
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                action.accept((i << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    public int[] toArray() {
+        int[] ids = new int[cardinality()];
+        int[] next = {0};
+        forEach(id -> ids[next[0]++] = id);
+        return ids;
+    }
+
+    private static SkillVector wrap(long[] words) {
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0) {
+            length--;
+        }
+        if (length == 0) {
+            return EMPTY;
+        }
+        return new SkillVector(length == words.length ? words : Arrays.copyOf(words, length));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SkillVector other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    /**
+     * Mutable accumulator used while scanning a document; {@link #build()} snapshots it.
+     */
+    public static final class Builder {
+        private long[] words = NO_WORDS;
+
+        public Builder add(int skillId) {
+            if (skillId < 0) {
+                return this;
+            }
+            int word = skillId >>> 6;
+            if (word >= words.length) {
+                words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+            }
+            words[word] |= 1L << skillId;
+            return this;
+        }
+
+        public SkillVector build() {
+            return wrap(words.clone());
+        }
+    }
+}
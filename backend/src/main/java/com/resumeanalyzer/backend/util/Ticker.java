@@ -0,0 +1,29 @@
+package com.resumeanalyzer.backend.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monotonic time and waiting on it. Classes that wait for time to pass take one, so tests can
+ * drive the clock instead of sleeping.
+ */
+public interface Ticker {
+
+    /**
+     * {@link System#nanoTime()} and a real sleep
+     */
+    Ticker SYSTEM = new Ticker() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public void sleep(long nanos) throws InterruptedException {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        }
+    };
+
+    long nanoTime();
+
+    void sleep(long nanos) throws InterruptedException;
+}
@@ -0,0 +1,82 @@
+package com.resumeanalyzer.backend.util;
+
+import java.time.Duration;
+
+/**
+ * Token bucket that refills continuously at a fixed rate up to its capacity.
+ *
+ * Callers first ask how long until enough tokens are available and consume them only when the
+ * answer is zero, which lets several buckets be checked together before any of them is drawn
+ * down. Requests larger than the capacity are treated as a request for the full capacity, so
+ * they wait for a full bucket instead of forever. A capacity of zero means unlimited.
+ * All methods are synchronized.
+ */
+public final class TokenBucket {
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final Ticker ticker;
+
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(long capacity, Duration refillPeriod) {
+        this(capacity, refillPeriod, Ticker.SYSTEM);
+    }
+
+    public TokenBucket(long capacity, Duration refillPeriod, Ticker ticker) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = capacity == 0 ? 0 : (double) capacity / refillPeriod.toNanos();
+        this.ticker = ticker;
+        this.tokens = capacity;
+        this.refilledAt = ticker.nanoTime();
+    }
+
+    public boolean isUnlimited() {
+        return capacity == 0;
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Nanoseconds until {@code amount} tokens are available; zero when they are available now.
+     */
+    public synchronized long nanosUntilAvailable(long amount) {
+        if (isUnlimited()) {
+            return 0;
+        }
+        refill();
+        double missing = Math.min(amount, capacity) - tokens;
+        return missing <= 0 ? 0 : (long) Math.ceil(missing / tokensPerNano);
+    }
+
+    /**
+     * Takes {@code amount} tokens, possibly going negative; pair with {@link #nanosUntilAvailable}.
+     */
+    public synchronized void consume(long amount) {
+        if (isUnlimited()) {
+            return;
+        }
+        refill();
+        tokens -= Math.min(amount, capacity);
+    }
+
+    public synchronized long available() {
+        if (isUnlimited()) {
+            return Long.MAX_VALUE;
+        }
+        refill();
+        return (long) Math.max(0, tokens);
+    }
+
+    private void refill() {
+        long now = ticker.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+}
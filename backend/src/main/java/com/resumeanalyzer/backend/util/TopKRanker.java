@@ -0,0 +1,71 @@
+package com.resumeanalyzer.backend.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the best k of a stream of items as they arrive.
+ *
+ * The items are held in a heap of at most k elements with the weakest of them on top, so offering
+ * an item costs O(log k) and the rest of the stream is never stored or sorted. {@link #top()} can
+ * be called at any moment and returns the current best, best first. All operations are
+ * synchronized.
+ */
+public final class TopKRanker<T> {
+
+    private final int k;
+    private final Comparator<? super T> order;
+    private final PriorityQueue<T> heap;
+    private long offered;
+
+    /**
+     * @param order sorts the better item first
+     */
+    public TopKRanker(int k, Comparator<? super T> order) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        this.k = k;
+        this.order = order;
+        // Reversed, so the head of the queue is the weakest item kept
+        this.heap = new PriorityQueue<>(k + 1, order.reversed());
+    }
+
+    /**
+     * Adds the item if it is among the best k seen so far.
+     *
+     * @return whether the item was kept
+     */
+    public synchronized boolean offer(T item) {
+        offered++;
+        if (heap.size() < k) {
+            heap.add(item);
+            return true;
+        }
+        if (order.compare(item, heap.peek()) >= 0) {
+            return false;
+        }
+        heap.poll();
+        heap.add(item);
+        return true;
+    }
+
+    /**
+     * The items currently kept, best first.
+     */
+    public synchronized List<T> top() {
+        List<T> top = new ArrayList<>(heap);
+        top.sort(order);
+        return top;
+    }
+
+    public synchronized long offered() {
+        return offered;
+    }
+
+    public int capacity() {
+        return k;
+    }
+}
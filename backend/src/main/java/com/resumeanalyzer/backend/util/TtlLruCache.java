@@ -0,0 +1,111 @@
+package com.resumeanalyzer.backend.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small in-memory cache bounded both by entry count and by age.
+ *
+ * Entries live in an access-ordered {@link LinkedHashMap}, so once the cache is full the least
+ * recently used entry is evicted. An entry older than the time-to-live is treated as a miss and
+ * dropped when it is next looked up. Hit, miss, eviction and expiration counts are kept for
+ * monitoring. All operations are synchronized; values are never computed while holding the lock.
+ */
+public final class TtlLruCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public TtlLruCache(int maxEntries, long ttl, TimeUnit unit) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the cached value, or {@code null} if it is absent or expired.
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (isExpired(entry, System.nanoTime())) {
+            entries.remove(key);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value();
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+        if (entries.size() > maxEntries) {
+            Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+            eldest.next();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Drops every expired entry; lookups already ignore them, this only frees the memory early.
+     */
+    public synchronized int purgeExpired() {
+        long now = System.nanoTime();
+        int removed = 0;
+        Iterator<Entry<V>> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (isExpired(it.next(), now)) {
+                it.remove();
+                removed++;
+            }
+        }
+        expirations += removed;
+        return removed;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), maxEntries, hits, misses, evictions, expirations);
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return now - entry.createdAt() > ttlNanos;
+    }
+
+    private record Entry<V>(V value, long createdAt) {
+    }
+
+    public record Stats(int size, int maxEntries, long hits, long misses, long evictions, long expirations) {
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.resumeanalyzer.backend.service.impl;
+
+import com.resumeanalyzer.backend.dto.UploadProgressDTO;
+import com.resumeanalyzer.backend.util.TopKRanker;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkUploadJobRegistryTest {
+
+    private static UploadProgressDTO.TopCandidate candidate(long entryId, Double matchScore) {
+        return UploadProgressDTO.TopCandidate.builder()
+            .entryId(entryId)
+            .matchScore(matchScore)
+            .build();
+    }
+
+    private static List<Long> entryIds(TopKRanker<UploadProgressDTO.TopCandidate> ranker) {
+        return ranker.top().stream().map(UploadProgressDTO.TopCandidate::getEntryId).toList();
+    }
+
+    @Test
+    void liveTopRanksByScoreThenSaveOrderWithUnscoredLast() {
+        TopKRanker<UploadProgressDTO.TopCandidate> ranker = new TopKRanker<>(3, BulkUploadJobRegistry.RANK_ORDER);
+        ranker.offer(candidate(1, null));
+        ranker.offer(candidate(2, 0.4));
+        ranker.offer(candidate(3, 0.9));
+        assertEquals(List.of(3L, 2L, 1L), entryIds(ranker));
+
+        // A scored candidate displaces the unscored one; an equal score saved later does not get in
+        assertTrue(ranker.offer(candidate(4, 0.4)));
+        assertFalse(ranker.offer(candidate(5, 0.4)));
+        assertFalse(ranker.offer(candidate(6, null)));
+        assertEquals(List.of(3L, 2L, 4L), entryIds(ranker));
+    }
+}
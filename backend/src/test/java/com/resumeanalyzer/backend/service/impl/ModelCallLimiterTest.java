@@ -0,0 +1,179 @@
+package com.resumeanalyzer.backend.service.impl;
+
+import com.resumeanalyzer.backend.util.FakeTicker;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelCallLimiterTest {
+
+    private static final String PROVIDER = "test";
+
+    private final FakeTicker ticker = new FakeTicker();
+    private final MockEnvironment environment = new MockEnvironment();
+
+    private ModelCallLimiter limiter(long queueTimeoutMs, int maxThrottleRetries) {
+        ModelCallLimiter limiter = new ModelCallLimiter(environment);
+        ReflectionTestUtils.setField(limiter, "queueTimeoutMs", queueTimeoutMs);
+        ReflectionTestUtils.setField(limiter, "maxThrottleRetries", maxThrottleRetries);
+        ReflectionTestUtils.setField(limiter, "ticker", ticker);
+        return limiter;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> stats(ModelCallLimiter limiter) {
+        return (Map<String, Object>) limiter.getStats().get(PROVIDER);
+    }
+
+    @Test
+    void callsOverTheRequestRateWaitForTheBucket() {
+        environment.setProperty("model-calls.test.requests-per-minute", "2");
+        ModelCallLimiter limiter = limiter(60_000, 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("ok", limiter.call(PROVIDER, 1, () -> "ok"));
+        }
+        // The third call waited for one request's worth of refill
+        assertEquals(30, ticker.elapsed().toSeconds());
+        assertEquals(3L, stats(limiter).get("calls"));
+    }
+
+    @Test
+    void tokenBudgetIsSharedByTheEstimatedPromptSizes() {
+        environment.setProperty("model-calls.test.tokens-per-minute", "1000");
+        ModelCallLimiter limiter = limiter(60_000, 3);
+
+        limiter.call(PROVIDER, 800, () -> "ok");
+        limiter.call(PROVIDER, 400, () -> "ok");
+        assertEquals(12, ticker.elapsed().toSeconds());
+    }
+
+    @Test
+    void aWaitPastTheQueueTimeoutFailsWithoutCallingTheProvider() {
+        environment.setProperty("model-calls.test.requests-per-minute", "1");
+        ModelCallLimiter limiter = limiter(1_000, 3);
+        AtomicInteger calls = new AtomicInteger();
+
+        limiter.call(PROVIDER, 1, calls::incrementAndGet);
+        assertThrows(ModelCallLimiter.QueueTimeoutException.class,
+            () -> limiter.call(PROVIDER, 1, calls::incrementAndGet));
+        assertEquals(1, calls.get());
+        assertEquals(1L, stats(limiter).get("timedOut"));
+    }
+
+    @Test
+    void theBulkheadCapsCallsInFlight() throws Exception {
+        environment.setProperty("model-calls.test.max-concurrent", "1");
+        // The bulkhead waits in real time, so keep the queue timeout short
+        ModelCallLimiter limiter = limiter(50, 3);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> first = executor.submit(() -> limiter.call(PROVIDER, 1, () -> {
+                started.countDown();
+                release.await();
+                return "first";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            AtomicInteger calls = new AtomicInteger();
+            assertThrows(ModelCallLimiter.QueueTimeoutException.class,
+                () -> limiter.call(PROVIDER, 1, calls::incrementAndGet));
+            assertEquals(0, calls.get());
+            assertEquals(1, stats(limiter).get("inFlight"));
+            assertEquals(1L, stats(limiter).get("queued"));
+
+            release.countDown();
+            assertEquals("first", first.get(5, TimeUnit.SECONDS));
+            // The permit is back once the first call is done
+            assertEquals("second", limiter.call(PROVIDER, 1, () -> "second"));
+            assertEquals(0, stats(limiter).get("inFlight"));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void aThrottledCallIsRetriedAfterRetryAfter() {
+        ModelCallLimiter limiter = limiter(30_000, 3);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = limiter.call(PROVIDER, 1, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new ModelCallLimiter.ThrottledException("429", Duration.ofSeconds(2));
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(2, calls.get());
+        assertEquals(2, ticker.elapsed().toSeconds());
+        assertEquals(1L, stats(limiter).get("throttled"));
+    }
+
+    @Test
+    void throttlingThatOutlastsTheRetriesIsReportedAsThrottling() {
+        ModelCallLimiter limiter = limiter(30_000, 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        ModelCallLimiter.ThrottledException error = assertThrows(ModelCallLimiter.ThrottledException.class,
+            () -> limiter.call(PROVIDER, 1, () -> {
+                calls.incrementAndGet();
+                throw new ModelCallLimiter.ThrottledException("429", Duration.ofSeconds(1));
+            }));
+
+        // The first attempt and two retries, all of which reached the provider
+        assertEquals(3, calls.get());
+        assertEquals(Duration.ofSeconds(1), error.getRetryAfter());
+        assertTrue(error.getCause() instanceof ModelCallLimiter.ThrottledException);
+    }
+
+    @Test
+    void aRetryAfterPastTheDeadlineIsNotWaitedFor() {
+        ModelCallLimiter limiter = limiter(30_000, 3);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(ModelCallLimiter.ThrottledException.class, () -> limiter.call(PROVIDER, 1, () -> {
+            calls.incrementAndGet();
+            throw new ModelCallLimiter.ThrottledException("429", Duration.ofMinutes(1));
+        }));
+        assertEquals(1, calls.get());
+        assertEquals(0, ticker.elapsed().toSeconds());
+    }
+
+    @Test
+    void otherFailuresAreNotRetried() {
+        ModelCallLimiter limiter = limiter(30_000, 3);
+        AtomicInteger calls = new AtomicInteger();
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> limiter.call(PROVIDER, 1, () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("bad request");
+        }));
+        assertEquals("bad request", error.getMessage());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void retryAfterIsReadInSecondsWithADefaultForAnythingElse() {
+        assertEquals(Duration.ofSeconds(3), ModelCallLimiter.parseRetryAfter("3"));
+        assertEquals(Duration.ofMillis(1500), ModelCallLimiter.parseRetryAfter(" 1.5 "));
+        assertEquals(Duration.ofSeconds(2), ModelCallLimiter.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT"));
+        assertEquals(Duration.ofSeconds(2), ModelCallLimiter.parseRetryAfter(null));
+    }
+}
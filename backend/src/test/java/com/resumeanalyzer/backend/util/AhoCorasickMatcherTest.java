@@ -0,0 +1,47 @@
+package com.resumeanalyzer.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AhoCorasickMatcherTest {
+
+    private static final SkillTaxonomy TAXONOMY = taxonomy();
+
+    private static SkillTaxonomy taxonomy() {
+        SkillTaxonomy.Builder builder = SkillTaxonomy.builder("test");
+        int languages = builder.category("Programming Languages");
+        builder.skill("C++", languages, 1.0, List.of("cpp"))
+                .skill("C#", languages, 1.0, List.of("csharp"))
+                .skill("C", languages, 1.0, List.of())
+                .skill("R", languages, 1.0, List.of())
+                .skill("Python", languages, 1.0, List.of());
+        return builder.build();
+    }
+
+    private static List<String> skills(String text) {
+        return TAXONOMY.names(TAXONOMY.extract(AhoCorasickMatcher.normalize(text)));
+    }
+
+    @Test
+    void cPlusPlusIsNotAlsoC() {
+        assertEquals(List.of("C++"), skills("C++ developer"));
+    }
+
+    @Test
+    void symbolsAfterSingleLetterSkillsAreNotMentions() {
+        assertEquals(List.of("C#"), skills("C# engineer, 5 years of R&D"));
+    }
+
+    @Test
+    void singleLetterSkillsStillMatchOnTheirOwn() {
+        assertEquals(List.of("C", "C++", "R"), skills("C/C++, R and SQL"));
+    }
+
+    @Test
+    void versionNumbersAfterNamesAreStillAccepted() {
+        assertEquals(List.of("Python"), skills("Python3 scripting, C4 model"));
+    }
+}
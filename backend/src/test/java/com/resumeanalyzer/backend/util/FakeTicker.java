@@ -0,0 +1,30 @@
+package com.resumeanalyzer.backend.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A clock that only moves when told to; sleeping on it advances it instead of blocking.
+ */
+public final class FakeTicker implements Ticker {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Override
+    public long nanoTime() {
+        return now.get();
+    }
+
+    @Override
+    public void sleep(long nanos) {
+        now.addAndGet(nanos);
+    }
+
+    public void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    public Duration elapsed() {
+        return Duration.ofNanos(now.get());
+    }
+}
@@ -0,0 +1,133 @@
+package com.resumeanalyzer.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+
+    private static final String[] VOCABULARY = { "java", "spring", "sql", "react", "docker", "aws", "python", "kafka" };
+
+    // Multiples of 1/4 add up exactly, so equal scores are really equal whatever the summation order
+    private static float weight(Random random) {
+        return (1 + random.nextInt(4)) / 4f;
+    }
+
+    private static Map<String, Float> randomTerms(Random random, int maxTerms) {
+        Map<String, Float> terms = new HashMap<>();
+        int count = 1 + random.nextInt(maxTerms);
+        for (int i = 0; i < count; i++) {
+            terms.put(VOCABULARY[random.nextInt(VOCABULARY.length)], weight(random));
+        }
+        return terms;
+    }
+
+    /**
+     * Scores every document and sorts them the way topK orders its result
+     */
+    private static List<InvertedIndex.Hit> bruteForce(Map<Integer, Map<String, Float>> documents, Map<String, Float> query,
+                                                      int k, IntPredicate filter) {
+        List<InvertedIndex.Hit> hits = new ArrayList<>();
+        for (Map.Entry<Integer, Map<String, Float>> document : documents.entrySet()) {
+            double score = 0;
+            boolean shared = false;
+            for (Map.Entry<String, Float> term : query.entrySet()) {
+                Float weight = document.getValue().get(term.getKey());
+                if (weight != null && term.getValue() > 0) {
+                    score += (double) term.getValue() * weight;
+                    shared = true;
+                }
+            }
+            if (shared && filter.test(document.getKey())) {
+                hits.add(new InvertedIndex.Hit(document.getKey(), score));
+            }
+        }
+        hits.sort((a, b) -> a.score() != b.score()
+            ? Double.compare(b.score(), a.score()) : Integer.compare(a.docId(), b.docId()));
+        return hits.subList(0, Math.min(k, hits.size()));
+    }
+
+    @Test
+    void topKMatchesBruteForceOnRandomCorpora() {
+        for (int seed = 0; seed < 200; seed++) {
+            Random random = new Random(seed);
+            InvertedIndex index = new InvertedIndex();
+            Map<Integer, Map<String, Float>> documents = new HashMap<>();
+            int size = 1 + random.nextInt(60);
+            for (int docId = 1; docId <= size; docId++) {
+                Map<String, Float> terms = randomTerms(random, 4);
+                index.add(docId, terms);
+                documents.put(docId, terms);
+            }
+            // Removals and re-adds, including re-adds of ids lower than the last one in a list
+            for (int i = 0; i < size / 3; i++) {
+                int docId = 1 + random.nextInt(size);
+                if (random.nextBoolean()) {
+                    index.remove(docId);
+                    documents.remove(docId);
+                } else {
+                    Map<String, Float> terms = randomTerms(random, 4);
+                    index.add(docId, terms);
+                    documents.put(docId, terms);
+                }
+            }
+
+            Map<String, Float> query = randomTerms(random, 5);
+            int k = 1 + random.nextInt(10);
+            IntPredicate filter = random.nextBoolean() ? docId -> true : docId -> docId % 3 != 0;
+            assertEquals(bruteForce(documents, query, k, filter), index.topK(query, k, filter), "seed " + seed);
+        }
+    }
+
+    @Test
+    void equalScoresPreferTheLowerDocumentId() {
+        InvertedIndex index = new InvertedIndex();
+        for (int docId = 10; docId >= 1; docId--) {
+            index.add(docId, Map.of("java", 0.5f));
+        }
+        List<InvertedIndex.Hit> hits = index.topK(Map.of("java", 1f), 3);
+        assertEquals(List.of(new InvertedIndex.Hit(1, 0.5), new InvertedIndex.Hit(2, 0.5), new InvertedIndex.Hit(3, 0.5)), hits);
+    }
+
+    @Test
+    void removedDocumentsAreNeverReturned() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1, Map.of("java", 1f, "sql", 1f));
+        index.add(2, Map.of("java", 0.25f));
+        index.remove(1);
+
+        assertEquals(List.of(new InvertedIndex.Hit(2, 0.25)), index.topK(Map.of("java", 1f, "sql", 1f), 5));
+        assertFalse(index.contains(1));
+        assertEquals(0, index.documentFrequency("sql"));
+        assertEquals(1, index.termCount());
+    }
+
+    @Test
+    void reAddingADocumentReplacesItsTerms() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1, Map.of("java", 1f));
+        index.add(2, Map.of("java", 0.5f));
+        index.add(1, Map.of("react", 1f));
+
+        assertEquals(List.of(new InvertedIndex.Hit(2, 0.5)), index.topK(Map.of("java", 1f), 5));
+        assertEquals(List.of("react"), index.terms(1));
+        assertEquals(2, index.documentCount());
+    }
+
+    @Test
+    void documentsSharingNoQueryTermAreNotReturned() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1, Map.of("java", 1f));
+        assertTrue(index.topK(Map.of("python", 1f), 5).isEmpty());
+        assertTrue(index.topK(Map.of("java", 1f), 0).isEmpty());
+    }
+}
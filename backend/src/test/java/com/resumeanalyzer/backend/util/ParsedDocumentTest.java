@@ -0,0 +1,67 @@
+package com.resumeanalyzer.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParsedDocumentTest {
+
+    @Test
+    void sectionRunsToTheNextBlankLine() {
+        ParsedDocument document = ParsedDocument.of("Skills\nJava, SQL\n\nHobbies: chess");
+        assertEquals("Skills\nJava, SQL", document.section("skills"));
+    }
+
+    @Test
+    void windowsLineEndingsStillBreakParagraphs() {
+        ParsedDocument document = ParsedDocument.of("Skills\r\nJava, SQL\r\n\r\nHobbies: chess");
+        assertEquals("Skills\r\nJava, SQL", document.section("skills"));
+    }
+
+    @Test
+    void aLineOfSpacesBreaksParagraphs() {
+        ParsedDocument document = ParsedDocument.of("Skills\nJava, SQL\n   \t \nHobbies: chess");
+        assertEquals("Skills\nJava, SQL", document.section("skills"));
+    }
+
+    @Test
+    void sectionStopsAtTheNextHeader() {
+        ParsedDocument document = ParsedDocument.of("Skills:\nJava\nEXPERIENCE\nAcme, 2 years\n\nReferences");
+        assertEquals("Skills:\nJava\n", document.section("skills"));
+        assertEquals("EXPERIENCE\nAcme, 2 years", document.section("experience"));
+    }
+
+    @Test
+    void headersAreMatchedWithoutCaseOrTrailingPunctuation() {
+        ParsedDocument document = ParsedDocument.of("TECHNICAL SKILLS:\nJava\n\nWork Experience -\nAcme\n  Education  \nBSc");
+        assertTrue(document.hasSection("skills"));
+        assertTrue(document.hasSection("experience"));
+        assertTrue(document.hasSection("education"));
+        assertFalse(document.hasSection("projects"));
+    }
+
+    @Test
+    void longLinesAndMentionsInsideTextAreNotHeaders() {
+        ParsedDocument document = ParsedDocument.of(
+            "I have experience leading teams across several long running projects\nJava");
+        assertFalse(document.hasSection("experience"));
+        assertFalse(document.hasSection("projects"));
+        // Without a header the section starts at the first mention
+        assertEquals("experience leading teams across several long running projects\nJava",
+            document.section("experience"));
+    }
+
+    @Test
+    void sectionWithoutABreakIsCappedInLength() {
+        ParsedDocument document = ParsedDocument.of("Projects\n" + "x".repeat(1000));
+        assertEquals(500, document.section("projects").length());
+    }
+
+    @Test
+    void absentSectionIsEmpty() {
+        assertEquals("", ParsedDocument.of("Java developer").section("education"));
+        assertEquals("", ParsedDocument.of(null).section("education"));
+    }
+}
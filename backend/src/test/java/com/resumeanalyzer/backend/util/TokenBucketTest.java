@@ -0,0 +1,74 @@
+package com.resumeanalyzer.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final double ONE_SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final FakeTicker ticker = new FakeTicker();
+
+    @Test
+    void startsFullAndWaitsForTheMissingTokens() {
+        TokenBucket bucket = new TokenBucket(60, Duration.ofMinutes(1), ticker);
+        assertEquals(0, bucket.nanosUntilAvailable(60));
+
+        bucket.consume(60);
+        assertEquals(0, bucket.available());
+        // One token a second
+        assertEquals(ONE_SECOND, bucket.nanosUntilAvailable(1), 2);
+        assertEquals(10 * ONE_SECOND, bucket.nanosUntilAvailable(10), 2);
+    }
+
+    @Test
+    void refillsContinuouslyUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(60, Duration.ofMinutes(1), ticker);
+        bucket.consume(60);
+
+        ticker.advance(Duration.ofSeconds(30));
+        assertEquals(30, bucket.available());
+        assertEquals(0, bucket.nanosUntilAvailable(30));
+
+        ticker.advance(Duration.ofMinutes(5));
+        assertEquals(60, bucket.available());
+    }
+
+    @Test
+    void consumingBeyondTheAvailableTokensIsPaidBackBeforeTheNextCall() {
+        TokenBucket bucket = new TokenBucket(60, Duration.ofMinutes(1), ticker);
+        bucket.consume(60);
+        bucket.consume(30);
+
+        assertEquals(0, bucket.available());
+        assertEquals(31 * ONE_SECOND, bucket.nanosUntilAvailable(1), 2);
+    }
+
+    @Test
+    void requestsLargerThanTheCapacityWaitForAFullBucket() {
+        TokenBucket bucket = new TokenBucket(60, Duration.ofMinutes(1), ticker);
+        assertEquals(0, bucket.nanosUntilAvailable(1000));
+
+        bucket.consume(1000);
+        assertEquals(60 * ONE_SECOND, bucket.nanosUntilAvailable(1000), 2);
+    }
+
+    @Test
+    void zeroCapacityIsUnlimited() {
+        TokenBucket bucket = new TokenBucket(0, Duration.ofMinutes(1), ticker);
+        bucket.consume(1_000_000);
+        assertTrue(bucket.isUnlimited());
+        assertEquals(0, bucket.nanosUntilAvailable(1_000_000));
+        assertEquals(Long.MAX_VALUE, bucket.available());
+    }
+
+    @Test
+    void negativeCapacityIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(-1, Duration.ofMinutes(1), ticker));
+    }
+}
@@ -0,0 +1,83 @@
+package com.resumeanalyzer.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopKRankerTest {
+
+    private record Candidate(long id, Double score) {
+    }
+
+    // Highest score first, no score last, ties by id; the shape of the live leaderboard's order
+    private static final Comparator<Candidate> ORDER = Comparator
+        .comparing(Candidate::score, Comparator.nullsLast(Comparator.<Double>reverseOrder()))
+        .thenComparing(Candidate::id);
+
+    @Test
+    void keepsTheBestKBestFirst() {
+        TopKRanker<Integer> ranker = new TopKRanker<>(3, Comparator.reverseOrder());
+        for (int value : new int[] { 5, 1, 9, 3, 7, 2, 8 }) {
+            ranker.offer(value);
+        }
+        assertEquals(List.of(9, 8, 7), ranker.top());
+        assertEquals(7, ranker.offered());
+        assertEquals(3, ranker.capacity());
+    }
+
+    @Test
+    void fillsUpToKBeforeEvicting() {
+        TopKRanker<Integer> ranker = new TopKRanker<>(2, Comparator.reverseOrder());
+        assertTrue(ranker.offer(1));
+        assertTrue(ranker.offer(0));
+        assertEquals(List.of(1, 0), ranker.top());
+
+        // Only an item better than the weakest kept one evicts it
+        assertFalse(ranker.offer(-1));
+        assertTrue(ranker.offer(2));
+        assertEquals(List.of(2, 1), ranker.top());
+    }
+
+    @Test
+    void anItemEqualToTheWeakestIsRejected() {
+        TopKRanker<Integer> ranker = new TopKRanker<>(2, Comparator.reverseOrder());
+        ranker.offer(5);
+        ranker.offer(3);
+        assertFalse(ranker.offer(3));
+        assertEquals(List.of(5, 3), ranker.top());
+    }
+
+    @Test
+    void equalScoresKeepTheEarlierCandidates() {
+        TopKRanker<Candidate> ranker = new TopKRanker<>(2, ORDER);
+        ranker.offer(new Candidate(3, 0.5));
+        ranker.offer(new Candidate(1, 0.5));
+        assertFalse(ranker.offer(new Candidate(4, 0.5)));
+        assertTrue(ranker.offer(new Candidate(2, 0.5)));
+        assertEquals(List.of(new Candidate(1, 0.5), new Candidate(2, 0.5)), ranker.top());
+    }
+
+    @Test
+    void candidatesWithoutAScoreRankLastAndAreEvictedFirst() {
+        TopKRanker<Candidate> ranker = new TopKRanker<>(3, ORDER);
+        ranker.offer(new Candidate(1, null));
+        ranker.offer(new Candidate(2, 0.2));
+        ranker.offer(new Candidate(3, null));
+        assertEquals(List.of(new Candidate(2, 0.2), new Candidate(1, null), new Candidate(3, null)), ranker.top());
+
+        assertTrue(ranker.offer(new Candidate(4, 0.1)));
+        assertFalse(ranker.offer(new Candidate(5, null)));
+        assertEquals(List.of(new Candidate(2, 0.2), new Candidate(4, 0.1), new Candidate(1, null)), ranker.top());
+    }
+
+    @Test
+    void kMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new TopKRanker<Integer>(0, Comparator.naturalOrder()));
+    }
+}